@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-successful GET /api/v1/books/{id} and resident memory for each startup mode.
+#
+# Build the artifacts first:
+#   mvn -Paot-cds package -DskipTests          # jvm and aot-cds modes
+#   mvn -Pnative native:compile -DskipTests    # native mode (requires GraalVM)
+#
+# Usage: scripts/startup-benchmark.sh [jvm] [aot-cds] [native]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-18080}
+RUNS=${RUNS:-3}
+JAR=$(ls target/book-management-service-*.jar | grep -v original | head -n 1)
+CDS_DIR=target/cds
+NATIVE_BINARY=target/book-management-service
+BASE_URL="http://localhost:${PORT}/api/v1/books"
+APP_ARGS=(
+  "--server.port=${PORT}"
+  "--spring.datasource.url=jdbc:h2:mem:startup"
+  "--spring.datasource.username=sa"
+  "--spring.datasource.password="
+  "--spring.datasource.driver-class-name=org.h2.Driver"
+  "--spring.jpa.show-sql=false"
+  "--logging.level.root=WARN"
+)
+BOOK='{"title":"Effective Java","author":"Joshua Bloch","isbn":"9780134685991","price":45.99}'
+
+now_ms() {
+  date +%s%3N
+}
+
+command_for() {
+  case "$1" in
+    jvm) echo "java -jar ${JAR}" ;;
+    aot-cds) echo "java -XX:SharedArchiveFile=${CDS_DIR}/application.jsa -Dspring.aot.enabled=true -jar ${CDS_DIR}/$(basename "${JAR}")" ;;
+    native) echo "${NATIVE_BINARY}" ;;
+    *) echo "Unknown mode: $1" >&2; exit 1 ;;
+  esac
+}
+
+measure() {
+  local mode=$1
+  local started pid id elapsed rss
+  started=$(now_ms)
+  # shellcheck disable=SC2046
+  $(command_for "${mode}") "${APP_ARGS[@]}" > "target/startup-${mode}.log" 2>&1 &
+  pid=$!
+
+  id=""
+  until [[ -n "${id}" ]]; do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "${mode}: application exited, see target/startup-${mode}.log" >&2
+      exit 1
+    fi
+    id=$(curl -s -f -X POST -H 'Content-Type: application/json' -d "${BOOK}" "${BASE_URL}" \
+      | sed -n 's/.*"id":\([0-9]*\).*/\1/p' || true)
+    [[ -n "${id}" ]] || sleep 0.02
+  done
+  until curl -s -f -o /dev/null "${BASE_URL}/${id}"; do
+    sleep 0.01
+  done
+  elapsed=$(( $(now_ms) - started ))
+  rss=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  printf '%-8s first GET after %6d ms   RSS %7d KB\n' "${mode}" "${elapsed}" "${rss}"
+}
+
+MODES=("$@")
+if [[ ${#MODES[@]} -eq 0 ]]; then
+  MODES=(jvm aot-cds)
+  [[ -x "${NATIVE_BINARY}" ]] && MODES+=(native)
+fi
+
+for mode in "${MODES[@]}"; do
+  for ((run = 1; run <= RUNS; run++)); do
+    measure "${mode}"
+  done
+done
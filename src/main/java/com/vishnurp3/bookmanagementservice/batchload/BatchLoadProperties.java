@@ -0,0 +1,23 @@
+package com.vishnurp3.bookmanagementservice.batchload;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.batch-load")
+public class BatchLoadProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * How long the first lookup of a batch waits for others to join it before the batch is read.
+     */
+    private Duration maxWait = Duration.ofMillis(2);
+
+    /**
+     * A batch reaching this many distinct IDs is read straight away.
+     */
+    private int maxBatchSize = 100;
+}
@@ -0,0 +1,137 @@
+package com.vishnurp3.bookmanagementservice.batchload;
+
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.sharding.ShardContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads books by ID in batches: lookups arriving within {@code books.batch-load.max-wait} of each other are read
+ * together with one {@code WHERE id IN (...)} query, on one connection, instead of one query and connection each.
+ * <p>
+ * There is no loader thread. The first lookup of a batch waits out the window and then reads the batch on its own
+ * thread, unless another lookup fills the batch first and reads it straight away. A new batch opens as soon as one is
+ * taken, so batches can be read concurrently. Every caller blocks until its batch is read and gets back its own book.
+ * A failed read fails every lookup of the batch.
+ * <p>
+ * Batches are kept per shard, since the shard is chosen by the thread that reads them. Lookups inside a transaction
+ * are read on their own, so they still see the transaction's own writes.
+ */
+@Component
+public class BookBatchLoader {
+
+    private final BatchLoadProperties properties;
+    private final BookRepository bookRepository;
+    private final DistributionSummary batchSizes;
+
+    // Keyed by shard, null when not sharded.
+    private final Map<Integer, Batch> openBatches = new HashMap<>();
+
+    public BookBatchLoader(BatchLoadProperties properties, BookRepository bookRepository, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bookRepository = bookRepository;
+        this.batchSizes = DistributionSummary.builder("books.read.batch.size")
+                .description("Distinct books read by each batched lookup query")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Optional<Book> load(Long id) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return bookRepository.findById(id);
+        }
+        Integer shard = ShardContext.current();
+        Batch batch;
+        CompletableFuture<Optional<Book>> result;
+        boolean first;
+        boolean full;
+        synchronized (openBatches) {
+            batch = openBatches.get(shard);
+            first = batch == null;
+            if (first) {
+                batch = new Batch();
+                openBatches.put(shard, batch);
+            }
+            result = batch.lookups.computeIfAbsent(id, key -> new CompletableFuture<>());
+            full = batch.lookups.size() >= properties.getMaxBatchSize();
+            if (full) {
+                openBatches.remove(shard);
+            }
+        }
+
+        if (full) {
+            read(batch);
+        } else if (first && !awaitRead(result)) {
+            boolean stillOpen;
+            synchronized (openBatches) {
+                // Taken already if another lookup filled it.
+                stillOpen = openBatches.remove(shard, batch);
+            }
+            if (stillOpen) {
+                read(batch);
+            }
+        }
+
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits out the window, returning early with {@code true} if another lookup filled the batch and read it.
+     */
+    private boolean awaitRead(CompletableFuture<Optional<Book>> result) {
+        try {
+            result.get(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void read(Batch batch) {
+        batchSizes.record(batch.lookups.size());
+        try {
+            Map<Long, Book> books = new HashMap<>();
+            for (Book book : bookRepository.findAllById(List.copyOf(batch.lookups.keySet()))) {
+                books.put(book.getId(), book);
+            }
+            batch.lookups.forEach((id, result) -> result.complete(Optional.ofNullable(books.get(id))));
+        } catch (RuntimeException e) {
+            batch.lookups.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    private static final class Batch {
+
+        // Only changed while the batch is open, under the lock; read once it is taken.
+        private final Map<Long, CompletableFuture<Optional<Book>>> lookups = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,90 @@
+package com.vishnurp3.bookmanagementservice.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.event.BookChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+@RegisterReflectionForBinding(BookResponseDto.class)
+public class BookJsonCache {
+
+    private final ObjectMapper objectMapper;
+    private final BookJsonCacheProperties properties;
+    private final Cache<Long, SerializedBook> cache;
+    private final CatalogVersion catalogVersion;
+
+    public BookJsonCache(ObjectMapper objectMapper, BookJsonCacheProperties properties, CatalogVersion catalogVersion,
+                         MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.catalogVersion = catalogVersion;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "books.json");
+    }
+
+    public SerializedBook get(Long id, Supplier<BookResponseDto> loader) {
+        if (!properties.isEnabled()) {
+            return serialize(loader.get());
+        }
+
+        SerializedBook cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        // The loader joins only lookups started at this version or later (see BookServiceImpl), so it returns the
+        // book as of this version at least. A write committed while it was loading advances the version, so the
+        // possibly stale bytes are returned to this caller but never stored.
+        long version = catalogVersion.current();
+        SerializedBook loaded = serialize(loader.get());
+        cache.asMap().compute(id, (key, current) -> catalogVersion.current() == version ? loaded : current);
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        catalogVersion.advance();
+        if (event.bookId() == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(event.bookId());
+        }
+    }
+
+    public SerializedBook serialize(BookResponseDto book) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(book);
+            byte[] gzip = properties.isGzipEnabled() && json.length >= properties.getGzipMinSize() ? gzip(json) : null;
+            return new SerializedBook(json, gzip);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize book with ID: " + book.getId(), ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
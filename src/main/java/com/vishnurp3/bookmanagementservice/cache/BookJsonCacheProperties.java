@@ -0,0 +1,17 @@
+package com.vishnurp3.bookmanagementservice.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "books.json-cache")
+public class BookJsonCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maximumSize = 10_000;
+
+    private boolean gzipEnabled = false;
+
+    private int gzipMinSize = 512;
+}
@@ -0,0 +1,122 @@
+package com.vishnurp3.bookmanagementservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.vishnurp3.bookmanagementservice.count.CountStrategy;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.event.BookChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Caches pages of filtered book listings, content and total count, under the filter, the page request and the
+ * {@link CatalogVersion}. Every committed change to the catalog advances the version, which retires all cached pages
+ * at once without touching them; pages of earlier versions are never read again and are evicted as the size bound
+ * requires.
+ * <p>
+ * The version is read before a page is loaded and advanced only after the change has committed, so a page loaded
+ * while a write was in flight is stored under the version that write retires. Loaders joining a query already in
+ * flight must key it by a version read after this one (see BookServiceImpl).
+ */
+@Component
+public class BookListingCache {
+
+    // Rough heap cost of a page, and of a book before its strings are counted.
+    private static final int PAGE_OVERHEAD = 256;
+    private static final int BOOK_OVERHEAD = 200;
+
+    private final BookListingCacheProperties properties;
+    private final Cache<ListingKey, Page<BookResponseDto>> cache;
+    private final CatalogVersion catalogVersion;
+
+    public BookListingCache(BookListingCacheProperties properties, CatalogVersion catalogVersion,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.catalogVersion = catalogVersion;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .<ListingKey, Page<BookResponseDto>>weigher((key, page) -> estimateBytes(page))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "books.listing");
+        Gauge.builder("books.listing.cache.estimated.size", this, BookListingCache::estimatedBytes)
+                .description("Estimated heap held by cached listing pages")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public Page<BookResponseDto> get(String title, String author, String category, String isbn, Pageable pageable,
+                                     CountStrategy countStrategy, Supplier<Page<BookResponseDto>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        // Every filter is matched ignoring case.
+        ListingKey key = new ListingKey(catalogVersion.current(), normalize(title), normalize(author), normalize(category),
+                normalize(isbn), pageable, countStrategy);
+        Page<BookResponseDto> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Page<BookResponseDto> loaded = loader.get();
+        cache.put(key, loaded);
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        catalogVersion.advance();
+    }
+
+    public long catalogVersion() {
+        return catalogVersion.current();
+    }
+
+    public Statistics statistics() {
+        CacheStats stats = cache.stats();
+        return new Statistics(properties.isEnabled(), catalogVersion.current(), cache.estimatedSize(), estimatedBytes(),
+                properties.getMaximumSize().toBytes(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private long estimatedBytes() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    private static String normalize(String filter) {
+        return filter == null || filter.isEmpty() ? null : filter.toLowerCase(Locale.ROOT);
+    }
+
+    private static int estimateBytes(Page<BookResponseDto> page) {
+        long bytes = PAGE_OVERHEAD;
+        for (BookResponseDto book : page.getContent()) {
+            bytes += BOOK_OVERHEAD + 2L * (length(book.getTitle()) + length(book.getAuthor()) + length(book.getIsbn())
+                    + length(book.getCategory()) + length(book.getPublisher()) + length(book.getDescription()));
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    public record Statistics(boolean enabled, long catalogVersion, long entries, long estimatedBytes, long maximumBytes,
+                             long hits, long misses, double hitRate, long evictions) {
+    }
+
+    private record ListingKey(long catalogVersion, String title, String author, String category, String isbn,
+                              Pageable pageable, CountStrategy countStrategy) {
+    }
+}
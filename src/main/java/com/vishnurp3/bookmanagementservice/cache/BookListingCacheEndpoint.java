@@ -0,0 +1,28 @@
+package com.vishnurp3.bookmanagementservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/listingcache}: hit rate and estimated memory of the listing cache; {@code DELETE} empties it.
+ */
+@Component
+@Endpoint(id = "listingcache")
+@RequiredArgsConstructor
+public class BookListingCacheEndpoint {
+
+    private final BookListingCache bookListingCache;
+
+    @ReadOperation
+    public BookListingCache.Statistics statistics() {
+        return bookListingCache.statistics();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        bookListingCache.clear();
+    }
+}
@@ -0,0 +1,17 @@
+package com.vishnurp3.bookmanagementservice.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "books.listing-cache")
+public class BookListingCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on the estimated heap held by cached pages.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,27 @@
+package com.vishnurp3.bookmanagementservice.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter advanced after every committed catalog change, before any cached copy of the changed data is dropped. A
+ * load started after reading version {@code v} sees every change up to {@code v}, so caches key in-flight loads by
+ * the version read before joining them, and store a result only if the version has not moved since.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Called by each cache's change listener before it evicts, so the eviction never precedes the advance.
+     */
+    public void advance() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,8 @@
+package com.vishnurp3.bookmanagementservice.cache;
+
+public record SerializedBook(byte[] json, byte[] gzip) {
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+}
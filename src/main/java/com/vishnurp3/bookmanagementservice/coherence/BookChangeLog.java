@@ -0,0 +1,196 @@
+package com.vishnurp3.bookmanagementservice.coherence;
+
+import com.vishnurp3.bookmanagementservice.event.BookChangedEvent;
+import com.vishnurp3.bookmanagementservice.sharding.ShardRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Keeps the in-process caches of several instances sharing one database coherent without a message broker. Every
+ * catalog write appends the changed book ids to the {@code book_invalidations} table in the writing transaction, and
+ * every instance reads the entries other instances appended every {@code poll-interval}, publishing a
+ * {@link BookChangedEvent#invalidated} for each so the usual listeners evict them.
+ * <p>
+ * Entries are read in id order. An id skipped by one read may belong to a transaction that commits later, so
+ * skipped ids are looked for again on later polls until {@code gap-timeout} has passed.
+ */
+@Slf4j
+@Component
+public class BookChangeLog implements SmartInitializingSingleton {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO book_invalidations (book_id, node_id, created_at) VALUES (?, ?, ?)";
+
+    private final CoherenceProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Cursor> cursors;
+
+    public BookChangeLog(CoherenceProperties properties, ApplicationEventPublisher eventPublisher, DataSource dataSource) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        List<DataSource> dataSources = dataSource instanceof ShardRoutingDataSource routing
+                ? routing.getShards()
+                : List.of(dataSource);
+        this.cursors = dataSources.stream().map(Cursor::new).toList();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void record(Long bookId) {
+        if (isEnabled()) {
+            jdbcTemplate.update(INSERT_SQL, bookId, properties.getNodeId(), now());
+        }
+    }
+
+    public void recordAll(List<Long> bookIds) {
+        if (isEnabled() && !bookIds.isEmpty()) {
+            LocalDateTime now = now();
+            jdbcTemplate.batchUpdate(INSERT_SQL, bookIds.stream()
+                    .map(id -> new Object[]{id, properties.getNodeId(), now})
+                    .toList());
+        }
+    }
+
+    /**
+     * Records a change to any number of books, which makes other instances evict every cached book.
+     */
+    public void recordBulkChange() {
+        record(null);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Caches start out empty, so entries written before this instance started are of no interest.
+        if (isEnabled()) {
+            cursors.forEach(Cursor::skipToEnd);
+        }
+    }
+
+    /**
+     * @return the number of changes made by other instances that were evicted
+     */
+    @Scheduled(initialDelayString = "${books.coherence.poll-interval:PT1S}",
+            fixedDelayString = "${books.coherence.poll-interval:PT1S}")
+    public synchronized int poll() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        Set<Long> changed = new LinkedHashSet<>();
+        boolean bulkChange = false;
+        for (Cursor cursor : cursors) {
+            for (Entry entry : cursor.read()) {
+                if (entry.nodeId().equals(properties.getNodeId())) {
+                    continue;
+                }
+                if (entry.bookId() == null) {
+                    bulkChange = true;
+                } else {
+                    changed.add(entry.bookId());
+                }
+            }
+        }
+        if (bulkChange) {
+            eventPublisher.publishEvent(BookChangedEvent.invalidated(null));
+        } else {
+            changed.forEach(id -> eventPublisher.publishEvent(BookChangedEvent.invalidated(id)));
+        }
+        if (bulkChange || !changed.isEmpty()) {
+            log.debug("Evicted {} books changed by other instances", bulkChange ? "all" : changed.size());
+        }
+        return changed.size() + (bulkChange ? 1 : 0);
+    }
+
+    @Scheduled(initialDelayString = "${books.coherence.retention:PT1H}",
+            fixedDelayString = "${books.coherence.retention:PT1H}")
+    public void purgeExpired() {
+        if (!isEnabled()) {
+            return;
+        }
+        LocalDateTime cutoff = now().minus(properties.getRetention());
+        int purged = 0;
+        for (Cursor cursor : cursors) {
+            purged += cursor.jdbcTemplate.getJdbcTemplate()
+                    .update("DELETE FROM book_invalidations WHERE created_at < ?", cutoff);
+        }
+        log.debug("Purged {} book invalidations older than {}", purged, cutoff);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    private record Entry(long id, Long bookId, String nodeId) {
+    }
+
+    /**
+     * Read position in one shard's change log.
+     */
+    private final class Cursor {
+
+        private final NamedParameterJdbcTemplate jdbcTemplate;
+        private final Map<Long, Instant> gaps = new TreeMap<>();
+        private Long position;
+
+        private Cursor(DataSource dataSource) {
+            this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        }
+
+        private void skipToEnd() {
+            Long max = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT MAX(id) FROM book_invalidations", Long.class);
+            position = max == null ? 0 : max;
+        }
+
+        private List<Entry> read() {
+            if (position == null) {
+                skipToEnd();
+                return List.of();
+            }
+            List<Entry> entries = new ArrayList<>();
+            if (!gaps.isEmpty()) {
+                Instant expired = Instant.now().minus(properties.getGapTimeout());
+                gaps.values().removeIf(skippedAt -> skippedAt.isBefore(expired));
+                if (!gaps.isEmpty()) {
+                    List<Entry> filled = query("SELECT id, book_id, node_id FROM book_invalidations WHERE id IN (:ids)",
+                            Map.of("ids", List.copyOf(gaps.keySet())));
+                    filled.forEach(entry -> gaps.remove(entry.id()));
+                    entries.addAll(filled);
+                }
+            }
+            int batchSize = properties.getPollBatchSize();
+            List<Entry> batch;
+            do {
+                batch = query("SELECT id, book_id, node_id FROM book_invalidations WHERE id > :position ORDER BY id LIMIT :limit",
+                        Map.of("position", position, "limit", batchSize));
+                Instant now = Instant.now();
+                for (Entry entry : batch) {
+                    for (long skipped = position + 1; skipped < entry.id() && gaps.size() < batchSize; skipped++) {
+                        gaps.put(skipped, now);
+                    }
+                    position = entry.id();
+                }
+                entries.addAll(batch);
+            } while (batch.size() == batchSize);
+            return entries;
+        }
+
+        private List<Entry> query(String sql, Map<String, ?> parameters) {
+            return jdbcTemplate.query(sql, parameters, (row, rowNum) -> new Entry(
+                    row.getLong("id"), row.getObject("book_id", Long.class), row.getString("node_id")));
+        }
+    }
+}
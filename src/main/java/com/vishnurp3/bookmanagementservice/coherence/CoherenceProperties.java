@@ -0,0 +1,40 @@
+package com.vishnurp3.bookmanagementservice.coherence;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Data
+@ConfigurationProperties(prefix = "books.coherence")
+public class CoherenceProperties {
+
+    /**
+     * Enable when several instances share the database, so each evicts what the others changed.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Identifies this instance's own entries in the change log.
+     */
+    private String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * How often the change log is read; other instances' changes are evicted here within about this long.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    private int pollBatchSize = 1000;
+
+    /**
+     * How long an id skipped by a read is still looked for, since a transaction that took it may commit after rows
+     * with higher ids were read.
+     */
+    private Duration gapTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Entries older than this are deleted.
+     */
+    private Duration retention = Duration.ofHours(1);
+}
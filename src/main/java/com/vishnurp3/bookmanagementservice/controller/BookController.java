@@ -1,13 +1,28 @@
 package com.vishnurp3.bookmanagementservice.controller;
 
+import com.vishnurp3.bookmanagementservice.cache.BookJsonCache;
+import com.vishnurp3.bookmanagementservice.cache.SerializedBook;
+import com.vishnurp3.bookmanagementservice.count.BookCounter;
+import com.vishnurp3.bookmanagementservice.count.CountStrategy;
+import com.vishnurp3.bookmanagementservice.diagnostics.BookRequestEvent;
+import com.vishnurp3.bookmanagementservice.dto.BookFields;
 import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
 import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.TrendingBookDto;
 import com.vishnurp3.bookmanagementservice.exception.ErrorResponse;
 import com.vishnurp3.bookmanagementservice.exception.ValidationErrorResponse;
+import com.vishnurp3.bookmanagementservice.idempotency.IdempotentRequests;
+import com.vishnurp3.bookmanagementservice.popularity.BookPopularity;
+import com.vishnurp3.bookmanagementservice.resilience.ReadCircuitBreaker;
 import com.vishnurp3.bookmanagementservice.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.Parameters;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -19,9 +34,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
 
 @Tag(name = "Book Management", description = "API for managing books")
 @RestController
@@ -29,11 +51,21 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class BookController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    static final String SERVED_STALE = "Served-Stale";
+    static final String TOTAL_COUNT_STRATEGY = "Total-Count-Strategy";
+
     private final BookService bookService;
+    private final BookJsonCache bookJsonCache;
+    private final IdempotentRequests idempotentRequests;
+    private final BookPopularity bookPopularity;
+    private final ReadCircuitBreaker readCircuitBreaker;
+    private final BookCounter bookCounter;
 
     @Operation(
             summary = "Create a new book",
-            description = "Adds a new book to the database. The ISBN must be unique and is used to identify the book."
+            description = "Adds a new book to the database. The ISBN must be unique and is used to identify the book. Retries carrying the same Idempotency-Key header receive the original response without creating the book again."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -50,17 +82,31 @@ public class BookController {
                     responseCode = "409",
                     description = "Book with the provided ISBN already exists",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "The idempotency key was already used for a different request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public BookResponseDto createBook(@Valid @RequestBody BookRequestDto bookRequestDto) {
-        return bookService.createBook(bookRequestDto);
+    public ResponseEntity<BookResponseDto> createBook(
+            @Valid @RequestBody BookRequestDto bookRequestDto,
+            @Parameter(description = "Client-chosen key identifying this request across retries", example = "3f1c9a52-8d4e-4c1b-9f0a-6b2e7d5c4a10")
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        IdempotentRequests.Result<BookResponseDto> result = BookRequestEvent.record(
+                "POST /api/v1/books", null, bookRequestDto::getIsbn, event -> idempotentRequests.execute(
+                        idempotencyKey, bookRequestDto, () -> bookService.createBook(bookRequestDto)));
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return response.body(result.response());
     }
 
     @Operation(
             summary = "Retrieve a book by ID",
-            description = "Fetches the details of a book specified by its unique ID. Returns a 404 error if the book is not found."
+            description = "Fetches the details of a book specified by its unique ID. Returns a 404 error if the book is not found. With fields, only the listed properties are read and returned. While the database is unreachable, the last copy read is returned with a Served-Stale header and its Age in seconds."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -72,12 +118,66 @@ public class BookController {
                     responseCode = "404",
                     description = "Book not found with the specified ID",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown field requested",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "The database is unreachable and no earlier copy is available",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public BookResponseDto getBookById(@PathVariable Long id) {
-        return bookService.getBookById(id);
+    public ResponseEntity<?> getBookById(
+            @PathVariable Long id,
+            @Parameter(description = "Comma-separated properties to return", example = "id,title,price")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        BookFields requestedFields = BookFields.parse(fields);
+        if (requestedFields != null) {
+            return BookRequestEvent.record("GET /api/v1/books/{id}", id, requestedFields::toString, event -> {
+                ReadCircuitBreaker.Read<Map<String, Object>> book = readCircuitBreaker.read(
+                        new ReadCircuitBreaker.BookKey(id, requestedFields.toString()),
+                        () -> bookService.getSparseBook(id, requestedFields));
+                bookPopularity.record(id);
+                return withStaleness(ResponseEntity.ok(), book).body(book.value());
+            });
+        }
+        return BookRequestEvent.record("GET /api/v1/books/{id}", id, null, event -> {
+            ReadCircuitBreaker.Read<SerializedBook> read = readCircuitBreaker.read(
+                    new ReadCircuitBreaker.BookKey(id, null), () -> bookJsonCache.get(id, () -> bookService.getBookById(id)));
+            SerializedBook book = read.value();
+            bookPopularity.record(id);
+            event.setResultSize(1);
+            ResponseEntity.BodyBuilder response = withStaleness(ResponseEntity.ok(), read)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (book.hasGzip() && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                event.setResponseBytes(book.gzip().length);
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(book.gzip());
+            }
+            event.setResponseBytes(book.json().length);
+            return response.body(book.json());
+        });
+    }
+
+    @Operation(
+            summary = "Retrieve the books being read the most",
+            description = "Lists books ranked by their recent views, each view counting half as much after every configured half-life. Served from memory and refreshed with every flush of the view counters, so views show up here after up to one flush interval."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Trending books retrieved successfully",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TrendingBookDto.class)))
+    )
+    @GetMapping("/trending")
+    public List<TrendingBookDto> getTrendingBooks(
+            @Parameter(description = "Maximum number of books to return", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        return bookPopularity.trending(limit);
     }
 
     @Operation(
@@ -111,7 +211,8 @@ public class BookController {
     public BookResponseDto updateBook(
             @PathVariable Long id,
             @Valid @RequestBody BookRequestDto bookRequestDto) {
-        return bookService.updateBook(id, bookRequestDto);
+        return BookRequestEvent.record("PUT /api/v1/books/{id}", id, null,
+                event -> bookService.updateBook(id, bookRequestDto));
     }
 
     @Operation(
@@ -132,32 +233,100 @@ public class BookController {
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteBook(@PathVariable Long id) {
-        bookService.deleteBook(id);
+        BookRequestEvent.record("DELETE /api/v1/books/{id}", id, null, event -> {
+            bookService.deleteBook(id);
+            return null;
+        });
+    }
+
+    @Operation(
+            summary = "Update all books matching a filter",
+            description = "Sets the category or publisher, or multiplies or adds to the price, of every book matching the filter in a single statement. Books whose new price would not be positive are left unchanged."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Books updated successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkUpdateResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ValidationErrorResponse.class))
+            )
+    })
+    @PostMapping("/bulk-update")
+    @ResponseStatus(HttpStatus.OK)
+    public BulkUpdateResponseDto bulkUpdate(@Valid @RequestBody BulkUpdateRequestDto bulkUpdateRequestDto) {
+        return BookRequestEvent.record("POST /api/v1/books/bulk-update", null, bulkUpdateRequestDto::toString, event -> {
+            BulkUpdateResponseDto response = bookService.bulkUpdate(bulkUpdateRequestDto);
+            event.setResultSize(response.getAffectedCount());
+            return response;
+        });
+    }
+
+    @Operation(
+            summary = "Delete books by ID or by filter",
+            description = "Deletes the listed books, or every book matching the filter, in chunks of set-based DELETE statements that each commit on their own. IDs that do not exist are ignored."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Books deleted successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkDeleteResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ValidationErrorResponse.class))
+            )
+    })
+    @PostMapping("/bulk-delete")
+    @ResponseStatus(HttpStatus.OK)
+    public BulkDeleteResponseDto bulkDelete(@Valid @RequestBody BulkDeleteRequestDto bulkDeleteRequestDto) {
+        return BookRequestEvent.record("POST /api/v1/books/bulk-delete", null, bulkDeleteRequestDto::toString, event -> {
+            BulkDeleteResponseDto response = bookService.bulkDelete(bulkDeleteRequestDto);
+            event.setResultSize(response.getDeletedCount());
+            return response;
+        });
     }
 
     @Operation(
             summary = "Retrieve a paginated list of books with optional filters",
-            description = "Fetches books based on optional filters for title, author, category, and ISBN. Supports pagination, sorting, and filtering."
+            description = "Fetches books based on optional filters for title, author, category, and ISBN. Supports pagination, sorting, and filtering. In fuzzy mode, title and author tolerate typos and results are ordered by relevance. With fields, only the listed properties are read and returned. The total is counted exactly, cached per filter or estimated from table statistics as the count parameter or the configured default asks; listings whose total is not exact carry a Total-Count-Strategy header. While the database is unreachable, the last copy of the same page is returned with a Served-Stale header and its Age in seconds."
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
                     description = "List of books retrieved successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown field or count strategy requested",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "The database is unreachable and no earlier copy is available",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @Parameters({
             @Parameter(name = "title", description = "Filter books by title", example = "Effective Java"),
             @Parameter(name = "author", description = "Filter books by author", example = "Joshua Bloch"),
-            @Parameter(name = "category", description = "Filter books by category", example = "Programming"),
+            @Parameter(name = "category", description = "Filter books by category (exact match, case-insensitive)", example = "Programming"),
             @Parameter(name = "isbn", description = "Filter books by ISBN", example = "9780134685991"),
             @Parameter(name = "page", description = "Page number for pagination (0-indexed)", example = "0", schema = @Schema(type = "integer")),
             @Parameter(name = "size", description = "Number of records per page", example = "10", schema = @Schema(type = "integer")),
             @Parameter(name = "sortBy", description = "Field to sort by", example = "title"),
-            @Parameter(name = "sortDir", description = "Sort direction, either 'asc' or 'desc'", example = "asc")
+            @Parameter(name = "sortDir", description = "Sort direction, either 'asc' or 'desc'", example = "asc"),
+            @Parameter(name = "fuzzy", description = "Match title and author approximately and order results by relevance", example = "false"),
+            @Parameter(name = "fields", description = "Comma-separated properties to return", example = "id,title,price"),
+            @Parameter(name = "count", description = "How the total is worked out: 'exact', 'cached' or 'estimated'; ignored with fuzzy or fields, which always count exactly", example = "estimated")
     })
     @GetMapping
-    public Page<BookResponseDto> getBooks(
+    public ResponseEntity<Page<?>> getBooks(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String author,
             @RequestParam(required = false) String category,
@@ -165,13 +334,50 @@ public class BookController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String count
     ) {
         Sort sort = Sort.by(
                 sortDir.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC,
                 sortBy
         );
         Pageable pageable = PageRequest.of(page, size, sort);
-        return bookService.getBooks(title, author, category, isbn, pageable);
+        BookFields requestedFields = BookFields.parse(fields);
+        CountStrategy requestedCount = CountStrategy.parse(count);
+        CountStrategy countStrategy = fuzzy || requestedFields != null ? CountStrategy.EXACT
+                : requestedCount != null ? requestedCount : bookCounter.defaultStrategy();
+        Supplier<String> filter = () -> "title=%s, author=%s, category=%s, isbn=%s, fuzzy=%s, fields=%s, count=%s, %s"
+                .formatted(title, author, category, isbn, fuzzy, fields, countStrategy, pageable);
+        return BookRequestEvent.record("GET /api/v1/books", null, filter, event -> {
+            ReadCircuitBreaker.Read<Page<?>> books = readCircuitBreaker.read(filter.get(), () -> {
+                if (fuzzy) {
+                    // Ranking needs the loaded books, so fuzzy results are trimmed only in the response.
+                    Page<BookResponseDto> matches = bookService.searchBooks(title, author, category, isbn, pageable);
+                    return requestedFields == null ? matches : matches.map(requestedFields::select);
+                } else if (requestedFields != null) {
+                    return bookService.getSparseBooks(title, author, category, isbn, requestedFields, pageable);
+                }
+                return bookService.getBooks(title, author, category, isbn, pageable, countStrategy);
+            });
+            event.setResultSize(books.value().getNumberOfElements());
+            ResponseEntity.BodyBuilder response = withStaleness(ResponseEntity.ok(), books);
+            CountStrategy appliedCount = countStrategy == CountStrategy.EXACT ? CountStrategy.EXACT
+                    : bookService.appliedCountStrategy(title, author, category, isbn, countStrategy);
+            if (appliedCount != CountStrategy.EXACT) {
+                response.header(TOTAL_COUNT_STRATEGY, appliedCount.toString());
+            }
+            return response.body(books.value());
+        });
+    }
+
+    private static ResponseEntity.BodyBuilder withStaleness(ResponseEntity.BodyBuilder response,
+                                                            ReadCircuitBreaker.Read<?> read) {
+        if (read.isStale()) {
+            response.header(SERVED_STALE, "true")
+                    .header(HttpHeaders.AGE, Long.toString(read.staleness().toSeconds()));
+        }
+        return response;
     }
 }
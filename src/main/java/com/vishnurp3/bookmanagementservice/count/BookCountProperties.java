@@ -0,0 +1,23 @@
+package com.vishnurp3.bookmanagementservice.count;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.count")
+public class BookCountProperties {
+
+    /**
+     * Used for listings that do not ask for a strategy of their own.
+     */
+    private CountStrategy strategy = CountStrategy.EXACT;
+
+    /**
+     * How long a cached count is reused before it is counted again.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    private long maximumSize = 10_000;
+}
@@ -0,0 +1,140 @@
+package com.vishnurp3.bookmanagementservice.count;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.vishnurp3.bookmanagementservice.sharding.ShardRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Works out listing totals by {@link CountStrategy}. Cached counts are kept per filter, ignoring case like the
+ * filters themselves, and expire {@code books.count.ttl} after they were counted. Estimates read the row count the
+ * database keeps for the books table: {@code information_schema.TABLES.TABLE_ROWS} on MySQL, which InnoDB samples and
+ * can be off by a sizeable fraction, and {@code ROW_COUNT_ESTIMATE} on H2. Either includes deleted books awaiting
+ * purge.
+ */
+@Slf4j
+@Component
+public class BookCounter {
+
+    private final BookCountProperties properties;
+    private final List<JdbcTemplate> shards;
+    private final Cache<CountKey, Long> counts;
+    private volatile List<String> estimateQueries;
+
+    @Autowired
+    public BookCounter(BookCountProperties properties, DataSource dataSource, MeterRegistry meterRegistry) {
+        this(properties, dataSource, meterRegistry, Ticker.systemTicker());
+    }
+
+    BookCounter(BookCountProperties properties, DataSource dataSource, MeterRegistry meterRegistry, Ticker ticker) {
+        this.properties = properties;
+        List<DataSource> dataSources = dataSource instanceof ShardRoutingDataSource routing
+                ? routing.getShards()
+                : List.of(dataSource);
+        this.shards = dataSources.stream().map(JdbcTemplate::new).toList();
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "books.count");
+    }
+
+    public CountStrategy defaultStrategy() {
+        return properties.getStrategy();
+    }
+
+    /**
+     * Returns the total of the listing with these filters, running {@code exact} only when the strategy needs an
+     * exact count that is not cached.
+     */
+    public long count(CountStrategy strategy, String title, String author, String category, String isbn,
+                      LongSupplier exact) {
+        return switch (applied(strategy, title, author, category, isbn)) {
+            case EXACT -> exact.getAsLong();
+            case CACHED -> cached(title, author, category, isbn, exact);
+            case ESTIMATED -> estimated(exact);
+        };
+    }
+
+    /**
+     * The strategy {@link #count} applies to a listing with these filters: a filtered listing cannot be estimated
+     * and is cached instead.
+     */
+    public CountStrategy applied(CountStrategy strategy, String title, String author, String category, String isbn) {
+        boolean filtered = !isBlank(title) || !isBlank(author) || !isBlank(category) || !isBlank(isbn);
+        return strategy == CountStrategy.ESTIMATED && filtered ? CountStrategy.CACHED : strategy;
+    }
+
+    private long cached(String title, String author, String category, String isbn, LongSupplier exact) {
+        CountKey key = new CountKey(normalize(title), normalize(author), normalize(category), normalize(isbn));
+        Long cached = counts.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long counted = exact.getAsLong();
+        counts.put(key, counted);
+        return counted;
+    }
+
+    private long estimated(LongSupplier exact) {
+        List<String> queries = estimateQueries();
+        long total = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            List<Long> rows = queries.get(shard) == null ? List.of()
+                    : shards.get(shard).queryForList(queries.get(shard), Long.class);
+            if (rows.isEmpty() || rows.get(0) == null) {
+                return exact.getAsLong();
+            }
+            total += rows.get(0);
+        }
+        return total;
+    }
+
+    private List<String> estimateQueries() {
+        List<String> queries = estimateQueries;
+        if (queries == null) {
+            // Looked up on first use rather than at startup, like the lookup tables, so startup opens no connection.
+            queries = shards.stream().map(shard -> {
+                String product = shard.execute((ConnectionCallback<String>) connection ->
+                        connection.getMetaData().getDatabaseProductName());
+                return switch (product) {
+                    case "MySQL" -> "SELECT TABLE_ROWS FROM information_schema.TABLES "
+                            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'books'";
+                    case "H2" -> "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES "
+                            + "WHERE TABLE_SCHEMA = SCHEMA() AND UPPER(TABLE_NAME) = 'BOOKS'";
+                    default -> {
+                        log.warn("No row estimate for books on {}, estimated totals are counted instead", product);
+                        yield null;
+                    }
+                };
+            }).toList();
+            estimateQueries = queries;
+        }
+        return queries;
+    }
+
+    private static boolean isBlank(String filter) {
+        return filter == null || filter.isEmpty();
+    }
+
+    private static String normalize(String filter) {
+        return isBlank(filter) ? null : filter.toLowerCase(Locale.ROOT);
+    }
+
+    private record CountKey(String title, String author, String category, String isbn) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.vishnurp3.bookmanagementservice.count;
+
+import com.vishnurp3.bookmanagementservice.exception.InvalidFieldsException;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * How the total of a book listing is worked out.
+ */
+public enum CountStrategy {
+
+    /**
+     * A COUNT query with the listing's own filters, on every request.
+     */
+    EXACT,
+
+    /**
+     * The exact count, kept per filter for {@code books.count.ttl}; writes in the meantime are not reflected.
+     */
+    CACHED,
+
+    /**
+     * The table's row estimate from the database statistics for unfiltered listings. Filters by substring cannot
+     * be estimated from statistics, so filtered listings fall back to {@link #CACHED}.
+     */
+    ESTIMATED;
+
+    /**
+     * Parses the name ignoring case, or returns {@code null} if it is blank.
+     */
+    public static CountStrategy parse(String name) {
+        if (!StringUtils.hasText(name)) {
+            return null;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFieldsException("Unknown count strategy '" + name + "', expected any of "
+                    + Arrays.stream(values()).map(CountStrategy::toString).toList());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
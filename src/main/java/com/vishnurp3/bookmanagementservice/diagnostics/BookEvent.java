@@ -0,0 +1,95 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import jdk.jfr.*;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Common fields of the book JDK Flight Recorder events. Database time is the JDBC time of the statements the
+ * operation issued on its own thread, as reported to {@link FlightRecorderStatementListener}; nested events count
+ * their statements towards the enclosing one as well. While no recording is running, an event costs one
+ * {@link #isEnabled()} check.
+ */
+@Category("Book Management")
+@StackTrace(false)
+public abstract class BookEvent extends Event {
+
+    private static final ThreadLocal<DatabaseTally> TALLY = new ThreadLocal<>();
+
+    @Label("Book ID")
+    @Description("Zero unless the operation targets a single book")
+    long bookId;
+
+    @Label("Filter")
+    String filter;
+
+    @Label("Database Time")
+    @Timespan
+    long databaseTime;
+
+    @Label("Statements")
+    int statementCount;
+
+    @Label("Result Size")
+    long resultSize;
+
+    @Label("Error")
+    String error;
+
+    public void setResultSize(long resultSize) {
+        this.resultSize = resultSize;
+    }
+
+    static <E extends BookEvent, T> T record(E event, Long bookId, Supplier<String> filter, Function<E, T> body) {
+        if (!event.isEnabled()) {
+            return body.apply(event);
+        }
+        event.bookId = bookId == null ? 0 : bookId;
+        event.filter = filter == null ? null : filter.get();
+        DatabaseTally tally = new DatabaseTally(TALLY.get());
+        TALLY.set(tally);
+        event.begin();
+        try {
+            return body.apply(event);
+        } catch (RuntimeException e) {
+            event.error = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            event.databaseTime = tally.nanos;
+            event.statementCount = tally.statements;
+            if (tally.parent == null) {
+                TALLY.remove();
+            } else {
+                tally.parent.add(tally);
+                TALLY.set(tally.parent);
+            }
+            event.commit();
+        }
+    }
+
+    static void onStatement(long durationNanos) {
+        DatabaseTally tally = TALLY.get();
+        if (tally != null) {
+            tally.nanos += durationNanos;
+            tally.statements++;
+        }
+    }
+
+    private static final class DatabaseTally {
+
+        private final DatabaseTally parent;
+        private long nanos;
+        private int statements;
+
+        private DatabaseTally(DatabaseTally parent) {
+            this.parent = parent;
+        }
+
+        private void add(DatabaseTally child) {
+            nanos += child.nanos;
+            statements += child.statements;
+        }
+    }
+}
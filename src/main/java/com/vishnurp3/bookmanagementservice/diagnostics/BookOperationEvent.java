@@ -0,0 +1,44 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Name("com.vishnurp3.bookmanagementservice.BookOperation")
+@Label("Book Operation")
+@Description("A book service call with its database and entity-to-DTO mapping time")
+public class BookOperationEvent extends BookEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Mapping Time")
+    @Timespan
+    long mappingTime;
+
+    public static <T> T record(String operation, Long bookId, Supplier<String> filter,
+                               Function<BookOperationEvent, T> body) {
+        BookOperationEvent event = new BookOperationEvent();
+        event.operation = operation;
+        return record(event, bookId, filter, body);
+    }
+
+    /**
+     * Runs the mapping step, adding its duration to the event's mapping time.
+     */
+    public <T> T mapping(Supplier<T> mapping) {
+        if (!isEnabled()) {
+            return mapping.get();
+        }
+        long started = System.nanoTime();
+        try {
+            return mapping.get();
+        } finally {
+            mappingTime += System.nanoTime() - started;
+        }
+    }
+}
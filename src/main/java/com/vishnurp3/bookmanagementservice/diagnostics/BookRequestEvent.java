@@ -0,0 +1,34 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Name("com.vishnurp3.bookmanagementservice.BookRequest")
+@Label("Book Request")
+@Description("A book API request handled by the controller, up to the point its response body is returned")
+public class BookRequestEvent extends BookEvent {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Response Size")
+    @Description("Bytes written for responses serialized by the controller itself")
+    @DataAmount
+    long responseBytes;
+
+    public static <T> T record(String endpoint, Long bookId, Supplier<String> filter,
+                               Function<BookRequestEvent, T> body) {
+        BookRequestEvent event = new BookRequestEvent();
+        event.endpoint = endpoint;
+        return record(event, bookId, filter, body);
+    }
+
+    public void setResponseBytes(long responseBytes) {
+        this.responseBytes = responseBytes;
+    }
+}
@@ -0,0 +1,28 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.flight-recorder")
+public class FlightRecorderProperties {
+
+    private boolean enabled = true;
+
+    private boolean startOnStartup = false;
+
+    /**
+     * Name of a JDK recording configuration, {@code default} or {@code profile}.
+     */
+    private String settings = "default";
+
+    private Duration maxAge = Duration.ofMinutes(15);
+
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+
+    private Path dumpDirectory = Path.of(System.getProperty("java.io.tmpdir"), "book-recordings");
+}
@@ -0,0 +1,17 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds statement durations into the database time of the book event running on the same thread.
+ */
+@Component
+@ConditionalOnProperty(prefix = "books.flight-recorder", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecorderStatementListener implements SqlStatementListener {
+
+    @Override
+    public void onStatement(StatementExecution execution) {
+        BookEvent.onStatement(execution.durationNanos());
+    }
+}
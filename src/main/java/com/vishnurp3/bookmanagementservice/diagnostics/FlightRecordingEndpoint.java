@@ -0,0 +1,60 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * {@code GET /actuator/flightrecording} downloads a snapshot of the running recordings as a {@code .jfr} file, which
+ * is also kept in the dump directory; {@code POST} starts the application's rolling recording and {@code DELETE}
+ * stops it.
+ */
+@Component
+@WebEndpoint(id = "flightrecording")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "books.flight-recorder", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecordingEndpoint {
+
+    private final FlightRecordings flightRecordings;
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump() throws IOException {
+        Path file = flightRecordings.dump();
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    @WriteOperation
+    public RecordingStatus start() throws IOException, ParseException {
+        return RecordingStatus.of(flightRecordings.start());
+    }
+
+    @DeleteOperation
+    public void stop() {
+        flightRecordings.stop();
+    }
+
+    public record RecordingStatus(String name, Instant startedAt, Duration maxAge, long maxSizeBytes) {
+
+        static RecordingStatus of(Recording recording) {
+            return new RecordingStatus(recording.getName(), recording.getStartTime(), recording.getMaxAge(),
+                    recording.getMaxSize());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Owns the application's own rolling recording, which keeps the last {@code max-age} of events on disk, and dumps
+ * snapshots of every running recording, including one started with {@code -XX:StartFlightRecording}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "books.flight-recorder", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecordings implements InitializingBean, DisposableBean {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final FlightRecorderProperties properties;
+
+    private Recording recording;
+
+    @Override
+    public void afterPropertiesSet() throws IOException, ParseException {
+        if (properties.isStartOnStartup()) {
+            start();
+        }
+    }
+
+    public synchronized Recording start() throws IOException, ParseException {
+        if (isRunning()) {
+            return recording;
+        }
+        Recording started = new Recording(Configuration.getConfiguration(properties.getSettings()));
+        started.setName("book-management-service");
+        started.setToDisk(true);
+        started.setMaxAge(properties.getMaxAge());
+        started.setMaxSize(properties.getMaxSize().toBytes());
+        started.enable(BookOperationEvent.class);
+        started.enable(BookRequestEvent.class);
+        started.start();
+        recording = started;
+        log.info("Started flight recording keeping the last {}", properties.getMaxAge());
+        return recording;
+    }
+
+    public synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            log.info("Stopped flight recording");
+        }
+    }
+
+    /**
+     * Writes a snapshot of all running recordings to the dump directory.
+     *
+     * @return the file written, or {@code null} if no recording is running
+     */
+    public Path dump() throws IOException {
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            if (snapshot.getSize() == 0) {
+                return null;
+            }
+            Files.createDirectories(properties.getDumpDirectory());
+            Path file = properties.getDumpDirectory()
+                    .resolve("books-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+            snapshot.dump(file);
+            log.info("Dumped flight recording to {}", file);
+            return file;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+}
@@ -0,0 +1,71 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.annotation.*;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@code /actuator/slowqueries}: lists the captured slow statements, slowest first; {@code POST
+ * /actuator/slowqueries/{id}} runs {@code EXPLAIN} for a captured query with its original bind parameters;
+ * {@code DELETE} clears the log.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@ConditionalOnProperty(prefix = "books.slow-queries", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SlowQueryEndpoint(SlowQueryLog slowQueryLog, DataSource dataSource) {
+        this.slowQueryLog = slowQueryLog;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        return slowQueryLog.slowestFirst().stream().map(SlowQuery::of).toList();
+    }
+
+    @ReadOperation
+    public SlowQuery slowQuery(@Selector long id) {
+        return slowQueryLog.find(id).map(SlowQuery::of).orElse(null);
+    }
+
+    @WriteOperation
+    public List<Map<String, Object>> explain(@Selector long id) {
+        SlowQueryLog.Entry entry = slowQueryLog.find(id).orElse(null);
+        if (entry == null) {
+            return null;
+        }
+        String sql = entry.execution().sql();
+        if (!sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+            throw new IllegalArgumentException("Only SELECT statements can be explained");
+        }
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, entry.execution().parameters().toArray());
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.clear();
+    }
+
+    public record SlowQuery(long id, String sql, List<String> parameters, int batchSize, double durationMillis,
+                            long rowCount, String caller, Instant executedAt) {
+
+        static SlowQuery of(SlowQueryLog.Entry entry) {
+            StatementExecution execution = entry.execution();
+            return new SlowQuery(entry.id(), execution.sql(),
+                    execution.parameters().stream().map(String::valueOf).toList(), execution.batchSize(),
+                    execution.durationNanos() / 1_000_000.0, execution.rowCount(),
+                    execution.caller(), execution.executedAt());
+        }
+    }
+}
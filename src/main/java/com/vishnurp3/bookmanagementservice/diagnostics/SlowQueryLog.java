@@ -0,0 +1,62 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ring buffer of the most recent statements that ran longer than the configured threshold. Once full, each new
+ * slow statement overwrites the oldest one.
+ */
+@Component
+@ConditionalOnProperty(prefix = "books.slow-queries", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLog implements SqlStatementListener {
+
+    private final long thresholdNanos;
+    private final Entry[] entries;
+    private long sequence;
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.thresholdNanos = properties.getThreshold().toNanos();
+        this.entries = new Entry[properties.getCapacity()];
+    }
+
+    @Override
+    public void onStatement(StatementExecution execution) {
+        if (execution.durationNanos() < thresholdNanos) {
+            return;
+        }
+        synchronized (this) {
+            long id = ++sequence;
+            entries[(int) (id % entries.length)] = new Entry(id, execution);
+        }
+    }
+
+    public synchronized List<Entry> slowestFirst() {
+        List<Entry> slowest = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry != null) {
+                slowest.add(entry);
+            }
+        }
+        slowest.sort(Comparator.comparingLong((Entry entry) -> entry.execution().durationNanos()).reversed());
+        return slowest;
+    }
+
+    public synchronized Optional<Entry> find(long id) {
+        Entry entry = entries[(int) (id % entries.length)];
+        return entry != null && entry.id() == id ? Optional.of(entry) : Optional.empty();
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+    }
+
+    public record Entry(long id, StatementExecution execution) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.slow-queries")
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+
+    private Duration threshold = Duration.ofMillis(50);
+
+    private int capacity = 100;
+}
@@ -0,0 +1,30 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Hands Hibernate an observing view of the application DataSource. Only statements issued through JPA are
+ * observed; the DataSource bean itself stays untouched for everything else.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SqlDiagnosticsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementObservingCustomizer(DataSource dataSource,
+                                                                      ObjectProvider<SqlStatementListener> listeners) {
+        return properties -> {
+            List<SqlStatementListener> statementListeners = listeners.orderedStream().toList();
+            if (!statementListeners.isEmpty()) {
+                properties.put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE,
+                        new StatementObservingDataSource(dataSource, statementListeners));
+            }
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+@FunctionalInterface
+public interface SqlStatementListener {
+
+    void onStatement(StatementExecution execution);
+}
@@ -0,0 +1,13 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One executed JDBC statement. {@code rowCount} is the number of rows read for queries and the update count for
+ * DML; {@code caller} is the innermost application method that issued it, e.g. {@code BookServiceImpl.getBooks}.
+ * A JDBC batch is one execution with {@code batchSize} parameter sets, of which {@code parameters} holds the first.
+ */
+public record StatementExecution(String sql, List<Object> parameters, int batchSize, long durationNanos,
+                                 long rowCount, String caller, Instant executedAt) {
+}
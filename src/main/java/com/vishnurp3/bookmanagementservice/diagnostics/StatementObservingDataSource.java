@@ -0,0 +1,228 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Wraps connections so that every executed statement, with its bind parameters, execution time, row count and
+ * calling application method, is reported to the registered {@link SqlStatementListener}s. Query results are
+ * reported once their result set is closed, when the number of rows read is known.
+ */
+public class StatementObservingDataSource extends DelegatingDataSource {
+
+    private static final String APPLICATION_PACKAGE = "com.vishnurp3.bookmanagementservice.";
+    private static final String OWN_PACKAGE = StatementObservingDataSource.class.getPackageName() + ".";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final List<SqlStatementListener> listeners;
+
+    public StatementObservingDataSource(DataSource target, List<SqlStatementListener> listeners) {
+        super(target);
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return observe(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return observe(super.getConnection(username, password));
+    }
+
+    private Connection observe(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return proxy(type, statement, new StatementHandler(statement, sql));
+            }
+            return result;
+        });
+    }
+
+    private void report(String sql, List<Object> parameters, int batchSize, long durationNanos, long rowCount,
+                        String caller) {
+        StatementExecution execution = new StatementExecution(sql, parameters, batchSize, durationNanos, rowCount,
+                caller, Instant.now());
+        for (SqlStatementListener listener : listeners) {
+            listener.onStatement(execution);
+        }
+    }
+
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(OWN_PACKAGE))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+                .orElse(null));
+    }
+
+    private static String simpleName(String className) {
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        int proxySuffix = simpleName.indexOf("$$");
+        return proxySuffix > 0 ? simpleName.substring(0, proxySuffix) : simpleName;
+    }
+
+    private static String methodName(String methodName) {
+        // lambda$getBookById$0 -> getBookById
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', 7);
+            return end > 7 ? methodName.substring(7, end) : methodName;
+        }
+        return methodName;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementObservingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final SortedMap<Integer, Object> parameters = new TreeMap<>();
+        private String sql;
+        private List<Object> batchParameters;
+        private int batchSize;
+        private PendingQuery pendingQuery;
+
+        private StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+                return StatementObservingDataSource.invoke(statement, method, args);
+            }
+            switch (name) {
+                case "clearParameters" -> parameters.clear();
+                case "addBatch" -> {
+                    if (batchParameters == null) {
+                        batchParameters = new ArrayList<>(parameters.values());
+                    }
+                    batchSize++;
+                }
+                case "clearBatch" -> clearBatch();
+                case "close" -> completePendingQuery();
+                default -> {
+                    if (name.startsWith("execute")) {
+                        return execute(method, args);
+                    }
+                }
+            }
+            Object result = StatementObservingDataSource.invoke(statement, method, args);
+            if (name.equals("getResultSet") && result instanceof ResultSet resultSet && pendingQuery != null) {
+                return pendingQuery.observe(resultSet);
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            completePendingQuery();
+            if (args != null && args.length > 0 && args[0] instanceof String statementSql) {
+                sql = statementSql;
+            }
+            String caller = caller();
+            List<Object> boundParameters = batchParameters != null ? batchParameters : new ArrayList<>(parameters.values());
+            long started = System.nanoTime();
+            Object result = StatementObservingDataSource.invoke(statement, method, args);
+            long duration = System.nanoTime() - started;
+
+            if (result instanceof ResultSet resultSet) {
+                pendingQuery = new PendingQuery(sql, boundParameters, duration, caller);
+                return pendingQuery.observe(resultSet);
+            }
+            if (result instanceof Boolean hasResultSet) {
+                if (hasResultSet) {
+                    pendingQuery = new PendingQuery(sql, boundParameters, duration, caller);
+                } else {
+                    report(sql, boundParameters, 1, duration, statement.getUpdateCount(), caller);
+                }
+            } else if (result instanceof Number updateCount) {
+                report(sql, boundParameters, 1, duration, updateCount.longValue(), caller);
+            } else if (result instanceof int[] updateCounts) {
+                report(sql, boundParameters, batchSize, duration,
+                        Arrays.stream(updateCounts).filter(count -> count > 0).sum(), caller);
+                clearBatch();
+            } else if (result instanceof long[] updateCounts) {
+                report(sql, boundParameters, batchSize, duration,
+                        Arrays.stream(updateCounts).filter(count -> count > 0).sum(), caller);
+                clearBatch();
+            }
+            return result;
+        }
+
+        private void clearBatch() {
+            batchParameters = null;
+            batchSize = 0;
+        }
+
+        private void completePendingQuery() {
+            if (pendingQuery != null) {
+                pendingQuery.complete();
+                pendingQuery = null;
+            }
+        }
+    }
+
+    private final class PendingQuery {
+
+        private final String sql;
+        private final List<Object> parameters;
+        private final long durationNanos;
+        private final String caller;
+        private long rows;
+        private boolean completed;
+
+        private PendingQuery(String sql, List<Object> parameters, long durationNanos, String caller) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.durationNanos = durationNanos;
+            this.caller = caller;
+        }
+
+        private ResultSet observe(ResultSet resultSet) {
+            return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+                Object result = invoke(resultSet, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else if (method.getName().equals("close")) {
+                    complete();
+                }
+                return result;
+            });
+        }
+
+        private void complete() {
+            if (!completed) {
+                completed = true;
+                report(sql, parameters, 1, durationNanos, rows, caller);
+            }
+        }
+    }
+}
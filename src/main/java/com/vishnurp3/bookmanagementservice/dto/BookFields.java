@@ -0,0 +1,56 @@
+package com.vishnurp3.bookmanagementservice.dto;
+
+import com.vishnurp3.bookmanagementservice.exception.InvalidFieldsException;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+
+/**
+ * The subset of {@link BookResponseDto} properties a client asked for with {@code ?fields=}, in request order.
+ */
+public record BookFields(List<String> names) {
+
+    public static final List<String> ALL = List.of("id", "title", "author", "isbn", "publicationDate", "category",
+            "description", "publisher", "price", "createdAt", "updatedAt");
+
+    public BookFields {
+        names = List.copyOf(names);
+    }
+
+    /**
+     * Parses a comma-separated list of property names; returns {@code null} for a blank list, meaning every field.
+     */
+    public static BookFields parse(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!ALL.contains(trimmed)) {
+                throw new InvalidFieldsException("Unknown field '" + trimmed + "', expected any of " + ALL);
+            }
+            names.add(trimmed);
+        }
+        return new BookFields(new ArrayList<>(names));
+    }
+
+    /**
+     * These fields plus any others the caller needs internally, e.g. to merge sorted pages.
+     */
+    public BookFields including(Collection<String> others) {
+        Set<String> union = new LinkedHashSet<>(names);
+        others.stream().filter(ALL::contains).forEach(union::add);
+        return new BookFields(new ArrayList<>(union));
+    }
+
+    public Map<String, Object> select(BookResponseDto book) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(book);
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String name : names) {
+            values.put(name, wrapper.getPropertyValue(name));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,50 @@
+package com.vishnurp3.bookmanagementservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Data;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Selects the books a bulk operation applies to. Text fields match case-insensitively on a substring, as in the book listing; ranges are inclusive.")
+@Data
+public class BookFilterDto {
+
+    @Schema(description = "Filter books by title", example = "Effective Java")
+    private String title;
+
+    @Schema(description = "Filter books by author", example = "Joshua Bloch")
+    private String author;
+
+    @Schema(description = "Filter books by category (exact match, case-insensitive)", example = "Programming")
+    private String category;
+
+    @Schema(description = "Filter books by ISBN", example = "9780134685991")
+    private String isbn;
+
+    @Schema(description = "Filter books by publisher", example = "Addison-Wesley")
+    private String publisher;
+
+    @Schema(description = "Lowest price to include", example = "10.00")
+    private BigDecimal minPrice;
+
+    @Schema(description = "Highest price to include", example = "50.00")
+    private BigDecimal maxPrice;
+
+    @Schema(description = "Earliest publication date to include", example = "2000-01-01")
+    private LocalDate publishedFrom;
+
+    @Schema(description = "Latest publication date to include", example = "2020-12-31")
+    private LocalDate publishedTo;
+
+    @JsonIgnore
+    @AssertTrue(message = "At least one filter criterion is required")
+    public boolean isRestrictive() {
+        return StringUtils.hasText(title) || StringUtils.hasText(author) || StringUtils.hasText(category)
+                || StringUtils.hasText(isbn) || StringUtils.hasText(publisher) || minPrice != null || maxPrice != null
+                || publishedFrom != null || publishedTo != null;
+    }
+}
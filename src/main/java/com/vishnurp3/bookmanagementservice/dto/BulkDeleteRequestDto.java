@@ -0,0 +1,30 @@
+package com.vishnurp3.bookmanagementservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Schema(description = "Data transfer object for deleting books by ID or by filter; exactly one of the two is required")
+@Data
+public class BulkDeleteRequestDto {
+
+    @Size(max = 10000, message = "At most 10000 IDs can be deleted per request")
+    @Schema(description = "IDs of the books to delete", example = "[1, 2, 3]")
+    private List<@NotNull Long> ids;
+
+    @Valid
+    @Schema(description = "Deletes every book matching the filter")
+    private BookFilterDto filter;
+
+    @JsonIgnore
+    @AssertTrue(message = "Either ids or filter is required, but not both")
+    public boolean isSelectionValid() {
+        return (ids == null) != (filter == null);
+    }
+}
@@ -0,0 +1,47 @@
+package com.vishnurp3.bookmanagementservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+
+@Schema(description = "The change applied to every matching book")
+@Data
+public class BulkUpdateOperationDto {
+
+    @NotNull(message = "Operation type is required")
+    @Schema(description = "The kind of change", example = "MULTIPLY_PRICE")
+    private Type type;
+
+    @Schema(description = "The new category or publisher, for SET_CATEGORY and SET_PUBLISHER", example = "Software Engineering")
+    private String value;
+
+    @Digits(integer = 10, fraction = 4)
+    @Schema(description = "The price factor for MULTIPLY_PRICE, or the amount added for ADD_PRICE", example = "0.9")
+    private BigDecimal amount;
+
+    @JsonIgnore
+    @AssertTrue(message = "SET_CATEGORY and SET_PUBLISHER require a value; MULTIPLY_PRICE requires a positive amount; ADD_PRICE requires an amount")
+    public boolean isArgumentValid() {
+        if (type == null) {
+            return true;
+        }
+        return switch (type) {
+            case SET_CATEGORY, SET_PUBLISHER -> StringUtils.hasText(value);
+            case MULTIPLY_PRICE -> amount != null && amount.signum() > 0;
+            case ADD_PRICE -> amount != null;
+        };
+    }
+
+    public enum Type {
+        SET_CATEGORY,
+        SET_PUBLISHER,
+        MULTIPLY_PRICE,
+        ADD_PRICE
+    }
+}
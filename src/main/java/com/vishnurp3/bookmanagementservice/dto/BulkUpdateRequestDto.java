@@ -0,0 +1,21 @@
+package com.vishnurp3.bookmanagementservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Schema(description = "Data transfer object for changing every book that matches a filter at once")
+@Data
+public class BulkUpdateRequestDto {
+
+    @Valid
+    @NotNull(message = "Filter is required")
+    @Schema(description = "The books to change")
+    private BookFilterDto filter;
+
+    @Valid
+    @NotNull(message = "Operation is required")
+    @Schema(description = "The change to apply")
+    private BulkUpdateOperationDto operation;
+}
@@ -0,0 +1,16 @@
+package com.vishnurp3.bookmanagementservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Result of a bulk operation")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResponseDto {
+
+    @Schema(description = "Number of books changed", example = "42")
+    private long affectedCount;
+}
@@ -0,0 +1,28 @@
+package com.vishnurp3.bookmanagementservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "A book currently being read, ranked by recent views")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingBookDto {
+
+    @Schema(description = "Unique identifier of the book", example = "1")
+    private Long id;
+
+    @Schema(description = "Title of the book", example = "Effective Java")
+    private String title;
+
+    @Schema(description = "Author of the book", example = "Joshua Bloch")
+    private String author;
+
+    @Schema(description = "Views weighted by recency, halving every configured half-life", example = "128.5")
+    private double score;
+
+    @Schema(description = "Views counted since the book was added, as of the last flush", example = "10432")
+    private long totalViews;
+}
@@ -1,18 +1,28 @@
 package com.vishnurp3.bookmanagementservice.entity;
 
+import com.vishnurp3.bookmanagementservice.lookup.BookLookupListener;
+import com.vishnurp3.bookmanagementservice.lookup.CategoryConverter;
+import com.vishnurp3.bookmanagementservice.lookup.PublisherConverter;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SoftDelete;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+/**
+ * Deleting a book only sets its {@code deleted} flag; Hibernate hides flagged rows from every load and query.
+ * {@link com.vishnurp3.bookmanagementservice.purge.TombstonePurger} removes them physically later.
+ * <p>
+ * Category and publisher are stored as ids into the {@code categories} and {@code publishers} lookup tables but
+ * exposed as names; the read-only {@code categoryRef} and {@code publisherRef} associations exist for sorting by name.
+ */
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = @Index(name = "idx_books_category_id", columnList = "category_id"))
+@SoftDelete
+@EntityListeners(BookLookupListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,13 +44,29 @@ public class Book {
 
     private LocalDate publicationDate;
 
+    @Convert(converter = CategoryConverter.class)
+    @Column(name = "category_id")
     private String category;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Category categoryRef;
+
     @Lob
     private String description;
 
+    @Convert(converter = PublisherConverter.class)
+    @Column(name = "publisher_id")
     private String publisher;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "publisher_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Publisher publisherRef;
+
     @Column(precision = 12, scale = 2)
     private BigDecimal price;
 
@@ -0,0 +1,32 @@
+package com.vishnurp3.bookmanagementservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed change to the catalog, appended by the instance that made it and read by every other instance to
+ * evict what it has cached; written and read only by {@link com.vishnurp3.bookmanagementservice.coherence.BookChangeLog}.
+ * A {@code null} book id stands for a change to any number of books.
+ */
+@Entity
+@Table(name = "book_invalidations", indexes = @Index(name = "idx_book_invalidations_created_at", columnList = "created_at"))
+@Getter
+@NoArgsConstructor
+public class BookInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(name = "node_id", nullable = false, length = 36)
+    private String nodeId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.vishnurp3.bookmanagementservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * All-time views of a book, written only by {@link com.vishnurp3.bookmanagementservice.popularity.BookPopularity}
+ * in batched increments.
+ */
+@Entity
+@Table(name = "book_views")
+@Getter
+@NoArgsConstructor
+public class BookViewCount {
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(nullable = false)
+    private long viewCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,22 @@
+package com.vishnurp3.bookmanagementservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of a small name lookup table referenced by books through an integer key. Rows are only ever inserted,
+ * never renamed or removed, so a cached id stays valid for the lifetime of the application.
+ */
+@MappedSuperclass
+@Getter
+@NoArgsConstructor
+public abstract class LookupValue {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+}
@@ -0,0 +1,11 @@
+package com.vishnurp3.bookmanagementservice.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+@Entity
+@Immutable
+@Table(name = "publishers")
+public class Publisher extends LookupValue {
+}
@@ -0,0 +1,42 @@
+package com.vishnurp3.bookmanagementservice.event;
+
+import com.vishnurp3.bookmanagementservice.entity.Book;
+
+public record BookChangedEvent(ChangeType changeType, Long bookId, Book book) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        BULK_UPDATED,
+        INVALIDATED
+    }
+
+    public static BookChangedEvent created(Book book) {
+        return new BookChangedEvent(ChangeType.CREATED, book.getId(), book);
+    }
+
+    public static BookChangedEvent updated(Book book) {
+        return new BookChangedEvent(ChangeType.UPDATED, book.getId(), book);
+    }
+
+    public static BookChangedEvent deleted(Long bookId) {
+        return new BookChangedEvent(ChangeType.DELETED, bookId, null);
+    }
+
+    /**
+     * Any number of books changed in a single statement; {@code bookId} and {@code book} are {@code null}.
+     * Bulk updates never touch title, author or ISBN.
+     */
+    public static BookChangedEvent bulkUpdated() {
+        return new BookChangedEvent(ChangeType.BULK_UPDATED, null, null);
+    }
+
+    /**
+     * Another instance changed the book, or any number of books if {@code bookId} is {@code null}; {@code book} is
+     * {@code null} and whatever this instance holds for it has to be read again.
+     */
+    public static BookChangedEvent invalidated(Long bookId) {
+        return new BookChangedEvent(ChangeType.INVALIDATED, bookId, null);
+    }
+}
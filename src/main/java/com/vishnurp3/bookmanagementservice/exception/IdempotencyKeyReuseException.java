@@ -0,0 +1,8 @@
+package com.vishnurp3.bookmanagementservice.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
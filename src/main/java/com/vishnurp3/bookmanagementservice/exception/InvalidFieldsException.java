@@ -0,0 +1,8 @@
+package com.vishnurp3.bookmanagementservice.exception;
+
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.vishnurp3.bookmanagementservice.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * {@code POST /actuator/catalogexport} exports the catalog and returns the manifest; {@code format} and
+ * {@code partitions} override the configured defaults.
+ */
+@Component
+@WebEndpoint(id = "catalogexport")
+@RequiredArgsConstructor
+public class CatalogExportEndpoint {
+
+    private final CatalogExporter catalogExporter;
+    private final CatalogExportProperties properties;
+
+    @WriteOperation
+    public CatalogExporter.ExportResult export(@Nullable ExportFormat format, @Nullable Integer partitions)
+            throws IOException {
+        return catalogExporter.export(format != null ? format : properties.getFormat(),
+                partitions != null ? partitions : properties.getPartitions());
+    }
+}
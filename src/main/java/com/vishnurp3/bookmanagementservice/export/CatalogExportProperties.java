@@ -0,0 +1,36 @@
+package com.vishnurp3.bookmanagementservice.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "books.export")
+public class CatalogExportProperties {
+
+    /**
+     * Each export is written to a timestamped directory below this one.
+     */
+    private Path outputDirectory = Path.of("data", "exports");
+
+    private ExportFormat format = ExportFormat.NDJSON;
+
+    /**
+     * Id ranges the {@code books} table is split into, per shard; each becomes one file.
+     */
+    private int partitions = 8;
+
+    /**
+     * Partitions read at once, each holding a pooled connection for its whole duration; keep it below the pool size
+     * to leave connections for request traffic.
+     */
+    private int workers = 4;
+
+    private int chunkSize = 5000;
+
+    /**
+     * Cron expression for a scheduled export, or {@code -} for none.
+     */
+    private String cron = "-";
+}
@@ -0,0 +1,229 @@
+package com.vishnurp3.bookmanagementservice.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnurp3.bookmanagementservice.sharding.ShardRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the catalog to gzip-compressed files, one per id range. Each shard's id range is split into equal
+ * partitions which are read concurrently, each on its own connection with keyset-paginated chunk queries, and the
+ * files' SHA-256 checksums are listed in a {@code manifest.json} written once all of them are complete.
+ */
+@Slf4j
+@Service
+public class CatalogExporter {
+
+    static final List<String> FIELDS = List.of("id", "title", "author", "isbn", "publicationDate", "category",
+            "publisher", "description", "price", "createdAt", "updatedAt");
+
+    private static final String CHUNK_SQL = """
+            SELECT b.id, b.title, b.author, b.isbn, b.publication_date, c.name, p.name, b.description, b.price,
+                   b.created_at, b.updated_at
+            FROM books b
+            LEFT JOIN categories c ON c.id = b.category_id
+            LEFT JOIN publishers p ON p.id = b.publisher_id
+            WHERE b.deleted = FALSE AND b.id > ? AND b.id <= ?
+            ORDER BY b.id
+            LIMIT ?""";
+    private static final DateTimeFormatter DIRECTORY_FORMAT =
+            DateTimeFormatter.ofPattern("'catalog-'yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<JdbcTemplate> shards;
+    private final CatalogExportProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public CatalogExporter(DataSource dataSource, CatalogExportProperties properties, ObjectMapper objectMapper) {
+        List<DataSource> dataSources = dataSource instanceof ShardRoutingDataSource routing
+                ? routing.getShards()
+                : List.of(dataSource);
+        this.shards = dataSources.stream().map(JdbcTemplate::new).toList();
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Scheduled(cron = "${books.export.cron:-}")
+    public void exportScheduled() throws IOException {
+        export(properties.getFormat(), properties.getPartitions());
+    }
+
+    public ExportResult export(ExportFormat format, int partitionsPerShard) throws IOException {
+        if (partitionsPerShard < 1) {
+            throw new IllegalArgumentException("At least one partition is required");
+        }
+        Instant started = Instant.now();
+        Path directory = properties.getOutputDirectory().resolve(DIRECTORY_FORMAT.format(started));
+        Files.createDirectories(directory);
+
+        List<Range> ranges = plan(partitionsPerShard);
+        ExecutorService workers = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(properties.getWorkers(), ranges.size())),
+                new CustomizableThreadFactory("catalog-export-"));
+        List<Future<ExportManifest.Partition>> futures = new ArrayList<>();
+        try {
+            for (Range range : ranges) {
+                futures.add(workers.submit(() -> write(range, format, directory)));
+            }
+            List<ExportManifest.Partition> partitions = new ArrayList<>();
+            for (Future<ExportManifest.Partition> future : futures) {
+                partitions.add(future.get());
+            }
+            long totalRows = partitions.stream().mapToLong(ExportManifest.Partition::rows).sum();
+            ExportManifest manifest = new ExportManifest(started, format, "gzip", FIELDS, totalRows,
+                    Duration.between(started, Instant.now()).toMillis(), partitions);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(directory.resolve("manifest.json").toFile(), manifest);
+            log.info("Exported {} books to {} partitions in {} in {} ms", totalRows, partitions.size(), directory,
+                    manifest.durationMillis());
+            return new ExportResult(directory.toString(), manifest);
+        } catch (Exception e) {
+            futures.forEach(future -> future.cancel(true));
+            FileSystemUtils.deleteRecursively(directory);
+            throw failure(e);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private List<Range> plan(int partitionsPerShard) {
+        List<Range> ranges = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Map<String, Object> bounds = shards.get(shard).queryForMap(
+                    "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM books WHERE deleted = FALSE");
+            if (bounds.get("min_id") == null) {
+                continue;
+            }
+            long min = ((Number) bounds.get("min_id")).longValue();
+            long max = ((Number) bounds.get("max_id")).longValue();
+            long width = Math.max(1, (max - min + partitionsPerShard) / partitionsPerShard);
+            for (long from = min; from <= max; from += width) {
+                ranges.add(new Range(ranges.size(), shard, from, Math.min(max, from + width - 1)));
+            }
+        }
+        return ranges;
+    }
+
+    private ExportManifest.Partition write(Range range, ExportFormat format, Path directory) throws IOException {
+        String fileName = format.fileName(range.index());
+        Path file = directory.resolve(fileName);
+        MessageDigest digest = sha256();
+        long rows;
+        try (OutputStream out = new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE), digest);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(out, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            PartitionWriter partitionWriter = format.open(writer, FIELDS, objectMapper);
+            // One connection for the whole partition instead of one borrowed per chunk.
+            rows = shards.get(range.shard()).execute((ConnectionCallback<Long>) connection ->
+                    copy(connection, range, partitionWriter));
+            partitionWriter.finish();
+        }
+        return new ExportManifest.Partition(fileName, range.shard(), range.fromId(), range.toId(), rows,
+                Files.size(file), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private long copy(Connection connection, Range range, PartitionWriter writer) throws SQLException {
+        int chunkSize = properties.getChunkSize();
+        long lastId = range.fromId() - 1;
+        long rows = 0;
+        try (PreparedStatement select = connection.prepareStatement(CHUNK_SQL)) {
+            select.setLong(2, range.toId());
+            select.setInt(3, chunkSize);
+            int fetched;
+            do {
+                select.setLong(1, lastId);
+                fetched = 0;
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastId = resultSet.getLong(1);
+                        writer.write(row(resultSet));
+                        fetched++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows += fetched;
+            } while (fetched == chunkSize && !Thread.currentThread().isInterrupted());
+        }
+        return rows;
+    }
+
+    private static Object[] row(ResultSet resultSet) throws SQLException {
+        return new Object[]{
+                resultSet.getLong(1),
+                resultSet.getString(2),
+                resultSet.getString(3),
+                resultSet.getString(4),
+                resultSet.getObject(5, LocalDate.class),
+                resultSet.getString(6),
+                resultSet.getString(7),
+                resultSet.getString(8),
+                resultSet.getBigDecimal(9),
+                resultSet.getObject(10, LocalDate.class),
+                resultSet.getObject(11, LocalDate.class)
+        };
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static IOException failure(Exception e) {
+        Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+        if (cause instanceof UncheckedIOException unchecked) {
+            cause = unchecked.getCause();
+        }
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        return new IOException("Catalog export failed", cause);
+    }
+
+    public record ExportResult(String directory, ExportManifest manifest) {
+    }
+
+    private record Range(int index, int shard, long fromId, long toId) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.vishnurp3.bookmanagementservice.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with a header row; values containing a separator, quote or line break are quoted.
+ */
+class CsvPartitionWriter implements PartitionWriter {
+
+    private final Writer writer;
+
+    CsvPartitionWriter(Writer writer, List<String> fields) throws IOException {
+        this.writer = writer;
+        write(fields.toArray());
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeValue(values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeValue(String value) throws IOException {
+        boolean quoted = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,35 @@
+package com.vishnurp3.bookmanagementservice.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+public enum ExportFormat {
+
+    NDJSON("ndjson") {
+        @Override
+        PartitionWriter open(Writer writer, List<String> fields, ObjectMapper objectMapper) throws IOException {
+            return new NdjsonPartitionWriter(writer, fields, objectMapper);
+        }
+    },
+    CSV("csv") {
+        @Override
+        PartitionWriter open(Writer writer, List<String> fields, ObjectMapper objectMapper) throws IOException {
+            return new CsvPartitionWriter(writer, fields);
+        }
+    };
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String fileName(int partition) {
+        return "books-%05d.%s.gz".formatted(partition, extension);
+    }
+
+    abstract PartitionWriter open(Writer writer, List<String> fields, ObjectMapper objectMapper) throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.vishnurp3.bookmanagementservice.export;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Written as {@code manifest.json} once every partition file is complete, so an export without one is unfinished.
+ */
+public record ExportManifest(Instant exportedAt, ExportFormat format, String compression, List<String> fields,
+                             long totalRows, long durationMillis, List<Partition> partitions) {
+
+    public record Partition(String file, int shard, long fromId, long toId, long rows, long bytes, String sha256) {
+    }
+}
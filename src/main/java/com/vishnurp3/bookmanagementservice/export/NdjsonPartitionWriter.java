@@ -0,0 +1,43 @@
+package com.vishnurp3.bookmanagementservice.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+class NdjsonPartitionWriter implements PartitionWriter {
+
+    private final JsonGenerator generator;
+    private final List<String> fields;
+
+    NdjsonPartitionWriter(Writer writer, List<String> fields, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(writer);
+        this.generator.setRootValueSeparator(null);
+        this.fields = fields;
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(fields.get(i));
+            Object value = values[i];
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Number || value instanceof Boolean) {
+                generator.writeObject(value);
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,13 @@
+package com.vishnurp3.bookmanagementservice.export;
+
+import java.io.IOException;
+
+/**
+ * Writes the rows of one export partition, one call per row with the values in field order.
+ */
+interface PartitionWriter {
+
+    void write(Object[] values) throws IOException;
+
+    void finish() throws IOException;
+}
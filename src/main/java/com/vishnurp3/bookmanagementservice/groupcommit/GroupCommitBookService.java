@@ -0,0 +1,272 @@
+package com.vishnurp3.bookmanagementservice.groupcommit;
+
+import com.vishnurp3.bookmanagementservice.count.CountStrategy;
+import com.vishnurp3.bookmanagementservice.dto.BookFields;
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateResponseDto;
+import com.vishnurp3.bookmanagementservice.exception.DuplicateResourceException;
+import com.vishnurp3.bookmanagementservice.exception.ResourceNotFoundException;
+import com.vishnurp3.bookmanagementservice.exception.ServiceUnavailableException;
+import com.vishnurp3.bookmanagementservice.lookup.BookLookups;
+import com.vishnurp3.bookmanagementservice.service.BookService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Funnels concurrent creates and updates through a single writer thread that applies each batch of them in one
+ * transaction, so a burst of writes shares one commit (and one log flush on MySQL) instead of paying for one each.
+ * Every caller blocks until its batch commits and gets back its own result or exception.
+ * <p>
+ * A duplicate ISBN or a missing book is detected before anything is written and fails only that caller. Any other
+ * failure rolls the whole batch back, after which its writes are retried one by one in transactions of their own.
+ * Reads and deletes go straight to the delegate. Not combined with sharding, where writes go to different databases.
+ */
+@Slf4j
+@Service
+@Primary
+@ConditionalOnExpression("${books.group-commit.enabled:false} and !${books.sharding.enabled:false}")
+public class GroupCommitBookService implements BookService, DisposableBean {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BookService delegate;
+    private final GroupCommitProperties properties;
+    private final BookLookups lookups;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingWrite<?>> queue;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public GroupCommitBookService(@Qualifier("bookServiceImpl") BookService delegate,
+                                  GroupCommitProperties properties,
+                                  BookLookups lookups,
+                                  PlatformTransactionManager transactionManager) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.lookups = lookups;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+        this.writer = new Thread(this::writeBatches, "book-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public BookResponseDto createBook(BookRequestDto bookRequestDto) {
+        // Registered on the caller's thread, before the batch transaction holds a connection.
+        lookups.register(bookRequestDto.getCategory(), bookRequestDto.getPublisher());
+        return submit(service -> service.createBook(bookRequestDto));
+    }
+
+    @Override
+    public BookResponseDto updateBook(Long id, BookRequestDto bookRequestDto) {
+        lookups.register(bookRequestDto.getCategory(), bookRequestDto.getPublisher());
+        return submit(service -> service.updateBook(id, bookRequestDto));
+    }
+
+    @Override
+    public BookResponseDto getBookById(Long id) {
+        return delegate.getBookById(id);
+    }
+
+    @Override
+    public List<BookResponseDto> getBooksByIds(List<Long> ids) {
+        return delegate.getBooksByIds(ids);
+    }
+
+    @Override
+    public void deleteBook(Long id) {
+        delegate.deleteBook(id);
+    }
+
+    @Override
+    public Page<BookResponseDto> getBooks(String title, String author, String category, String isbn, Pageable pageable) {
+        return delegate.getBooks(title, author, category, isbn, pageable);
+    }
+
+    @Override
+    public Page<BookResponseDto> getBooks(String title, String author, String category, String isbn,
+                                          Pageable pageable, CountStrategy countStrategy) {
+        return delegate.getBooks(title, author, category, isbn, pageable, countStrategy);
+    }
+
+    @Override
+    public CountStrategy appliedCountStrategy(String title, String author, String category, String isbn,
+                                              CountStrategy countStrategy) {
+        return delegate.appliedCountStrategy(title, author, category, isbn, countStrategy);
+    }
+
+    @Override
+    public Map<String, Object> getSparseBook(Long id, BookFields fields) {
+        return delegate.getSparseBook(id, fields);
+    }
+
+    @Override
+    public Page<Map<String, Object>> getSparseBooks(String title, String author, String category, String isbn,
+                                                    BookFields fields, Pageable pageable) {
+        return delegate.getSparseBooks(title, author, category, isbn, fields, pageable);
+    }
+
+    @Override
+    public Page<BookResponseDto> searchBooks(String title, String author, String category, String isbn, Pageable pageable) {
+        return delegate.searchBooks(title, author, category, isbn, pageable);
+    }
+
+    @Override
+    public BulkUpdateResponseDto bulkUpdate(BulkUpdateRequestDto bulkUpdateRequestDto) {
+        return delegate.bulkUpdate(bulkUpdateRequestDto);
+    }
+
+    @Override
+    public BulkDeleteResponseDto bulkDelete(BulkDeleteRequestDto bulkDeleteRequestDto) {
+        return delegate.bulkDelete(bulkDeleteRequestDto);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join();
+    }
+
+    int queuedWrites() {
+        return queue.size();
+    }
+
+    private <T> T submit(Function<BookService, T> write) {
+        PendingWrite<T> pending = new PendingWrite<>(write);
+        if (!running || !queue.offer(pending)) {
+            return write.apply(delegate);
+        }
+        try {
+            return pending.result.get(properties.getCommitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Write not committed by the group commit writer within {}", properties.getCommitTimeout());
+            throw new ServiceUnavailableException("The write was not committed in time", properties.getCommitTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private void writeBatches() {
+        List<PendingWrite<?>> batch = new ArrayList<>(properties.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite<?> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+                return;
+            } catch (Throwable e) {
+                // Fails this batch only; the writer stays alive for the writes queued behind it.
+                log.error("Group commit of {} writes failed", batch.size(), e);
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingWrite<?>> batch) throws InterruptedException {
+        queue.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+        long deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+        while (batch.size() < properties.getMaxBatchSize()) {
+            long remaining = deadline - System.nanoTime();
+            PendingWrite<?> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+        }
+    }
+
+    private void commit(List<PendingWrite<?>> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(PendingWrite::applyShared));
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} writes failed; retrying them one by one", batch.size(), e);
+            batch.forEach(PendingWrite::applyAlone);
+        }
+        batch.forEach(PendingWrite::complete);
+    }
+
+    private final class PendingWrite<T> {
+
+        private final Function<BookService, T> write;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+        private RuntimeException failure;
+
+        private PendingWrite(Function<BookService, T> write) {
+            this.write = write;
+        }
+
+        private void applyShared() {
+            try {
+                value = write.apply(delegate);
+                failure = null;
+            } catch (DuplicateResourceException | ResourceNotFoundException e) {
+                // Thrown before anything is written, so the shared transaction stays usable.
+                failure = e;
+            }
+        }
+
+        private void applyAlone() {
+            try {
+                value = write.apply(delegate);
+                failure = null;
+            } catch (RuntimeException e) {
+                value = null;
+                failure = e;
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
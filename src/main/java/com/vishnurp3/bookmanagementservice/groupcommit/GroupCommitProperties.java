@@ -0,0 +1,31 @@
+package com.vishnurp3.bookmanagementservice.groupcommit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.group-commit")
+public class GroupCommitProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * How long the writer waits for further writes to join a batch once it holds one; zero commits whatever has
+     * queued up while the previous batch was committing.
+     */
+    private Duration maxWait = Duration.ofMillis(2);
+
+    private int maxBatchSize = 100;
+
+    /**
+     * Writes waiting for the writer; once full, callers write in a transaction of their own instead.
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * How long a caller waits for its write to commit before failing with 503. The write may still be applied later.
+     */
+    private Duration commitTimeout = Duration.ofSeconds(30);
+}
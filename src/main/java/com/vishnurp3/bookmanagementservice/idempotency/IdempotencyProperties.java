@@ -0,0 +1,20 @@
+package com.vishnurp3.bookmanagementservice.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a response is replayed for retries carrying the same key.
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    private long maximumSize = 10_000;
+}
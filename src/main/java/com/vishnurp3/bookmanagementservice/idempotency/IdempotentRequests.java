@@ -0,0 +1,70 @@
+package com.vishnurp3.bookmanagementservice.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vishnurp3.bookmanagementservice.exception.IdempotencyKeyReuseException;
+import com.vishnurp3.bookmanagementservice.support.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response to each {@code Idempotency-Key} so retries are answered from memory. Concurrent requests
+ * with the same key wait for the first one and share its outcome; a failed request is not remembered, so its retry
+ * runs again. Reusing a key for a different request is rejected.
+ */
+@Component
+public class IdempotentRequests {
+
+    private final IdempotencyProperties properties;
+    private final Cache<String, Outcome> outcomes;
+    private final SingleFlight<String, Outcome> inFlight = new SingleFlight<>();
+
+    public IdempotentRequests(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.outcomes = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, outcomes, "books.idempotency");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String key, Object request, Supplier<T> action) {
+        if (!properties.isEnabled() || key == null || key.isBlank()) {
+            return new Result<>(action.get(), false);
+        }
+
+        Outcome outcome = outcomes.getIfPresent(key);
+        boolean replayed = true;
+        if (outcome == null) {
+            boolean[] leader = {false};
+            outcome = inFlight.execute(key, () -> {
+                Outcome stored = outcomes.getIfPresent(key);
+                if (stored != null) {
+                    return stored;
+                }
+                leader[0] = true;
+                Outcome completed = new Outcome(request, action.get());
+                outcomes.put(key, completed);
+                return completed;
+            });
+            replayed = !leader[0];
+        }
+
+        if (!Objects.equals(outcome.request(), request)) {
+            throw new IdempotencyKeyReuseException("Idempotency key " + key + " was already used for a different request");
+        }
+        return new Result<>((T) outcome.response(), replayed);
+    }
+
+    public record Result<T>(T response, boolean replayed) {
+    }
+
+    private record Outcome(Object request, Object response) {
+    }
+}
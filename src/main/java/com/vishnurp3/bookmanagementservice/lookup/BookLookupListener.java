@@ -0,0 +1,24 @@
+package com.vishnurp3.bookmanagementservice.lookup;
+
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registers a book's category and publisher before it is written, and replaces them with their canonical spelling
+ * so the response matches what later reads return. Services register both before opening the transaction, so here
+ * they are normally found in memory; registering one only now takes a second connection from the pool.
+ */
+@RequiredArgsConstructor
+public class BookLookupListener {
+
+    private final BookLookups lookups;
+
+    @PrePersist
+    @PreUpdate
+    void registerLookups(Book book) {
+        book.setCategory(lookups.categories().register(book.getCategory()));
+        book.setPublisher(lookups.publishers().register(book.getPublisher()));
+    }
+}
@@ -0,0 +1,92 @@
+package com.vishnurp3.bookmanagementservice.lookup;
+
+import com.vishnurp3.bookmanagementservice.dto.BookFilterDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateOperationDto;
+import com.vishnurp3.bookmanagementservice.sharding.ShardRoutingDataSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The category and publisher lookup tables books reference by id. When the catalog is sharded, the first shard
+ * assigns the ids and every other shard holds a copy of each row.
+ */
+@Component
+public class BookLookups {
+
+    private static final Map<String, String> NAME_SORT_PROPERTIES = Map.of(
+            "category", "categoryRef.name",
+            "publisher", "publisherRef.name");
+
+    private final LookupTable categories;
+    private final LookupTable publishers;
+
+    public BookLookups(DataSource dataSource, LookupProperties properties) {
+        List<DataSource> dataSources = dataSource instanceof ShardRoutingDataSource routing
+                ? routing.getShards()
+                : List.of(dataSource);
+        this.categories = new LookupTable("categories", dataSources, properties.getMissTtl());
+        this.publishers = new LookupTable("publishers", dataSources, properties.getMissTtl());
+    }
+
+    public LookupTable categories() {
+        return categories;
+    }
+
+    public LookupTable publishers() {
+        return publishers;
+    }
+
+    /**
+     * Registers the category and publisher a write is about to store. Called before the write opens its transaction,
+     * so {@link BookLookupListener} finds both held already.
+     */
+    public void register(String category, String publisher) {
+        categories.register(category);
+        publishers.register(publisher);
+    }
+
+    /**
+     * Registers the category or publisher a bulk update sets.
+     */
+    public void register(BulkUpdateOperationDto operation) {
+        switch (operation.getType()) {
+            case SET_CATEGORY -> categories.register(operation.getValue());
+            case SET_PUBLISHER -> publishers.register(operation.getValue());
+            case MULTIPLY_PRICE, ADD_PRICE -> {
+            }
+        }
+    }
+
+    /**
+     * Looks up the names a bulk filter refers to, before the statements using it open a transaction.
+     */
+    public void resolve(BookFilterDto filter) {
+        categories.resolve(filter.getCategory());
+        if (StringUtils.hasText(filter.getPublisher())) {
+            publishers.namesContaining(filter.getPublisher());
+        }
+    }
+
+    /**
+     * Rewrites sorting by category or publisher to sort by the looked-up name instead of the stored id.
+     */
+    public static Pageable sortingByName(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.stream().noneMatch(order -> NAME_SORT_PROPERTIES.containsKey(order.getProperty()))) {
+            return pageable;
+        }
+        Sort byName = Sort.by(sort.stream()
+                .map(order -> order.withProperty(NAME_SORT_PROPERTIES.getOrDefault(order.getProperty(), order.getProperty())))
+                .toList());
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), byName)
+                : Pageable.unpaged(byName);
+    }
+}
@@ -0,0 +1,11 @@
+package com.vishnurp3.bookmanagementservice.lookup;
+
+import jakarta.persistence.Converter;
+
+@Converter
+public class CategoryConverter extends LookupConverter {
+
+    public CategoryConverter(BookLookups lookups) {
+        super(lookups.categories());
+    }
+}
@@ -0,0 +1,27 @@
+package com.vishnurp3.bookmanagementservice.lookup;
+
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Stores a name attribute as the id of its lookup row. A name not held by the lookup table binds as
+ * {@link LookupTable#UNKNOWN_ID}, so filtering on it finds nothing; services resolve filter names before querying
+ * and {@link BookLookupListener} registers names before they are written.
+ */
+abstract class LookupConverter implements AttributeConverter<String, Integer> {
+
+    private final LookupTable table;
+
+    LookupConverter(LookupTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        return table.idOf(name);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return table.nameOf(id);
+    }
+}
@@ -0,0 +1,17 @@
+package com.vishnurp3.bookmanagementservice.lookup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.lookup")
+public class LookupProperties {
+
+    /**
+     * How long a name found neither here nor in the table is remembered as unknown, so filtering on it again does
+     * not query the table each time. A name another instance registers meanwhile is seen after at most this long.
+     */
+    private Duration missTtl = Duration.ofSeconds(10);
+}
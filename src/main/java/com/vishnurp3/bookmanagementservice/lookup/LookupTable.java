@@ -0,0 +1,252 @@
+package com.vishnurp3.bookmanagementservice.lookup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of a name lookup table. Names are matched case-insensitively and every book sharing a name shares
+ * the one canonical {@link String} held here, so loaded books do not each carry their own copy of the text.
+ * <p>
+ * The first data source is authoritative and assigns ids; the remaining ones (further shards) receive each row with
+ * the same id so their books can reference it. Statements run in short transactions of their own, which also return
+ * their connection to the pool straight away rather than when the caller's transaction ends: a registered name stays
+ * registered even if the transaction that needed it rolls back, so a cached id is never dangling.
+ * <p>
+ * Only {@link #resolve}, {@link #register} and {@link #namesContaining} query the table for names not held here.
+ * Services call them before opening a transaction, since doing so inside one would hold a second pooled connection
+ * while the first waits; {@link #idOf} then answers from memory alone.
+ */
+@Slf4j
+public class LookupTable {
+
+    /**
+     * Bound in place of a name that was never registered; no row has it, so a query filtering on it matches nothing.
+     */
+    public static final int UNKNOWN_ID = 0;
+
+    private final String table;
+    private final Database primary;
+    private final List<Database> replicas;
+
+    private final Map<String, Integer> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> misses;
+    private volatile boolean loaded;
+
+    public LookupTable(String table, List<DataSource> dataSources, Duration missTtl) {
+        this.table = table;
+        this.misses = Caffeine.newBuilder()
+                .expireAfterWrite(missTtl)
+                .maximumSize(10_000)
+                .build();
+        List<Database> databases = dataSources.stream().map(Database::new).toList();
+        this.primary = databases.get(0);
+        this.replicas = databases.subList(1, databases.size());
+    }
+
+    /**
+     * The id of a name held here, or {@link #UNKNOWN_ID}. Never queries the table once it is loaded.
+     */
+    public Integer idOf(String name) {
+        if (name == null) {
+            return null;
+        }
+        ensureLoaded();
+        return idsByKey.getOrDefault(keyOf(name), UNKNOWN_ID);
+    }
+
+    /**
+     * Returns the canonical spelling of a registered name, or {@code null}. A name not held here is looked up in the
+     * table, since another instance may have registered it since the table was loaded; a miss is remembered for a
+     * short while.
+     */
+    public String resolve(String name) {
+        if (name == null) {
+            return null;
+        }
+        ensureLoaded();
+        String key = keyOf(name);
+        Integer id = idsByKey.get(key);
+        if (id == null && misses.getIfPresent(key) == null) {
+            id = fetchIdByName(name);
+            if (id == null) {
+                misses.put(key, Boolean.TRUE);
+            }
+        }
+        return id == null ? null : namesById.get(id);
+    }
+
+    public String nameOf(Integer id) {
+        if (id == null || id == UNKNOWN_ID) {
+            return null;
+        }
+        ensureLoaded();
+        String name = namesById.get(id);
+        if (name != null) {
+            return name;
+        }
+        List<String> names = primary.call(jdbc ->
+                jdbc.queryForList("SELECT name FROM " + table + " WHERE id = ?", String.class, id));
+        if (names.isEmpty()) {
+            throw new IllegalStateException("No " + table + " row with id " + id);
+        }
+        return remember(id, names.get(0));
+    }
+
+    /**
+     * Returns the canonical spelling of the name, inserting it first if it is new.
+     */
+    public String register(String name) {
+        if (name == null) {
+            return null;
+        }
+        String registered = resolve(name);
+        if (registered != null) {
+            return registered;
+        }
+        Integer id;
+        try {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            primary.call(jdbc -> jdbc.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO " + table + " (name) VALUES (?)", Statement.RETURN_GENERATED_KEYS);
+                statement.setString(1, name);
+                return statement;
+            }, keyHolder));
+            id = Objects.requireNonNull(keyHolder.getKey()).intValue();
+            log.info("Registered {} '{}' with id {}", table, name, id);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent registration of the same name.
+            id = fetchIdByName(name);
+            if (id == null) {
+                throw e;
+            }
+            return namesById.get(id);
+        }
+        for (Database replica : replicas) {
+            replicate(replica, id, name);
+        }
+        return remember(id, name);
+    }
+
+    /**
+     * Canonical names containing the fragment, ignoring case. Reads the table itself, so it also sees names
+     * registered by other instances.
+     */
+    public List<String> namesContaining(String fragment) {
+        String pattern = "%" + fragment.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return primary.call(jdbc -> jdbc.query("SELECT id, name FROM " + table + " WHERE LOWER(name) LIKE ?",
+                (row, rowNum) -> remember(row.getInt("id"), row.getString("name")), pattern));
+    }
+
+    /**
+     * Like {@link #namesContaining}, but only among the names held here.
+     */
+    public List<String> knownNamesContaining(String fragment) {
+        String lowerCase = fragment.toLowerCase(Locale.ROOT);
+        return namesById.values().stream()
+                .filter(name -> keyOf(name).contains(lowerCase))
+                .toList();
+    }
+
+    public int size() {
+        return namesById.size();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            // Loaded on first use rather than at startup, since the schema may be created after this is built.
+            List<Map<String, Object>> rows = primary.call(jdbc -> jdbc.queryForList("SELECT id, name FROM " + table));
+            for (Map<String, Object> row : rows) {
+                int id = ((Number) row.get("id")).intValue();
+                String name = (String) row.get("name");
+                remember(id, name);
+                for (Database replica : replicas) {
+                    replicate(replica, id, name);
+                }
+            }
+            log.info("Loaded {} {} rows", rows.size(), table);
+            loaded = true;
+        }
+    }
+
+    private Integer fetchIdByName(String name) {
+        List<Integer> ids = primary.call(jdbc -> jdbc.query("SELECT id, name FROM " + table + " WHERE LOWER(name) = ?",
+                (row, rowNum) -> {
+                    remember(row.getInt("id"), row.getString("name"));
+                    return row.getInt("id");
+                }, name.toLowerCase(Locale.ROOT)));
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    private void replicate(Database replica, int id, String name) {
+        Integer present = replica.call(jdbc ->
+                jdbc.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, id));
+        if (present == null || present == 0) {
+            try {
+                replica.call(jdbc -> jdbc.update("INSERT INTO " + table + " (id, name) VALUES (?, ?)", id, name));
+            } catch (DataIntegrityViolationException e) {
+                // Copied concurrently by another instance.
+                log.debug("{} row {} already present on replica", table, id);
+            }
+        }
+    }
+
+    private String remember(int id, String name) {
+        String canonical = namesById.computeIfAbsent(id, key -> name);
+        idsByKey.putIfAbsent(keyOf(canonical), id);
+        misses.invalidate(keyOf(canonical));
+        return canonical;
+    }
+
+    private static String keyOf(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Database {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+
+        private Database(DataSource dataSource) {
+            // Wrapped so these transactions never touch a connection bound to the original data source.
+            DataSource separate = new DelegatingDataSource(dataSource);
+            this.jdbcTemplate = new JdbcTemplate(separate);
+            this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(separate));
+            this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+
+        private <T> T call(Function<JdbcTemplate, T> work) {
+            return transactionTemplate.execute(status -> work.apply(jdbcTemplate));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.vishnurp3.bookmanagementservice.lookup;
+
+import jakarta.persistence.Converter;
+
+@Converter
+public class PublisherConverter extends LookupConverter {
+
+    public PublisherConverter(BookLookups lookups) {
+        super(lookups.publishers());
+    }
+}
@@ -11,6 +11,8 @@ public interface BookMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "categoryRef", ignore = true)
+    @Mapping(target = "publisherRef", ignore = true)
     Book toEntity(BookRequestDto bookRequestDto);
 
     BookResponseDto toDto(Book book);
@@ -18,6 +20,8 @@ public interface BookMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "categoryRef", ignore = true)
+    @Mapping(target = "publisherRef", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDto(BookRequestDto dto, @MappingTarget Book entity);
 }
@@ -0,0 +1,170 @@
+package com.vishnurp3.bookmanagementservice.popularity;
+
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.TrendingBookDto;
+import com.vishnurp3.bookmanagementservice.entity.BookViewCount;
+import com.vishnurp3.bookmanagementservice.repository.BookViewCountRepository;
+import com.vishnurp3.bookmanagementservice.service.BookService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Counts book views in memory and adds them to the {@code book_views} table in one batch per flush. Recording a view
+ * of a book already counted since the last flush is a map lookup and a {@link LongAdder} increment, neither of which
+ * locks or allocates.
+ * <p>
+ * Each flush also ranks books by views decayed with the configured half-life and keeps the top ones, with their
+ * titles and all-time totals, for {@link #trending(int)} to return without touching the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookPopularity {
+
+    private static final String ADD_VIEWS = "INSERT INTO book_views (book_id, view_count, updated_at) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE view_count = view_count + VALUES(view_count), updated_at = VALUES(updated_at)";
+
+    // Scores decayed below this are forgotten, bounding the books ranked to those viewed recently.
+    private static final double MIN_SCORE = 0.05;
+
+    private final PopularityProperties properties;
+    private final BookService bookService;
+    private final BookViewCountRepository bookViewCountRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Guarded by this.
+    private final Map<Long, Double> scores = new HashMap<>();
+    private long lastRankedAt = System.nanoTime();
+
+    private volatile List<TrendingBookDto> trending = List.of();
+
+    public void record(Long id) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LongAdder views = pending.get(id);
+        if (views == null) {
+            if (pending.size() >= properties.getMaximumTrackedBooks()) {
+                return;
+            }
+            views = pending.computeIfAbsent(id, key -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    public List<TrendingBookDto> trending(int limit) {
+        List<TrendingBookDto> current = trending;
+        return current.subList(0, Math.max(0, Math.min(limit, current.size())));
+    }
+
+    /**
+     * Returns the IDs of the books with the most flushed views of all time, most viewed first.
+     */
+    public List<Long> mostViewed(int limit) {
+        return bookViewCountRepository.findAllByOrderByViewCountDesc(Limit.of(limit)).stream()
+                .map(BookViewCount::getBookId)
+                .toList();
+    }
+
+    @PreDestroy
+    @Scheduled(initialDelayString = "${books.popularity.flush-interval:PT1M}",
+            fixedDelayString = "${books.popularity.flush-interval:PT1M}")
+    public synchronized void flush() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Map<Long, Long> views = drain();
+        if (!views.isEmpty() && !persist(views)) {
+            views.forEach((id, count) -> pending.computeIfAbsent(id, key -> new LongAdder()).add(count));
+            views = Map.of();
+        }
+        rank(views);
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> views = new HashMap<>();
+        pending.forEach((id, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                views.put(id, count);
+            } else {
+                // Not viewed since the last flush. A view racing with this removal is lost, which a popularity
+                // count can afford in exchange for an increment that never locks.
+                pending.remove(id, adder);
+            }
+        });
+        return views;
+    }
+
+    private boolean persist(Map<Long, Long> views) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = views.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue(), now})
+                .toList();
+        try {
+            jdbcTemplate.batchUpdate(ADD_VIEWS, rows);
+            log.debug("Flushed views of {} books", rows.size());
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush views of {} books; retrying with the next flush", rows.size(), e);
+            return false;
+        }
+    }
+
+    private void rank(Map<Long, Long> views) {
+        long now = System.nanoTime();
+        double decay = Math.pow(0.5, (double) (now - lastRankedAt) / properties.getHalfLife().toNanos());
+        lastRankedAt = now;
+        scores.replaceAll((id, score) -> score * decay);
+        views.forEach((id, count) -> scores.merge(id, (double) count, Double::sum));
+        scores.values().removeIf(score -> score < MIN_SCORE);
+
+        List<Long> top = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .limit(properties.getTrendingSize())
+                .map(Map.Entry::getKey)
+                .toList();
+        if (top.isEmpty()) {
+            trending = List.of();
+            return;
+        }
+        try {
+            Map<Long, Long> totals = bookViewCountRepository.findAllById(top).stream()
+                    .collect(Collectors.toMap(BookViewCount::getBookId, BookViewCount::getViewCount));
+            Map<Long, BookResponseDto> books = bookService.getBooksByIds(top).stream()
+                    .collect(Collectors.toMap(BookResponseDto::getId, Function.identity()));
+            List<TrendingBookDto> ranked = new ArrayList<>(top.size());
+            for (Long id : top) {
+                BookResponseDto book = books.get(id);
+                if (book == null) {
+                    scores.remove(id);
+                    continue;
+                }
+                double score = Math.round(scores.get(id) * 100) / 100.0;
+                ranked.add(new TrendingBookDto(id, book.getTitle(), book.getAuthor(), score,
+                        totals.getOrDefault(id, 0L)));
+            }
+            trending = List.copyOf(ranked);
+        } catch (DataAccessException e) {
+            log.warn("Failed to refresh trending books; keeping the previous list", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.vishnurp3.bookmanagementservice.popularity;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.popularity")
+public class PopularityProperties {
+
+    private boolean enabled = true;
+
+    private Duration flushInterval = Duration.ofMinutes(1);
+
+    /**
+     * Time after which a view counts half as much towards a book's trending score.
+     */
+    private Duration halfLife = Duration.ofHours(1);
+
+    /**
+     * Number of books kept in the trending list, and the largest {@code limit} it can be asked for.
+     */
+    private int trendingSize = 50;
+
+    /**
+     * Books counted between two flushes; views of further books are dropped until the next flush.
+     */
+    private int maximumTrackedBooks = 100000;
+}
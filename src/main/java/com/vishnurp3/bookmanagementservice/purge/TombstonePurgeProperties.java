@@ -0,0 +1,29 @@
+package com.vishnurp3.bookmanagementservice.purge;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.purge")
+public class TombstonePurgeProperties {
+
+    private boolean enabled = true;
+
+    private Duration interval = Duration.ofMinutes(1);
+
+    /**
+     * Rows removed per DELETE statement, and so the number of row locks held at once.
+     */
+    private int batchSize = 200;
+
+    private int maxBatchesPerRun = 50;
+
+    private Duration pauseBetweenBatches = Duration.ofMillis(100);
+
+    /**
+     * A run stops as soon as more pooled connections than this are in use by request traffic.
+     */
+    private int maxActiveConnections = 2;
+}
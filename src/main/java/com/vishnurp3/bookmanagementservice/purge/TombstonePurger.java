@@ -0,0 +1,112 @@
+package com.vishnurp3.bookmanagementservice.purge;
+
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.sharding.IsbnShardRouter;
+import com.vishnurp3.bookmanagementservice.sharding.ShardContext;
+import com.vishnurp3.bookmanagementservice.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Physically removes soft-deleted books in small batches, each its own short transaction, pausing between
+ * batches and backing off while the connection pool is busy with request traffic.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "books.purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TombstonePurger {
+
+    private final BookRepository bookRepository;
+    private final TombstonePurgeProperties properties;
+    private final DataSource dataSource;
+    private final IsbnShardRouter shardRouter;
+
+    public TombstonePurger(BookRepository bookRepository, TombstonePurgeProperties properties,
+                           DataSource dataSource, ObjectProvider<IsbnShardRouter> shardRouter) {
+        this.bookRepository = bookRepository;
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.shardRouter = shardRouter.getIfAvailable();
+    }
+
+    @Scheduled(initialDelayString = "${books.purge.interval:PT1M}", fixedDelayString = "${books.purge.interval:PT1M}")
+    public void purgeScheduled() {
+        purge();
+    }
+
+    /**
+     * @return the number of books removed
+     */
+    public int purge() {
+        if (shardRouter == null) {
+            return purgeCurrentDataSource();
+        }
+        int purged = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            purged += ShardContext.callOn(shard, this::purgeCurrentDataSource);
+        }
+        return purged;
+    }
+
+    private int purgeCurrentDataSource() {
+        int batchSize = properties.getBatchSize();
+        int purged = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            if (batch > 0 && !pause()) {
+                break;
+            }
+            if (isBusy()) {
+                log.debug("Deferring tombstone purge while the connection pool is busy");
+                break;
+            }
+            List<Long> ids = bookRepository.findDeletedIds(batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            purged += bookRepository.purgeDeleted(ids);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} deleted books", purged);
+        }
+        return purged;
+    }
+
+    private boolean isBusy() {
+        // Sharded, each shard is purged with its own pool, which is the one to check.
+        Integer shard = ShardContext.current();
+        DataSource current = dataSource instanceof ShardRoutingDataSource routing && shard != null
+                ? routing.getShards().get(shard)
+                : dataSource;
+        try {
+            if (!current.isWrapperFor(HikariDataSource.class)) {
+                return false;
+            }
+            HikariPoolMXBean pool = current.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            return pool != null && pool.getActiveConnections() > properties.getMaxActiveConnections();
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPauseBetweenBatches().toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.vishnurp3.bookmanagementservice.reactive;
+
+import com.vishnurp3.bookmanagementservice.exception.GlobalExceptionHandler;
+import com.vishnurp3.bookmanagementservice.mapper.BookMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Entry point of the non-blocking variant of the book API (WebFlux on Netty with R2DBC). Deliberately not a
+ * {@code @Configuration} so that the servlet application's component scan does not pick it up. Netty is declared
+ * explicitly because Tomcat is also on the classpath and would otherwise be preferred.
+ */
+@EnableAutoConfiguration(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class
+})
+@ComponentScan(basePackageClasses = {ReactiveBookManagementServiceApplication.class, BookMapper.class})
+@Import(GlobalExceptionHandler.class)
+public class ReactiveBookManagementServiceApplication {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveBookManagementServiceApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
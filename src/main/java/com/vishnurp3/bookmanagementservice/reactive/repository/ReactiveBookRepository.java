@@ -0,0 +1,243 @@
+package com.vishnurp3.bookmanagementservice.reactive.repository;
+
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveBookRepository {
+
+    private static final String COLUMNS = "b.id, b.title, b.author, b.isbn, b.publication_date, c.name AS category, "
+            + "b.description, p.name AS publisher, b.price, b.created_at, b.updated_at";
+
+    // Category and publisher are stored as ids into their lookup tables.
+    private static final String FROM = " FROM books b"
+            + " LEFT JOIN categories c ON c.id = b.category_id"
+            + " LEFT JOIN publishers p ON p.id = b.publisher_id";
+
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.ofEntries(
+            Map.entry("id", "b.id"),
+            Map.entry("title", "b.title"),
+            Map.entry("author", "b.author"),
+            Map.entry("isbn", "b.isbn"),
+            Map.entry("publicationDate", "b.publication_date"),
+            Map.entry("category", "c.name"),
+            Map.entry("publisher", "p.name"),
+            Map.entry("price", "b.price"),
+            Map.entry("createdAt", "b.created_at"),
+            Map.entry("updatedAt", "b.updated_at")
+    );
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Book> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + FROM + " WHERE b.id = :id AND b.deleted = FALSE")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toBook)
+                .one();
+    }
+
+    public Mono<Boolean> existsByIsbn(String isbn) {
+        return databaseClient.sql("SELECT 1 FROM books WHERE isbn = :isbn AND deleted = FALSE LIMIT 1")
+                .bind("isbn", isbn)
+                .map(row -> 1)
+                .first()
+                .hasElement();
+    }
+
+    public Mono<Book> insert(Book book) {
+        String sql = "INSERT INTO books (title, author, isbn, publication_date, category_id, description, publisher_id, price, created_at, updated_at) "
+                + "VALUES (:title, :author, :isbn, :publicationDate, :categoryId, :description, :publisherId, :price, :createdAt, :updatedAt)";
+        return purgeDeletedByIsbn(book.getIsbn())
+                .then(lookupIds(book))
+                .flatMap(ids -> bindColumns(databaseClient.sql(sql), book, ids)
+                        .filter(statement -> statement.returnGeneratedValues("id"))
+                        .map(row -> row.get("id", Long.class))
+                        .one())
+                .map(id -> {
+                    book.setId(id);
+                    return book;
+                });
+    }
+
+    public Mono<Long> update(Book book) {
+        String sql = "UPDATE books SET title = :title, author = :author, isbn = :isbn, publication_date = :publicationDate, "
+                + "category_id = :categoryId, description = :description, publisher_id = :publisherId, price = :price, "
+                + "created_at = :createdAt, updated_at = :updatedAt WHERE id = :id AND deleted = FALSE";
+        return purgeDeletedByIsbn(book.getIsbn())
+                .then(lookupIds(book))
+                .flatMap(ids -> bindColumns(databaseClient.sql(sql), book, ids)
+                        .bind("id", book.getId())
+                        .fetch()
+                        .rowsUpdated());
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("UPDATE books SET deleted = TRUE WHERE id = :id AND deleted = FALSE")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // A tombstone keeps its ISBN until purged, so it is removed before the ISBN is reused.
+    private Mono<Long> purgeDeletedByIsbn(String isbn) {
+        return databaseClient.sql("DELETE FROM books WHERE isbn = :isbn AND deleted = TRUE")
+                .bind("isbn", isbn)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Mono<LookupIds> lookupIds(Book book) {
+        return Mono.zip(lookupId("categories", book.getCategory()), lookupId("publishers", book.getPublisher()))
+                .map(ids -> new LookupIds(ids.getT1().orElse(null), ids.getT2().orElse(null)));
+    }
+
+    // Finds the id of the name, registering it when it is new.
+    private Mono<Optional<Integer>> lookupId(String table, String name) {
+        if (name == null) {
+            return Mono.just(Optional.empty());
+        }
+        Mono<Integer> existing = databaseClient.sql("SELECT id FROM " + table + " WHERE LOWER(name) = :name")
+                .bind("name", name.toLowerCase(Locale.ROOT))
+                .map(row -> row.get("id", Integer.class))
+                .first();
+        Mono<Integer> inserted = databaseClient.sql("INSERT INTO " + table + " (name) VALUES (:name)")
+                .bind("name", name)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .onErrorResume(DataIntegrityViolationException.class, e -> existing);
+        return existing.switchIfEmpty(inserted).map(Optional::of);
+    }
+
+    public Flux<Book> findAll(BookFilter filter, Pageable pageable) {
+        String sql = "SELECT " + COLUMNS + FROM + filter.whereClause() + orderBy(pageable.getSort())
+                + " LIMIT :limit OFFSET :offset";
+        return filter.bind(databaseClient.sql(sql))
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveBookRepository::toBook)
+                .all();
+    }
+
+    public Mono<Long> count(BookFilter filter) {
+        return filter.bind(databaseClient.sql("SELECT COUNT(*) AS total FROM books b" + filter.whereClause()))
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    public Flux<Book> streamAll(BookFilter filter) {
+        return filter.bind(databaseClient.sql("SELECT " + COLUMNS + FROM + filter.whereClause() + " ORDER BY b.id"))
+                .map(ReactiveBookRepository::toBook)
+                .all();
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return " ORDER BY b.id";
+        }
+        return sort.stream()
+                .map(order -> {
+                    String column = SORTABLE_COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+                    }
+                    return column + (order.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", ", " ORDER BY ", ""));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec, Book book,
+                                                                 LookupIds ids) {
+        spec = bindNullable(spec, "title", book.getTitle(), String.class);
+        spec = bindNullable(spec, "author", book.getAuthor(), String.class);
+        spec = bindNullable(spec, "isbn", book.getIsbn(), String.class);
+        spec = bindNullable(spec, "publicationDate", book.getPublicationDate(), LocalDate.class);
+        spec = bindNullable(spec, "categoryId", ids.categoryId(), Integer.class);
+        spec = bindNullable(spec, "description", book.getDescription(), String.class);
+        spec = bindNullable(spec, "publisherId", ids.publisherId(), Integer.class);
+        spec = bindNullable(spec, "price", book.getPrice(), BigDecimal.class);
+        spec = bindNullable(spec, "createdAt", book.getCreatedAt(), LocalDate.class);
+        return bindNullable(spec, "updatedAt", book.getUpdatedAt(), LocalDate.class);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                                  Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static Book toBook(Readable row) {
+        return Book.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .author(row.get("author", String.class))
+                .isbn(row.get("isbn", String.class))
+                .publicationDate(row.get("publication_date", LocalDate.class))
+                .category(row.get("category", String.class))
+                .description(row.get("description", String.class))
+                .publisher(row.get("publisher", String.class))
+                .price(row.get("price", BigDecimal.class))
+                .createdAt(row.get("created_at", LocalDate.class))
+                .updatedAt(row.get("updated_at", LocalDate.class))
+                .build();
+    }
+
+    private record LookupIds(Integer categoryId, Integer publisherId) {
+    }
+
+    public record BookFilter(String title, String author, String category, String isbn) {
+
+        private Map<String, String> conditions() {
+            Map<String, String> conditions = new LinkedHashMap<>();
+            addCondition(conditions, "title", title);
+            addCondition(conditions, "author", author);
+            addCondition(conditions, "isbn", isbn);
+            return conditions;
+        }
+
+        private String whereClause() {
+            String categoryCondition = StringUtils.hasLength(category)
+                    ? " AND b.category_id = (SELECT id FROM categories WHERE LOWER(name) = :category)"
+                    : "";
+            return conditions().keySet().stream()
+                    .map(column -> " AND LOWER(b." + column + ") LIKE :" + column)
+                    .collect(Collectors.joining("", " WHERE b.deleted = FALSE", categoryCondition));
+        }
+
+        private DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec) {
+            for (Map.Entry<String, String> condition : conditions().entrySet()) {
+                spec = spec.bind(condition.getKey(), condition.getValue());
+            }
+            if (StringUtils.hasLength(category)) {
+                spec = spec.bind("category", category.toLowerCase(Locale.ROOT));
+            }
+            return spec;
+        }
+
+        private static void addCondition(Map<String, String> conditions, String column, String value) {
+            if (StringUtils.hasLength(value)) {
+                String escaped = value.toLowerCase(Locale.ROOT)
+                        .replace("\\", "\\\\")
+                        .replace("%", "\\%")
+                        .replace("_", "\\_");
+                conditions.put(column, "%" + escaped + "%");
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.vishnurp3.bookmanagementservice.reactive.service;
+
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBookService {
+
+    Mono<BookResponseDto> createBook(BookRequestDto bookRequestDto);
+
+    Mono<BookResponseDto> updateBook(Long id, BookRequestDto bookRequestDto);
+
+    Mono<BookResponseDto> getBookById(Long id);
+
+    Mono<Void> deleteBook(Long id);
+
+    Mono<Page<BookResponseDto>> getBooks(String title, String author, String category, String isbn, Pageable pageable);
+
+    Flux<BookResponseDto> streamBooks(String title, String author, String category, String isbn, Pageable pageable);
+
+    Flux<BookResponseDto> exportBooks(String title, String author, String category, String isbn);
+}
@@ -0,0 +1,128 @@
+package com.vishnurp3.bookmanagementservice.reactive.service.impl;
+
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.exception.DuplicateResourceException;
+import com.vishnurp3.bookmanagementservice.exception.ResourceNotFoundException;
+import com.vishnurp3.bookmanagementservice.mapper.BookMapper;
+import com.vishnurp3.bookmanagementservice.reactive.repository.ReactiveBookRepository;
+import com.vishnurp3.bookmanagementservice.reactive.repository.ReactiveBookRepository.BookFilter;
+import com.vishnurp3.bookmanagementservice.reactive.service.ReactiveBookService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveBookServiceImpl implements ReactiveBookService {
+
+    private final ReactiveBookRepository bookRepository;
+    private final BookMapper bookMapper;
+
+    @Override
+    @Transactional
+    public Mono<BookResponseDto> createBook(BookRequestDto bookRequestDto) {
+        log.info("Attempting to create a new book with ISBN: {}", bookRequestDto.getIsbn());
+
+        return bookRepository.existsByIsbn(bookRequestDto.getIsbn())
+                .flatMap(exists -> {
+                    if (exists) {
+                        log.warn("Creation failed: Book with ISBN {} already exists", bookRequestDto.getIsbn());
+                        return Mono.error(new DuplicateResourceException("Book with ISBN " + bookRequestDto.getIsbn() + " already exists"));
+                    }
+                    Book book = bookMapper.toEntity(bookRequestDto);
+                    LocalDate today = LocalDate.now();
+                    book.setCreatedAt(today);
+                    book.setUpdatedAt(today);
+                    return bookRepository.insert(book);
+                })
+                .doOnNext(savedBook -> log.info("Book created successfully with ID: {}", savedBook.getId()))
+                .map(bookMapper::toDto);
+    }
+
+    @Override
+    @Transactional
+    public Mono<BookResponseDto> updateBook(Long id, BookRequestDto bookRequestDto) {
+        log.info("Attempting to update book with ID: {}", id);
+
+        return bookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Book not found with ID: " + id)))
+                .flatMap(existingBook -> {
+                    Mono<Boolean> conflict = existingBook.getIsbn().equals(bookRequestDto.getIsbn())
+                            ? Mono.just(false)
+                            : bookRepository.existsByIsbn(bookRequestDto.getIsbn());
+                    return conflict.flatMap(exists -> {
+                        if (exists) {
+                            log.warn("Update failed: Another book with ISBN {} already exists", bookRequestDto.getIsbn());
+                            return Mono.error(new DuplicateResourceException("Another book with ISBN " + bookRequestDto.getIsbn() + " already exists"));
+                        }
+                        bookMapper.updateEntityFromDto(bookRequestDto, existingBook);
+                        existingBook.setUpdatedAt(LocalDate.now());
+                        return bookRepository.update(existingBook).thenReturn(existingBook);
+                    });
+                })
+                .doOnNext(updatedBook -> log.info("Book updated successfully with ID: {}", updatedBook.getId()))
+                .map(bookMapper::toDto);
+    }
+
+    @Override
+    public Mono<BookResponseDto> getBookById(Long id) {
+        log.info("Fetching book with ID: {}", id);
+
+        return bookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Book not found with ID: " + id)))
+                .map(bookMapper::toDto);
+    }
+
+    @Override
+    public Mono<Void> deleteBook(Long id) {
+        log.info("Attempting to delete book with ID: {}", id);
+
+        return bookRepository.deleteById(id)
+                .flatMap(deleted -> {
+                    if (deleted == 0) {
+                        log.warn("Deletion failed: Book not found with ID: {}", id);
+                        return Mono.error(new ResourceNotFoundException("Book not found with ID: " + id));
+                    }
+                    log.info("Book deleted successfully with ID: {}", id);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Page<BookResponseDto>> getBooks(String title, String author, String category, String isbn, Pageable pageable) {
+        log.info("Fetching books with filters - Title: {}, Author: {}, Category: {}, ISBN: {}", title, author, category, isbn);
+
+        BookFilter filter = new BookFilter(title, author, category, isbn);
+        return Mono.zip(
+                        bookRepository.findAll(filter, pageable).map(bookMapper::toDto).collectList(),
+                        bookRepository.count(filter))
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    @Override
+    public Flux<BookResponseDto> streamBooks(String title, String author, String category, String isbn, Pageable pageable) {
+        return bookRepository.findAll(new BookFilter(title, author, category, isbn), pageable)
+                .map(bookMapper::toDto);
+    }
+
+    @Override
+    public Flux<BookResponseDto> exportBooks(String title, String author, String category, String isbn) {
+        log.info("Exporting books with filters - Title: {}, Author: {}, Category: {}, ISBN: {}", title, author, category, isbn);
+
+        return bookRepository.streamAll(new BookFilter(title, author, category, isbn))
+                .map(bookMapper::toDto);
+    }
+}
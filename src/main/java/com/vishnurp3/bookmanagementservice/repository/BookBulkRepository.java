@@ -0,0 +1,22 @@
+package com.vishnurp3.bookmanagementservice.repository;
+
+import com.vishnurp3.bookmanagementservice.dto.BookFilterDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateOperationDto;
+
+import java.util.List;
+
+public interface BookBulkRepository {
+
+    /**
+     * Applies the operation to every book matching the filter in a single UPDATE statement, bypassing the
+     * persistence context. Price operations leave books whose new price would not be positive unchanged.
+     *
+     * @return the number of books changed
+     */
+    int bulkUpdate(BookFilterDto filter, BulkUpdateOperationDto operation);
+
+    /**
+     * Returns up to {@code limit} IDs greater than {@code afterId} of books matching the filter, in ascending order.
+     */
+    List<Long> findIdsMatching(BookFilterDto filter, Long afterId, int limit);
+}
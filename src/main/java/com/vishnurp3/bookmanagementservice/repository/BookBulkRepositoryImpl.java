@@ -0,0 +1,103 @@
+package com.vishnurp3.bookmanagementservice.repository;
+
+import com.vishnurp3.bookmanagementservice.dto.BookFilterDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateOperationDto;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.lookup.BookLookups;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@RequiredArgsConstructor
+class BookBulkRepositoryImpl implements BookBulkRepository {
+
+    private static final EscapeCharacter ESCAPE = EscapeCharacter.DEFAULT;
+
+    private final EntityManager entityManager;
+    private final BookLookups lookups;
+
+    @Override
+    public int bulkUpdate(BookFilterDto filter, BulkUpdateOperationDto operation) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Book> update = cb.createCriteriaUpdate(Book.class);
+        Root<Book> book = update.from(Book.class);
+        List<Predicate> predicates = predicates(filter, cb, book);
+
+        Path<BigDecimal> price = book.get("price");
+        switch (operation.getType()) {
+            case SET_CATEGORY -> update.set(book.<String>get("category"), lookups.categories().register(operation.getValue()));
+            case SET_PUBLISHER -> update.set(book.<String>get("publisher"), lookups.publishers().register(operation.getValue()));
+            case MULTIPLY_PRICE -> {
+                Expression<BigDecimal> newPrice = cb.round(cb.prod(price, operation.getAmount()), 2);
+                update.set(price, newPrice);
+                predicates.add(cb.gt(newPrice, BigDecimal.ZERO));
+            }
+            case ADD_PRICE -> {
+                Expression<BigDecimal> newPrice = cb.sum(price, operation.getAmount());
+                update.set(price, newPrice);
+                predicates.add(cb.gt(newPrice, BigDecimal.ZERO));
+            }
+        }
+        // Bulk statements skip @UpdateTimestamp; the snapshot restore relies on updatedAt to replay changes.
+        update.set(book.<LocalDate>get("updatedAt"), LocalDate.now());
+        update.where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public List<Long> findIdsMatching(BookFilterDto filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> book = query.from(Book.class);
+        Path<Long> id = book.get("id");
+        List<Predicate> predicates = predicates(filter, cb, book);
+        predicates.add(cb.gt(id, afterId));
+        query.select(id).where(predicates.toArray(Predicate[]::new)).orderBy(cb.asc(id));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private List<Predicate> predicates(BookFilterDto filter, CriteriaBuilder cb, Path<Book> book) {
+        List<Predicate> predicates = new ArrayList<>();
+        addContaining(predicates, cb, book.get("title"), filter.getTitle());
+        addContaining(predicates, cb, book.get("author"), filter.getAuthor());
+        if (StringUtils.hasText(filter.getCategory())) {
+            predicates.add(cb.equal(book.get("category"), filter.getCategory()));
+        }
+        addContaining(predicates, cb, book.get("isbn"), filter.getIsbn());
+        if (StringUtils.hasText(filter.getPublisher())) {
+            // Publisher is stored as a lookup id; the fragment is matched against the lookup names the service resolved.
+            List<String> publishers = lookups.publishers().knownNamesContaining(filter.getPublisher());
+            predicates.add(publishers.isEmpty() ? cb.disjunction() : book.<String>get("publisher").in(publishers));
+        }
+        Path<BigDecimal> price = book.get("price");
+        if (filter.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(price, filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(price, filter.getMaxPrice()));
+        }
+        Path<LocalDate> publicationDate = book.get("publicationDate");
+        if (filter.getPublishedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(publicationDate, filter.getPublishedFrom()));
+        }
+        if (filter.getPublishedTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(publicationDate, filter.getPublishedTo()));
+        }
+        return predicates;
+    }
+
+    static void addContaining(List<Predicate> predicates, CriteriaBuilder cb, Path<String> attribute, String value) {
+        if (StringUtils.hasText(value)) {
+            String pattern = "%" + ESCAPE.escape(value.toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.like(cb.lower(attribute), pattern, ESCAPE.getEscapeCharacter()));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.vishnurp3.bookmanagementservice.repository;
+
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface BookListingRepository {
+
+    /**
+     * Returns the books of the page matching the example, like {@code findAll(example, pageable)} but without
+     * running the count query, for callers that work out the total themselves.
+     */
+    List<Book> findPageContent(Example<Book> example, Pageable pageable);
+}
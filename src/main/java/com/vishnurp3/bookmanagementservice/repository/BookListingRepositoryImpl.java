@@ -0,0 +1,42 @@
+package com.vishnurp3.bookmanagementservice.repository;
+
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class BookListingRepositoryImpl implements BookListingRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Book> findPageContent(Example<Book> example, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        Root<Book> book = query.from(Book.class);
+        // The same predicate Spring Data builds for findAll(example, pageable).
+        Predicate predicate = QueryByExamplePredicateBuilder.getPredicate(book, cb, example, EscapeCharacter.DEFAULT);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(book).orderBy(QueryUtils.toOrders(pageable.getSort(), book, cb));
+
+        TypedQuery<Book> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+}
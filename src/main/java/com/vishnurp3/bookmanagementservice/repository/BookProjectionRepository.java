@@ -0,0 +1,23 @@
+package com.vishnurp3.bookmanagementservice.repository;
+
+import com.vishnurp3.bookmanagementservice.dto.BookFields;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sparse reads that select only the requested columns and return them keyed by {@link BookFields} name, without
+ * loading entities.
+ */
+public interface BookProjectionRepository {
+
+    Optional<Map<String, Object>> findFieldsById(Long id, BookFields fields);
+
+    /**
+     * Filters like the entity listing: title, author and ISBN by substring and category exactly, all ignoring case.
+     */
+    Page<Map<String, Object>> findFields(String title, String author, String category, String isbn,
+                                         BookFields fields, Pageable pageable);
+}
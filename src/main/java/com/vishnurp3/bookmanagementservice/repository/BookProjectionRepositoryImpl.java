@@ -0,0 +1,87 @@
+package com.vishnurp3.bookmanagementservice.repository;
+
+import com.vishnurp3.bookmanagementservice.dto.BookFields;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.lookup.BookLookups;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+
+@RequiredArgsConstructor
+class BookProjectionRepositoryImpl implements BookProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, BookFields fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+        query.multiselect(selections(fields, book)).where(cb.equal(book.get("id"), id));
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(BookProjectionRepositoryImpl::toMap);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFields(String title, String author, String category, String isbn,
+                                                BookFields fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+        query.multiselect(selections(fields, book))
+                .where(predicates(title, author, category, isbn, cb, book))
+                .orderBy(QueryUtils.toOrders(BookLookups.sortingByName(pageable).getSort(), book, cb));
+
+        List<Map<String, Object>> content = entityManager.createQuery(query)
+                .setFirstResult(pageable.isPaged() ? (int) pageable.getOffset() : 0)
+                .setMaxResults(pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE)
+                .getResultList().stream()
+                .map(BookProjectionRepositoryImpl::toMap)
+                .toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(title, author, category, isbn));
+    }
+
+    private long count(String title, String author, String category, String isbn) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> book = query.from(Book.class);
+        query.select(cb.count(book)).where(predicates(title, author, category, isbn, cb, book));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Selection<?>> selections(BookFields fields, Root<Book> book) {
+        return fields.names().stream()
+                .<Selection<?>>map(name -> book.get(name).alias(name))
+                .toList();
+    }
+
+    private static Predicate[] predicates(String title, String author, String category, String isbn,
+                                          CriteriaBuilder cb, Root<Book> book) {
+        List<Predicate> predicates = new ArrayList<>();
+        BookBulkRepositoryImpl.addContaining(predicates, cb, book.get("title"), title);
+        BookBulkRepositoryImpl.addContaining(predicates, cb, book.get("author"), author);
+        if (StringUtils.hasText(category)) {
+            predicates.add(cb.equal(book.get("category"), category));
+        }
+        BookBulkRepositoryImpl.addContaining(predicates, cb, book.get("isbn"), isbn);
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            values.put(element.getAlias(), tuple.get(element));
+        }
+        return values;
+    }
+}
@@ -1,18 +1,78 @@
 package com.vishnurp3.bookmanagementservice.repository;
 
 import com.vishnurp3.bookmanagementservice.entity.Book;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookBulkRepository, BookProjectionRepository,
+        BookListingRepository {
     List<Book> findByTitleContainingIgnoreCase(String title);
 
     List<Book> findByAuthorContainingIgnoreCase(String author);
 
-    List<Book> findByCategoryIgnoreCase(String category);
+    // Category is stored as a lookup id; the lookup already ignores case.
+    List<Book> findByCategory(String category);
 
     boolean existsByIsbn(String isbn);
+
+    /**
+     * {@code false} if a live book holds the ISBN, {@code true} if only a tombstone awaiting purge does, and empty
+     * if the ISBN is free.
+     */
+    @Query(value = "SELECT deleted FROM books WHERE isbn = :isbn", nativeQuery = true)
+    Optional<Boolean> findDeletedFlagByIsbn(@Param("isbn") String isbn);
+
+    @Modifying
+    @Query(value = "DELETE FROM books WHERE isbn = :isbn AND deleted = TRUE", nativeQuery = true)
+    int purgeDeletedByIsbn(@Param("isbn") String isbn);
+
+    @Query(value = "SELECT id FROM books WHERE deleted = TRUE ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findDeletedIds(@Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM books WHERE deleted = TRUE AND id IN (:ids)", nativeQuery = true)
+    int purgeDeleted(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Physically removes every book, tombstones included.
+     */
+    @Override
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM books", nativeQuery = true)
+    void deleteAll();
+
+    List<BookSearchView> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT b.id AS id, b.title AS title, b.author AS author FROM Book b "
+            + "WHERE b.id > :lastId AND (b.id > :watermarkId OR b.updatedAt >= :since) ORDER BY b.id")
+    List<BookSearchView> findChangedSince(@Param("lastId") Long lastId,
+                                          @Param("watermarkId") Long watermarkId,
+                                          @Param("since") LocalDate since,
+                                          Limit limit);
+
+    long countByIdLessThanEqual(Long id);
+
+    @Query("SELECT b.id FROM Book b WHERE b.id > :lastId AND b.id <= :watermarkId ORDER BY b.id")
+    List<Long> findIdsUpTo(@Param("lastId") Long lastId, @Param("watermarkId") Long watermarkId, Limit limit);
+
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
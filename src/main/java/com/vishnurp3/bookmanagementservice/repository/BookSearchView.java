@@ -0,0 +1,10 @@
+package com.vishnurp3.bookmanagementservice.repository;
+
+public interface BookSearchView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getAuthor();
+}
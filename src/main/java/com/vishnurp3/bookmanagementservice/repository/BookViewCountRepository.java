@@ -0,0 +1,14 @@
+package com.vishnurp3.bookmanagementservice.repository;
+
+import com.vishnurp3.bookmanagementservice.entity.BookViewCount;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookViewCountRepository extends JpaRepository<BookViewCount, Long> {
+
+    List<BookViewCount> findAllByOrderByViewCountDesc(Limit limit);
+}
@@ -0,0 +1,234 @@
+package com.vishnurp3.bookmanagementservice.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vishnurp3.bookmanagementservice.event.BookChangedEvent;
+import com.vishnurp3.bookmanagementservice.exception.ResourceNotFoundException;
+import com.vishnurp3.bookmanagementservice.exception.ServiceUnavailableException;
+import com.vishnurp3.bookmanagementservice.sharding.ShardRoutingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker in front of database reads. Consecutive failures to reach the database open the circuit; while it
+ * is open reads do not touch the database and are answered with the last result read successfully for the same key,
+ * or fail straight away with {@link ServiceUnavailableException}, instead of each waiting out the connection timeout.
+ * The database is probed every {@code probe-interval} and the circuit closes on the first successful probe.
+ * <p>
+ * Errors that do not say the database is unreachable, such as a missing book, pass through unchanged.
+ */
+@Slf4j
+@Component
+public class ReadCircuitBreaker {
+
+    private final ReadCircuitBreakerProperties properties;
+    private final List<JdbcTemplate> probes;
+    private final Clock clock;
+    private final Cache<Object, LastGood> lastGood;
+    // Single-book reads by book id, then by requested fields, so a change to one book evicts its copies directly.
+    private final Cache<Long, Map<String, LastGood>> lastGoodBooks;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile Instant openedAt;
+
+    @Autowired
+    public ReadCircuitBreaker(ReadCircuitBreakerProperties properties, DataSource dataSource, MeterRegistry meterRegistry) {
+        this(properties, dataSource, meterRegistry, Clock.systemUTC());
+    }
+
+    ReadCircuitBreaker(ReadCircuitBreakerProperties properties, DataSource dataSource, MeterRegistry meterRegistry,
+                       Clock clock) {
+        this.properties = properties;
+        List<DataSource> dataSources = dataSource instanceof ShardRoutingDataSource routing
+                ? routing.getShards()
+                : List.of(dataSource);
+        this.probes = dataSources.stream().map(shard -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+            jdbcTemplate.setQueryTimeout((int) Math.max(1, properties.getProbeTimeout().toSeconds()));
+            return jdbcTemplate;
+        }).toList();
+        this.clock = clock;
+        this.lastGood = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getMaxStaleness())
+                .recordStats()
+                .build();
+        this.lastGoodBooks = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getMaxStaleness())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, lastGood, "books.last-good");
+        CaffeineCacheMetrics.monitor(meterRegistry, lastGoodBooks, "books.last-good.books");
+        Gauge.builder("books.read.circuit.open", this, breaker -> breaker.isOpen() ? 1 : 0)
+                .description("Whether database reads are currently short-circuited")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the read, remembering its result under the key, or answers from the last result remembered for the key
+     * when the database cannot be reached.
+     */
+    public <T> Read<T> read(Object key, Supplier<T> reader) {
+        if (!properties.isEnabled()) {
+            return new Read<>(reader.get(), null);
+        }
+        if (isOpen()) {
+            return fallback(key, null);
+        }
+        T value;
+        try {
+            value = reader.get();
+        } catch (ResourceNotFoundException e) {
+            forget(key);
+            throw e;
+        } catch (RuntimeException e) {
+            if (!isUnavailable(e)) {
+                throw e;
+            }
+            recordFailure(e);
+            return fallback(key, e);
+        }
+        consecutiveFailures.set(0);
+        remember(key, new LastGood(value, clock.instant()));
+        return new Read<>(value, null);
+    }
+
+    public boolean isOpen() {
+        return openedAt != null;
+    }
+
+    @Scheduled(initialDelayString = "${books.read-circuit-breaker.probe-interval:PT5S}",
+            fixedDelayString = "${books.read-circuit-breaker.probe-interval:PT5S}")
+    public void probe() {
+        if (!isOpen()) {
+            return;
+        }
+        try {
+            for (JdbcTemplate probe : probes) {
+                probe.queryForObject("SELECT 1", Integer.class);
+            }
+        } catch (DataAccessException e) {
+            log.debug("Database still unavailable: {}", e.getMessage());
+            return;
+        }
+        log.info("Database reachable again after {}; closing the read circuit",
+                Duration.between(openedAt, clock.instant()));
+        consecutiveFailures.set(0);
+        openedAt = null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        // Listings are left alone: a stale page is labelled as such, while a stale single book could be one
+        // this instance has just deleted.
+        if (event.bookId() == null) {
+            lastGoodBooks.invalidateAll();
+        } else {
+            lastGoodBooks.invalidate(event.bookId());
+        }
+    }
+
+    private void remember(Object key, LastGood result) {
+        if (key instanceof BookKey book) {
+            lastGoodBooks.asMap().compute(book.id(), (id, reads) -> {
+                Map<String, LastGood> updated = reads == null ? new ConcurrentHashMap<>() : reads;
+                updated.put(fieldsOf(book), result);
+                return updated;
+            });
+        } else {
+            lastGood.put(key, result);
+        }
+    }
+
+    private LastGood recall(Object key) {
+        if (!(key instanceof BookKey book)) {
+            return lastGood.getIfPresent(key);
+        }
+        Map<String, LastGood> reads = lastGoodBooks.getIfPresent(book.id());
+        LastGood stored = reads == null ? null : reads.get(fieldsOf(book));
+        // Writing another field selection of the book restarts the expiry of the whole entry.
+        return stored != null && Duration.between(stored.readAt(), clock.instant()).compareTo(properties.getMaxStaleness()) <= 0
+                ? stored
+                : null;
+    }
+
+    private void forget(Object key) {
+        if (key instanceof BookKey book) {
+            lastGoodBooks.invalidate(book.id());
+        } else {
+            lastGood.invalidate(key);
+        }
+    }
+
+    private static String fieldsOf(BookKey book) {
+        return Objects.requireNonNullElse(book.fields(), "");
+    }
+
+    private void recordFailure(RuntimeException e) {
+        if (consecutiveFailures.incrementAndGet() >= properties.getFailureThreshold() && openedAt == null) {
+            openedAt = clock.instant();
+            log.warn("Opening the read circuit after {} consecutive database failures", consecutiveFailures.get(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Read<T> fallback(Object key, RuntimeException failure) {
+        LastGood stored = properties.isServeStale() ? recall(key) : null;
+        if (stored != null) {
+            return new Read<>((T) stored.value(), Duration.between(stored.readAt(), clock.instant()));
+        }
+        if (failure != null && !isOpen()) {
+            throw failure;
+        }
+        throw new ServiceUnavailableException("The catalog is temporarily unavailable", properties.getProbeInterval());
+    }
+
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof CannotCreateTransactionException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException;
+    }
+
+    /**
+     * A read result; {@code staleness} is the age of a result served from memory, or {@code null} if it is fresh.
+     */
+    public record Read<T>(T value, Duration staleness) {
+
+        public boolean isStale() {
+            return staleness != null;
+        }
+    }
+
+    /**
+     * Key of a single-book read; {@code fields} is {@code null} for the full book.
+     */
+    public record BookKey(Long id, String fields) {
+    }
+
+    private record LastGood(Object value, Instant readAt) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.vishnurp3.bookmanagementservice.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.read-circuit-breaker")
+public class ReadCircuitBreakerProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Consecutive failed reads that open the circuit.
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * How often the database is probed while the circuit is open.
+     */
+    private Duration probeInterval = Duration.ofSeconds(5);
+
+    private Duration probeTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Whether failed and short-circuited reads are answered with the last result read successfully; otherwise they
+     * fail straight away with 503.
+     */
+    private boolean serveStale = true;
+
+    /**
+     * Results older than this are no longer served.
+     */
+    private Duration maxStaleness = Duration.ofHours(1);
+
+    private long maximumSize = 10_000;
+}
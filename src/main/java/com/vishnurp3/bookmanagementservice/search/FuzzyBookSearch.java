@@ -0,0 +1,148 @@
+package com.vishnurp3.bookmanagementservice.search;
+
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.event.BookChangedEvent;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.repository.BookSearchView;
+import com.vishnurp3.bookmanagementservice.snapshot.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FuzzyBookSearch implements SmartInitializingSingleton {
+
+    private final BookRepository bookRepository;
+    private final FuzzySearchProperties properties;
+    private final CatalogSnapshotService catalogSnapshots;
+
+    private final TrigramIndex titleIndex = new TrigramIndex();
+    private final TrigramIndex authorIndex = new TrigramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (isEnabled()) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            titleIndex.clear();
+            authorIndex.clear();
+            if (!catalogSnapshots.restore(new IndexLoader())) {
+                loadFromDatabase();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Fuzzy search index built with {} books in {} ms", titleIndex.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void loadFromDatabase() {
+        Long lastId = 0L;
+        List<BookSearchView> batch;
+        do {
+            batch = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(properties.getLoadBatchSize()));
+            for (BookSearchView book : batch) {
+                titleIndex.put(book.getId(), book.getTitle());
+                authorIndex.put(book.getId(), book.getAuthor());
+                lastId = book.getId();
+            }
+        } while (batch.size() == properties.getLoadBatchSize());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (!isEnabled() || event.bookId() == null) {
+            // Bulk changes never touch title or author.
+            return;
+        }
+        Book book = event.changeType() == BookChangedEvent.ChangeType.INVALIDATED
+                ? bookRepository.findById(event.bookId()).orElse(null)
+                : event.book();
+        lock.writeLock().lock();
+        try {
+            if (book == null) {
+                titleIndex.remove(event.bookId());
+                authorIndex.remove(event.bookId());
+            } else {
+                titleIndex.put(book.getId(), book.getTitle());
+                authorIndex.put(book.getId(), book.getAuthor());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String title, String author) {
+        int limit = properties.getMaxCandidates();
+        double minSimilarity = properties.getMinSimilarity();
+        List<TrigramIndex.Match> titleMatches;
+        List<TrigramIndex.Match> authorMatches;
+        lock.readLock().lock();
+        try {
+            titleMatches = StringUtils.hasText(title) ? titleIndex.search(title, minSimilarity, Integer.MAX_VALUE) : null;
+            authorMatches = StringUtils.hasText(author) ? authorIndex.search(author, minSimilarity, Integer.MAX_VALUE) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (titleMatches == null) {
+            return authorMatches == null ? List.of() : rankedIds(authorMatches, limit);
+        }
+        if (authorMatches == null) {
+            return rankedIds(titleMatches, limit);
+        }
+
+        Map<Long, TrigramIndex.Match> authorMatchesById = new HashMap<>();
+        authorMatches.forEach(match -> authorMatchesById.put(match.bookId(), match));
+        List<TrigramIndex.Match> combined = new ArrayList<>();
+        for (TrigramIndex.Match titleMatch : titleMatches) {
+            TrigramIndex.Match authorMatch = authorMatchesById.get(titleMatch.bookId());
+            if (authorMatch != null) {
+                combined.add(new TrigramIndex.Match(titleMatch.bookId(),
+                        (titleMatch.similarity() + authorMatch.similarity()) / 2,
+                        (titleMatch.jaccard() + authorMatch.jaccard()) / 2));
+            }
+        }
+        combined.sort(TrigramIndex.Match.BY_RELEVANCE);
+        return rankedIds(combined, limit);
+    }
+
+    private static List<Long> rankedIds(List<TrigramIndex.Match> matches, int limit) {
+        return matches.stream().limit(limit).map(TrigramIndex.Match::bookId).toList();
+    }
+
+    private final class IndexLoader implements CatalogSnapshotService.CatalogListener {
+
+        @Override
+        public void onBook(long id, String title, String author) {
+            titleIndex.put(id, title);
+            authorIndex.put(id, author);
+        }
+
+        @Override
+        public void onRemoved(long id) {
+            titleIndex.remove(id);
+            authorIndex.remove(id);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.vishnurp3.bookmanagementservice.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "books.search.fuzzy")
+public class FuzzySearchProperties {
+
+    private boolean enabled = false;
+
+    private double minSimilarity = 0.4;
+
+    private int maxCandidates = 200;
+
+    private int loadBatchSize = 1000;
+}
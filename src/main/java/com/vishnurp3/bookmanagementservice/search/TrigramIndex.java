@@ -0,0 +1,317 @@
+package com.vishnurp3.bookmanagementservice.search;
+
+import java.util.*;
+
+/**
+ * Inverted trigram index over a single text field. Every distinct trigram owns a sorted posting list of
+ * document ordinals; candidates are shortlisted by intersecting the posting lists of the query's trigrams
+ * and ranked by the share of query trigrams they contain, so only documents sharing enough trigrams are scored.
+ * <p>
+ * Ordinals and term ids freed by removals are reused and emptied posting lists are dropped, so churn from creates
+ * and deletes does not grow the index between rebuilds.
+ * <p>
+ * Not thread-safe; callers are expected to guard reads and writes.
+ */
+public class TrigramIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<Long, Posting> postingsByTrigram = new HashMap<>();
+    private final List<Posting> postingsByTermId = new ArrayList<>();
+    private final Map<Long, Integer> ordinalsByBookId = new HashMap<>();
+
+    private long[] bookIds = new long[INITIAL_CAPACITY];
+    private int[][] documentTerms = new int[INITIAL_CAPACITY][];
+    private int nextOrdinal;
+    private final IntStack freeOrdinals = new IntStack();
+    private final IntStack freeTermIds = new IntStack();
+
+    public void put(long bookId, String text) {
+        Integer existing = ordinalsByBookId.get(bookId);
+        int ordinal;
+        if (existing != null) {
+            ordinal = existing;
+            removePostings(ordinal);
+        } else {
+            ordinal = allocateOrdinal(bookId);
+        }
+
+        long[] trigrams = trigrams(text);
+        int[] terms = new int[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            Posting posting = postingsByTrigram.computeIfAbsent(trigrams[i], this::newPosting);
+            posting.add(ordinal);
+            terms[i] = posting.termId;
+        }
+        Arrays.sort(terms);
+        documentTerms[ordinal] = terms;
+    }
+
+    public void remove(long bookId) {
+        Integer ordinal = ordinalsByBookId.remove(bookId);
+        if (ordinal == null) {
+            return;
+        }
+        removePostings(ordinal);
+        documentTerms[ordinal] = null;
+        bookIds[ordinal] = 0;
+        freeOrdinals.push(ordinal);
+    }
+
+    public void clear() {
+        postingsByTrigram.clear();
+        postingsByTermId.clear();
+        ordinalsByBookId.clear();
+        bookIds = new long[INITIAL_CAPACITY];
+        documentTerms = new int[INITIAL_CAPACITY][];
+        nextOrdinal = 0;
+        freeOrdinals.clear();
+        freeTermIds.clear();
+    }
+
+    public int size() {
+        return ordinalsByBookId.size();
+    }
+
+    public List<Match> search(String query, double minSimilarity, int limit) {
+        long[] queryTrigrams = trigrams(query);
+        int queryLength = queryTrigrams.length;
+        if (queryLength == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        int required = Math.max(1, (int) Math.ceil(minSimilarity * queryLength));
+        Posting[] lists = new Posting[queryLength];
+        for (int i = 0; i < queryLength; i++) {
+            lists[i] = postingsByTrigram.get(queryTrigrams[i]);
+        }
+        Arrays.sort(lists, Comparator.comparingInt(TrigramIndex::sizeOf));
+
+        // A document sharing at least `required` trigrams must appear in one of the shortest
+        // (queryLength - required + 1) lists, so only those are scanned to collect candidates.
+        int prefixLength = queryLength - required + 1;
+        int[] candidates = collectCandidates(lists, prefixLength);
+
+        List<Match> matches = new ArrayList<>();
+        int i = 0;
+        while (i < candidates.length) {
+            int ordinal = candidates[i];
+            int overlap = 0;
+            while (i < candidates.length && candidates[i] == ordinal) {
+                overlap++;
+                i++;
+            }
+            for (int j = prefixLength; j < queryLength && overlap + (queryLength - j) >= required; j++) {
+                if (lists[j].contains(ordinal)) {
+                    overlap++;
+                }
+            }
+            if (overlap >= required) {
+                int documentLength = documentTerms[ordinal].length;
+                double similarity = (double) overlap / queryLength;
+                double jaccard = (double) overlap / (queryLength + documentLength - overlap);
+                matches.add(new Match(bookIds[ordinal], similarity, jaccard));
+            }
+        }
+
+        matches.sort(Match.BY_RELEVANCE);
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    static long[] trigrams(String text) {
+        if (text == null || text.isBlank()) {
+            return new long[0];
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        Set<Long> trigrams = new LinkedHashSet<>();
+        int length = normalized.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && !Character.isLetterOrDigit(normalized.charAt(start))) {
+                start++;
+            }
+            int end = start;
+            while (end < length && Character.isLetterOrDigit(normalized.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                addWordTrigrams("  " + normalized.substring(start, end) + " ", trigrams);
+            }
+            start = end;
+        }
+        long[] result = new long[trigrams.size()];
+        int i = 0;
+        for (Long trigram : trigrams) {
+            result[i++] = trigram;
+        }
+        return result;
+    }
+
+    private static void addWordTrigrams(String paddedWord, Set<Long> trigrams) {
+        for (int i = 0; i + 3 <= paddedWord.length(); i++) {
+            trigrams.add(((long) paddedWord.charAt(i) << 32)
+                    | ((long) paddedWord.charAt(i + 1) << 16)
+                    | paddedWord.charAt(i + 2));
+        }
+    }
+
+    private static int sizeOf(Posting posting) {
+        return posting == null ? 0 : posting.size;
+    }
+
+    private static int[] collectCandidates(Posting[] lists, int prefixLength) {
+        int total = 0;
+        for (int i = 0; i < prefixLength; i++) {
+            total += sizeOf(lists[i]);
+        }
+        int[] candidates = new int[total];
+        int offset = 0;
+        for (int i = 0; i < prefixLength; i++) {
+            Posting posting = lists[i];
+            if (posting != null) {
+                System.arraycopy(posting.ordinals, 0, candidates, offset, posting.size);
+                offset += posting.size;
+            }
+        }
+        Arrays.sort(candidates);
+        return candidates;
+    }
+
+    private int allocateOrdinal(long bookId) {
+        int ordinal;
+        if (!freeOrdinals.isEmpty()) {
+            ordinal = freeOrdinals.pop();
+        } else {
+            if (nextOrdinal == bookIds.length) {
+                int capacity = bookIds.length + (bookIds.length >> 1);
+                bookIds = Arrays.copyOf(bookIds, capacity);
+                documentTerms = Arrays.copyOf(documentTerms, capacity);
+            }
+            ordinal = nextOrdinal++;
+        }
+        bookIds[ordinal] = bookId;
+        ordinalsByBookId.put(bookId, ordinal);
+        return ordinal;
+    }
+
+    private void removePostings(int ordinal) {
+        int[] terms = documentTerms[ordinal];
+        if (terms == null) {
+            return;
+        }
+        for (int termId : terms) {
+            Posting posting = postingsByTermId.get(termId);
+            posting.remove(ordinal);
+            if (posting.size == 0) {
+                postingsByTrigram.remove(posting.trigram);
+                postingsByTermId.set(termId, null);
+                freeTermIds.push(termId);
+            }
+        }
+    }
+
+    private Posting newPosting(Long trigram) {
+        if (!freeTermIds.isEmpty()) {
+            Posting posting = new Posting(freeTermIds.pop(), trigram);
+            postingsByTermId.set(posting.termId, posting);
+            return posting;
+        }
+        Posting posting = new Posting(postingsByTermId.size(), trigram);
+        postingsByTermId.add(posting);
+        return posting;
+    }
+
+    int postingCount() {
+        return postingsByTrigram.size();
+    }
+
+    int ordinalCapacityInUse() {
+        return nextOrdinal;
+    }
+
+    public record Match(long bookId, double similarity, double jaccard) {
+
+        static final Comparator<Match> BY_RELEVANCE = Comparator.comparingDouble(Match::similarity)
+                .thenComparingDouble(Match::jaccard)
+                .reversed()
+                .thenComparingLong(Match::bookId);
+    }
+
+    private static final class Posting {
+
+        private final int termId;
+        private final long trigram;
+        private int[] ordinals = new int[4];
+        private int size;
+
+        private Posting(int termId, long trigram) {
+            this.termId = termId;
+            this.trigram = trigram;
+        }
+
+        private void add(int ordinal) {
+            if (size > 0 && ordinals[size - 1] < ordinal) {
+                append(ordinal);
+                return;
+            }
+            int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            ensureCapacity();
+            System.arraycopy(ordinals, insertAt, ordinals, insertAt + 1, size - insertAt);
+            ordinals[insertAt] = ordinal;
+            size++;
+        }
+
+        private void append(int ordinal) {
+            ensureCapacity();
+            ordinals[size++] = ordinal;
+        }
+
+        private void remove(int ordinal) {
+            int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ordinals, position + 1, ordinals, position, size - position - 1);
+            size--;
+        }
+
+        private boolean contains(int ordinal) {
+            return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+        }
+
+        private void ensureCapacity() {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size + (size >> 1) + 1);
+            }
+        }
+    }
+
+    private static final class IntStack {
+
+        private int[] values = new int[16];
+        private int size;
+
+        private void push(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int pop() {
+            return values[--size];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package com.vishnurp3.bookmanagementservice.service;
 
+import com.vishnurp3.bookmanagementservice.count.CountStrategy;
+import com.vishnurp3.bookmanagementservice.dto.BookFields;
 import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
 import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateResponseDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Map;
+
 public interface BookService {
 
     BookResponseDto createBook(BookRequestDto bookRequestDto);
@@ -13,7 +22,45 @@ public interface BookService {
 
     BookResponseDto getBookById(Long id);
 
+    /**
+     * Reads the books with these IDs in one query per database, in no particular order. IDs of missing books are
+     * left out.
+     */
+    List<BookResponseDto> getBooksByIds(List<Long> ids);
+
     void deleteBook(Long id);
 
     Page<BookResponseDto> getBooks(String title, String author, String category, String isbn, Pageable pageable);
+
+    /**
+     * Like {@link #getBooks(String, String, String, String, Pageable)}, with the total worked out by the given
+     * strategy instead of the configured one. Implementations that cannot honour it return exact totals.
+     */
+    default Page<BookResponseDto> getBooks(String title, String author, String category, String isbn,
+                                           Pageable pageable, CountStrategy countStrategy) {
+        return getBooks(title, author, category, isbn, pageable);
+    }
+
+    /**
+     * The strategy {@link #getBooks(String, String, String, String, Pageable, CountStrategy)} applies to the total of
+     * a listing with these filters, which may differ from the one asked for.
+     */
+    default CountStrategy appliedCountStrategy(String title, String author, String category, String isbn,
+                                               CountStrategy countStrategy) {
+        return CountStrategy.EXACT;
+    }
+
+    /**
+     * Selects only the requested fields of the book, keyed by {@link BookFields} name.
+     */
+    Map<String, Object> getSparseBook(Long id, BookFields fields);
+
+    Page<Map<String, Object>> getSparseBooks(String title, String author, String category, String isbn,
+                                             BookFields fields, Pageable pageable);
+
+    Page<BookResponseDto> searchBooks(String title, String author, String category, String isbn, Pageable pageable);
+
+    BulkUpdateResponseDto bulkUpdate(BulkUpdateRequestDto bulkUpdateRequestDto);
+
+    BulkDeleteResponseDto bulkDelete(BulkDeleteRequestDto bulkDeleteRequestDto);
 }
@@ -0,0 +1,14 @@
+package com.vishnurp3.bookmanagementservice.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "books.bulk")
+public class BulkOperationProperties {
+
+    /**
+     * Rows removed per DELETE statement; each chunk commits on its own so locks are held only briefly.
+     */
+    private int deleteChunkSize = 500;
+}
@@ -1,21 +1,50 @@
 package com.vishnurp3.bookmanagementservice.service.impl;
 
+import com.vishnurp3.bookmanagementservice.batchload.BookBatchLoader;
+import com.vishnurp3.bookmanagementservice.cache.BookListingCache;
+import com.vishnurp3.bookmanagementservice.cache.CatalogVersion;
+import com.vishnurp3.bookmanagementservice.coherence.BookChangeLog;
+import com.vishnurp3.bookmanagementservice.count.BookCounter;
+import com.vishnurp3.bookmanagementservice.count.CountStrategy;
+import com.vishnurp3.bookmanagementservice.diagnostics.BookOperationEvent;
+import com.vishnurp3.bookmanagementservice.dto.BookFields;
 import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
 import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateResponseDto;
 import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.event.BookChangedEvent;
 import com.vishnurp3.bookmanagementservice.exception.DuplicateResourceException;
 import com.vishnurp3.bookmanagementservice.exception.ResourceNotFoundException;
+import com.vishnurp3.bookmanagementservice.lookup.BookLookups;
 import com.vishnurp3.bookmanagementservice.mapper.BookMapper;
 import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.search.FuzzyBookSearch;
 import com.vishnurp3.bookmanagementservice.service.BookService;
-import jakarta.transaction.Transactional;
+import com.vishnurp3.bookmanagementservice.service.BulkOperationProperties;
+import com.vishnurp3.bookmanagementservice.support.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.*;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -25,87 +54,367 @@ public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FuzzyBookSearch fuzzyBookSearch;
+    private final BulkOperationProperties bulkOperationProperties;
+    private final BookChangeLog bookChangeLog;
+    private final BookListingCache bookListingCache;
+    private final CatalogVersion catalogVersion;
+    private final BookCounter bookCounter;
+    private final BookBatchLoader bookBatchLoader;
+    private final BookLookups lookups;
+    private final PlatformTransactionManager transactionManager;
+
+    private final SingleFlight<BookLookup, BookResponseDto> bookLookups = new SingleFlight<>();
+    private final SingleFlight<ListingQuery, Page<BookResponseDto>> bookQueries = new SingleFlight<>();
 
     @Override
-    @Transactional
     public BookResponseDto createBook(BookRequestDto bookRequestDto) {
         log.info("Attempting to create a new book with ISBN: {}", bookRequestDto.getIsbn());
 
-        if (bookRepository.existsByIsbn(bookRequestDto.getIsbn())) {
-            log.warn("Creation failed: Book with ISBN {} already exists", bookRequestDto.getIsbn());
-            throw new DuplicateResourceException("Book with ISBN " + bookRequestDto.getIsbn() + " already exists");
-        }
+        lookups.register(bookRequestDto.getCategory(), bookRequestDto.getPublisher());
+        return BookOperationEvent.record("createBook", null, bookRequestDto::getIsbn, event -> inTransaction(() -> {
+            if (isIsbnTaken(bookRequestDto.getIsbn())) {
+                log.warn("Creation failed: Book with ISBN {} already exists", bookRequestDto.getIsbn());
+                throw new DuplicateResourceException("Book with ISBN " + bookRequestDto.getIsbn() + " already exists");
+            }
 
-        Book book = bookMapper.toEntity(bookRequestDto);
-        Book savedBook = bookRepository.save(book);
+            Book book = event.mapping(() -> bookMapper.toEntity(bookRequestDto));
+            Book savedBook = bookRepository.save(book);
+            eventPublisher.publishEvent(BookChangedEvent.created(savedBook));
+            bookChangeLog.record(savedBook.getId());
 
-        log.info("Book created successfully with ID: {}", savedBook.getId());
-        return bookMapper.toDto(savedBook);
+            log.info("Book created successfully with ID: {}", savedBook.getId());
+            event.setResultSize(1);
+            return event.mapping(() -> bookMapper.toDto(savedBook));
+        }));
     }
 
     @Override
-    @Transactional
     public BookResponseDto updateBook(Long id, BookRequestDto bookRequestDto) {
         log.info("Attempting to update book with ID: {}", id);
 
-        Book existingBook = bookRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + id));
+        lookups.register(bookRequestDto.getCategory(), bookRequestDto.getPublisher());
+        return BookOperationEvent.record("updateBook", id, null, event -> inTransaction(() -> {
+            Book existingBook = bookRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + id));
 
-        if (!existingBook.getIsbn().equals(bookRequestDto.getIsbn())
-                && bookRepository.existsByIsbn(bookRequestDto.getIsbn())) {
-            log.warn("Update failed: Another book with ISBN {} already exists", bookRequestDto.getIsbn());
-            throw new DuplicateResourceException("Another book with ISBN " + bookRequestDto.getIsbn() + " already exists");
-        }
+            if (!existingBook.getIsbn().equals(bookRequestDto.getIsbn())
+                    && isIsbnTaken(bookRequestDto.getIsbn())) {
+                log.warn("Update failed: Another book with ISBN {} already exists", bookRequestDto.getIsbn());
+                throw new DuplicateResourceException("Another book with ISBN " + bookRequestDto.getIsbn() + " already exists");
+            }
 
-        bookMapper.updateEntityFromDto(bookRequestDto, existingBook);
-        Book updatedBook = bookRepository.save(existingBook);
+            event.mapping(() -> {
+                bookMapper.updateEntityFromDto(bookRequestDto, existingBook);
+                return existingBook;
+            });
+            Book updatedBook = bookRepository.save(existingBook);
+            eventPublisher.publishEvent(BookChangedEvent.updated(updatedBook));
+            bookChangeLog.record(updatedBook.getId());
 
-        log.info("Book updated successfully with ID: {}", updatedBook.getId());
-        return bookMapper.toDto(updatedBook);
+            log.info("Book updated successfully with ID: {}", updatedBook.getId());
+            event.setResultSize(1);
+            return event.mapping(() -> bookMapper.toDto(updatedBook));
+        }));
     }
 
     @Override
     public BookResponseDto getBookById(Long id) {
         log.info("Fetching book with ID: {}", id);
 
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + id));
+        return BookOperationEvent.record("getBookById", id, null, event -> bookLookups.execute(new BookLookup(id, catalogVersion.current()), () -> {
+            Optional<Book> found = bookBatchLoader.isEnabled() ? bookBatchLoader.load(id) : bookRepository.findById(id);
+            Book book = found.orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + id));
 
-        return bookMapper.toDto(book);
+            event.setResultSize(1);
+            return event.mapping(() -> bookMapper.toDto(book));
+        }));
+    }
+
+    @Override
+    public List<BookResponseDto> getBooksByIds(List<Long> ids) {
+        log.info("Fetching {} books by ID", ids.size());
+
+        return BookOperationEvent.record("getBooksByIds", null, null, event -> {
+            List<Book> books = bookRepository.findAllById(ids);
+            event.setResultSize(books.size());
+            return event.mapping(() -> books.stream().map(bookMapper::toDto).toList());
+        });
     }
 
     @Override
-    @Transactional
     public void deleteBook(Long id) {
         log.info("Attempting to delete book with ID: {}", id);
 
-        if (!bookRepository.existsById(id)) {
-            log.warn("Deletion failed: Book not found with ID: {}", id);
-            throw new ResourceNotFoundException("Book not found with ID: " + id);
-        }
+        BookOperationEvent.record("deleteBook", id, null, event -> inTransaction(() -> {
+            if (!bookRepository.existsById(id)) {
+                log.warn("Deletion failed: Book not found with ID: {}", id);
+                throw new ResourceNotFoundException("Book not found with ID: " + id);
+            }
 
-        bookRepository.deleteById(id);
+            bookRepository.deleteById(id);
+            eventPublisher.publishEvent(BookChangedEvent.deleted(id));
+            bookChangeLog.record(id);
+            event.setResultSize(1);
+            return null;
+        }));
         log.info("Book deleted successfully with ID: {}", id);
     }
 
 
     @Override
     public Page<BookResponseDto> getBooks(String title, String author, String category, String isbn, Pageable pageable) {
+        return getBooks(title, author, category, isbn, pageable, bookCounter.defaultStrategy());
+    }
+
+    @Override
+    public Page<BookResponseDto> getBooks(String title, String author, String category, String isbn,
+                                          Pageable pageable, CountStrategy countStrategy) {
         log.info("Fetching books with filters - Title: {}, Author: {}, Category: {}, ISBN: {}", title, author, category, isbn);
 
+        lookups.categories().resolve(category);
         Book probe = new Book();
         probe.setTitle(title);
         probe.setAuthor(author);
         probe.setCategory(category);
         probe.setIsbn(isbn);
 
+        // Category is stored as a lookup id, so it can only be matched exactly; the lookup itself ignores case.
         ExampleMatcher matcher = ExampleMatcher.matchingAll()
                 .withIgnoreCase()
-                .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING);
+                .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
+                .withMatcher("category", property -> property.exact().caseSensitive());
 
         Example<Book> example = Example.of(probe, matcher);
 
-        Page<Book> booksPage = bookRepository.findAll(example, pageable);
-        return booksPage.map(bookMapper::toDto);
+        BookQuery query = new BookQuery(title, author, category, isbn, pageable);
+        return BookOperationEvent.record("getBooks", null, query::toString, event -> {
+            Page<BookResponseDto> books = bookListingCache.get(title, author, category, isbn, pageable, countStrategy,
+                    () -> bookQueries.execute(new ListingQuery(query, countStrategy, catalogVersion.current()), () -> {
+                        Page<Book> booksPage = findPage(example, BookLookups.sortingByName(pageable), countStrategy);
+                        return event.mapping(() -> booksPage.map(bookMapper::toDto));
+                    }));
+            event.setResultSize(books.getNumberOfElements());
+            return books;
+        });
+    }
+
+    private Page<Book> findPage(Example<Book> example, Pageable pageable, CountStrategy countStrategy) {
+        if (countStrategy == CountStrategy.EXACT) {
+            return bookRepository.findAll(example, pageable);
+        }
+        List<Book> content = bookRepository.findPageContent(example, pageable);
+        Book probe = example.getProbe();
+        // A cached or estimated total may lag behind; it is never reported below the rows this page has seen.
+        long seen = pageable.getOffset() + content.size();
+        return PageableExecutionUtils.getPage(content, pageable, () -> Math.max(seen, bookCounter.count(countStrategy,
+                probe.getTitle(), probe.getAuthor(), probe.getCategory(), probe.getIsbn(),
+                () -> bookRepository.count(example))));
+    }
+
+    @Override
+    public CountStrategy appliedCountStrategy(String title, String author, String category, String isbn,
+                                              CountStrategy countStrategy) {
+        return bookCounter.applied(countStrategy, title, author, category, isbn);
+    }
+
+    @Override
+    public Map<String, Object> getSparseBook(Long id, BookFields fields) {
+        log.info("Fetching fields {} of book with ID: {}", fields.names(), id);
+
+        return BookOperationEvent.record("getSparseBook", id, fields::toString, event -> {
+            Map<String, Object> book = bookRepository.findFieldsById(id, fields)
+                    .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + id));
+            event.setResultSize(1);
+            return book;
+        });
+    }
+
+    @Override
+    public Page<Map<String, Object>> getSparseBooks(String title, String author, String category, String isbn,
+                                                    BookFields fields, Pageable pageable) {
+        log.info("Fetching fields {} of books with filters - Title: {}, Author: {}, Category: {}, ISBN: {}",
+                fields.names(), title, author, category, isbn);
+
+        lookups.categories().resolve(category);
+        Supplier<String> filter = () -> new BookQuery(title, author, category, isbn, pageable) + " " + fields;
+        return BookOperationEvent.record("getSparseBooks", null, filter, event -> {
+            Page<Map<String, Object>> books = bookRepository.findFields(title, author, category, isbn, fields, pageable);
+            event.setResultSize(books.getNumberOfElements());
+            return books;
+        });
+    }
+
+    @Override
+    public Page<BookResponseDto> searchBooks(String title, String author, String category, String isbn, Pageable pageable) {
+        if (!fuzzyBookSearch.isEnabled() || (!StringUtils.hasText(title) && !StringUtils.hasText(author))) {
+            return getBooks(title, author, category, isbn, pageable);
+        }
+        log.info("Fuzzy searching books - Title: {}, Author: {}, Category: {}, ISBN: {}", title, author, category, isbn);
+
+        BookQuery query = new BookQuery(title, author, category, isbn, pageable);
+        return BookOperationEvent.record("searchBooks", null, query::toString, event -> {
+            List<Long> rankedIds = fuzzyBookSearch.search(title, author);
+            Map<Long, Book> booksById = bookRepository.findAllById(rankedIds).stream()
+                    .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+            List<Book> matches = rankedIds.stream()
+                    .map(booksById::get)
+                    .filter(Objects::nonNull)
+                    .filter(book -> matchesCategory(book.getCategory(), category) && containsIgnoreCase(book.getIsbn(), isbn))
+                    .toList();
+
+            int fromIndex = (int) Math.min(pageable.getOffset(), matches.size());
+            int toIndex = Math.min(fromIndex + pageable.getPageSize(), matches.size());
+            Pageable relevancePageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            event.setResultSize(toIndex - fromIndex);
+            return event.mapping(() -> new PageImpl<>(matches.subList(fromIndex, toIndex), relevancePageable, matches.size())
+                    .map(bookMapper::toDto));
+        });
+    }
+
+    @Override
+    public BulkUpdateResponseDto bulkUpdate(BulkUpdateRequestDto bulkUpdateRequestDto) {
+        log.info("Bulk updating books - Operation: {}, Filter: {}",
+                bulkUpdateRequestDto.getOperation(), bulkUpdateRequestDto.getFilter());
+
+        lookups.resolve(bulkUpdateRequestDto.getFilter());
+        lookups.register(bulkUpdateRequestDto.getOperation());
+        int affected = BookOperationEvent.record("bulkUpdate", null, bulkUpdateRequestDto::toString, event -> inTransaction(() -> {
+            int changed = bookRepository.bulkUpdate(bulkUpdateRequestDto.getFilter(), bulkUpdateRequestDto.getOperation());
+            if (changed > 0) {
+                eventPublisher.publishEvent(BookChangedEvent.bulkUpdated());
+                bookChangeLog.recordBulkChange();
+            }
+            event.setResultSize(changed);
+            return changed;
+        }));
+
+        log.info("Bulk update changed {} books", affected);
+        return new BulkUpdateResponseDto(affected);
+    }
+
+    /**
+     * Deletes in chunks of {@code books.bulk.delete-chunk-size}, each a single DELETE statement in its own short
+     * transaction, so a large delete never holds locks on the whole selection. Chunks committed before a failure
+     * stay deleted.
+     */
+    @Override
+    public BulkDeleteResponseDto bulkDelete(BulkDeleteRequestDto bulkDeleteRequestDto) {
+        if (bulkDeleteRequestDto.getFilter() != null) {
+            lookups.resolve(bulkDeleteRequestDto.getFilter());
+        }
+        int chunkSize = bulkOperationProperties.getDeleteChunkSize();
+        long deleted = BookOperationEvent.record("bulkDelete", null, () -> describe(bulkDeleteRequestDto), event -> {
+            long removed = 0;
+            if (bulkDeleteRequestDto.getIds() != null) {
+                log.info("Bulk deleting {} books by ID", bulkDeleteRequestDto.getIds().size());
+                List<Long> ids = bulkDeleteRequestDto.getIds().stream().distinct().toList();
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                    removed += deleteChunk(bookRepository.findExistingIds(chunk));
+                }
+            } else {
+                log.info("Bulk deleting books - Filter: {}", bulkDeleteRequestDto.getFilter());
+                Long lastId = 0L;
+                List<Long> chunk;
+                do {
+                    chunk = bookRepository.findIdsMatching(bulkDeleteRequestDto.getFilter(), lastId, chunkSize);
+                    removed += deleteChunk(chunk);
+                    lastId = chunk.isEmpty() ? lastId : chunk.get(chunk.size() - 1);
+                } while (chunk.size() == chunkSize);
+            }
+            event.setResultSize(removed);
+            return removed;
+        });
+
+        log.info("Bulk delete removed {} books", deleted);
+        return new BulkDeleteResponseDto(deleted);
+    }
+
+    private int deleteChunk(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = bookRepository.deleteAllByIdIn(ids);
+        ids.forEach(id -> eventPublisher.publishEvent(BookChangedEvent.deleted(id)));
+        // The chunk has already committed on its own, so this is a separate write.
+        bookChangeLog.recordAll(ids);
+        return deleted;
+    }
+
+    /**
+     * Runs the work in a transaction, or in the one already open, as under a group commit. Category and publisher
+     * names are registered before this, so the lookup tables never need a second connection while it holds one.
+     * A duplicate ISBN or a missing book is rejected before anything is written, so the transaction still commits
+     * and one shared with other writes stays usable. Opened inside the operation's event, so the event also covers
+     * the statements Hibernate only flushes at commit.
+     */
+    private <T> T inTransaction(Supplier<T> work) {
+        TransactionStatus status = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        T result;
+        try {
+            result = work.get();
+        } catch (DuplicateResourceException | ResourceNotFoundException e) {
+            transactionManager.commit(status);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            transactionManager.rollback(status);
+            throw e;
+        }
+        transactionManager.commit(status);
+        return result;
+    }
+
+    // An ID list can run to thousands of entries, so the event only records how many there are and their range.
+    private static String describe(BulkDeleteRequestDto request) {
+        List<Long> ids = request.getIds();
+        if (ids == null) {
+            return "filter=" + request.getFilter();
+        }
+        LongSummaryStatistics range = ids.stream().mapToLong(Long::longValue).summaryStatistics();
+        return ids.isEmpty() ? "ids=0" : "ids=" + ids.size() + " from " + range.getMin() + " to " + range.getMax();
+    }
+
+    private boolean isIsbnTaken(String isbn) {
+        Optional<Boolean> deleted = bookRepository.findDeletedFlagByIsbn(isbn);
+        if (deleted.isEmpty()) {
+            return false;
+        }
+        if (deleted.get()) {
+            // Only a tombstone still holds the ISBN; purge it now so the unique constraint admits the new row.
+            bookRepository.purgeDeletedByIsbn(isbn);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean matchesCategory(String value, String filter) {
+        return !StringUtils.hasText(filter) || filter.equalsIgnoreCase(value);
+    }
+
+    private static boolean containsIgnoreCase(String value, String filter) {
+        if (!StringUtils.hasText(filter)) {
+            return true;
+        }
+        return value != null && value.toLowerCase(Locale.ROOT).contains(filter.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Keyed by catalog version as well, so a caller only joins lookups that started after every write it has seen
+     * committed, and caches filled from the result never store a book older than the version they read.
+     */
+    private record BookLookup(Long id, long catalogVersion) {
+    }
+
+    private record BookQuery(String title, String author, String category, String isbn, Pageable pageable) {
+    }
+
+    /**
+     * Keyed by catalog version as well, read after the listing cache read its own, so a page cached under a version
+     * never comes from a query that started before it.
+     */
+    private record ListingQuery(BookQuery query, CountStrategy countStrategy, long catalogVersion) {
     }
 }
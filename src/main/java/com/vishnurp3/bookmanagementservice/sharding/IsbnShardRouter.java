@@ -0,0 +1,61 @@
+package com.vishnurp3.bookmanagementservice.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * Places new books on a shard by ISBN and locates existing books by ID. Every shard hands out IDs from its own
+ * range, starting at {@code shard << SHARD_BITS}, so the owning shard of any ID is known without a lookup.
+ */
+public class IsbnShardRouter {
+
+    static final int SHARD_BITS = 40;
+
+    private final int shardCount;
+    private final ShardingProperties.Strategy strategy;
+    private final List<Map.Entry<String, Integer>> prefixes;
+
+    public IsbnShardRouter(ShardingProperties properties) {
+        this.shardCount = properties.getShards().size();
+        this.strategy = properties.getStrategy();
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        this.prefixes = IntStream.range(0, shardCount)
+                .boxed()
+                .flatMap(shard -> shards.get(shard).getIsbnPrefixes().stream().map(prefix -> Map.entry(prefix, shard)))
+                .sorted(Comparator.comparingInt((Map.Entry<String, Integer> entry) -> entry.getKey().length()).reversed())
+                .toList();
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardForIsbn(String isbn) {
+        if (strategy == ShardingProperties.Strategy.PREFIX) {
+            for (Map.Entry<String, Integer> prefix : prefixes) {
+                if (isbn.startsWith(prefix.getKey())) {
+                    return prefix.getValue();
+                }
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(isbn.getBytes(StandardCharsets.US_ASCII));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    public int shardForId(long id) {
+        return (int) (id >>> SHARD_BITS);
+    }
+
+    public boolean isKnownShard(int shard) {
+        return shard >= 0 && shard < shardCount;
+    }
+
+    public long firstIdOf(int shard) {
+        return ((long) shard << SHARD_BITS) + 1;
+    }
+}
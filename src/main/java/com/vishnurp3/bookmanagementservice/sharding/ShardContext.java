@@ -0,0 +1,40 @@
+package com.vishnurp3.bookmanagementservice.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard the current thread talks to. {@link ShardRoutingDataSource} reads it whenever a connection is
+ * acquired, so it has to be set before a transaction begins.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runOn(int shard, Runnable action) {
+        callOn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.vishnurp3.bookmanagementservice.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Set;
+
+/**
+ * Hibernate only manages the schema of the default shard. This creates the mapped tables on the remaining shards
+ * when they are missing and moves every shard's identity column to the start of that shard's ID range.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private static final Set<String> SCHEMA_CREATING_MODES = Set.of("create", "create-drop", "update");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRoutingDataSource dataSource;
+    private final IsbnShardRouter router;
+    private final String ddlAuto;
+
+    @Override
+    public void afterPropertiesSet() throws MetaDataAccessException {
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource.getShards().get(shard));
+            if (shard > 0 && SCHEMA_CREATING_MODES.contains(ddlAuto) && !tableExists(jdbcTemplate)) {
+                log.info("Creating book schema on shard {}", shard);
+                ShardContext.runOn(shard, () -> entityManagerFactory.unwrap(SessionFactory.class)
+                        .getSchemaManager()
+                        .exportMappedObjects(true));
+            }
+            alignIdentity(shard, jdbcTemplate);
+        }
+    }
+
+    private void alignIdentity(int shard, JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        long firstId = router.firstIdOf(shard);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM books", Long.class);
+        if (maxId != null && maxId >= firstId) {
+            return;
+        }
+        if (maxId != null && router.shardForId(maxId) != shard) {
+            throw new IllegalStateException("Shard " + shard + " holds book " + maxId + " outside of its ID range");
+        }
+        String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName);
+        switch (product) {
+            case "H2" -> jdbcTemplate.execute("ALTER TABLE books ALTER COLUMN id RESTART WITH " + firstId);
+            case "MySQL" -> jdbcTemplate.execute("ALTER TABLE books AUTO_INCREMENT = " + firstId);
+            default -> throw new IllegalStateException("Cannot assign an ID range on " + product);
+        }
+        log.info("Shard {} assigns book IDs from {}", shard, firstId);
+    }
+
+    private static boolean tableExists(JdbcTemplate jdbcTemplate) {
+        try {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books WHERE 1 = 0", Long.class);
+            return true;
+        } catch (BadSqlGrammarException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.vishnurp3.bookmanagementservice.sharding;
+
+import com.vishnurp3.bookmanagementservice.count.BookCounter;
+import com.vishnurp3.bookmanagementservice.count.CountStrategy;
+import com.vishnurp3.bookmanagementservice.dto.BookFields;
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateResponseDto;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.exception.DuplicateResourceException;
+import com.vishnurp3.bookmanagementservice.exception.ResourceNotFoundException;
+import com.vishnurp3.bookmanagementservice.lookup.BookLookups;
+import com.vishnurp3.bookmanagementservice.mapper.BookMapper;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.service.BookService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.*;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Routes single-book operations to the shard owning the book and scatters listings to every shard in parallel,
+ * merging the per-shard pages in {@link Pageable} sort order.
+ */
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "books.sharding", name = "enabled", havingValue = "true")
+public class ShardedBookService implements BookService, DisposableBean {
+
+    private final BookService delegate;
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final IsbnShardRouter router;
+    private final BookCounter bookCounter;
+    private final BookLookups lookups;
+    private final ExecutorService scatterExecutor;
+
+    public ShardedBookService(@Qualifier("bookServiceImpl") BookService delegate,
+                              BookRepository bookRepository,
+                              BookMapper bookMapper,
+                              IsbnShardRouter router,
+                              BookCounter bookCounter,
+                              BookLookups lookups) {
+        this.delegate = delegate;
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.router = router;
+        this.bookCounter = bookCounter;
+        this.lookups = lookups;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("shard-scatter-");
+        threadFactory.setDaemon(true);
+        this.scatterExecutor = Executors.newFixedThreadPool(router.shardCount(), threadFactory);
+    }
+
+    @Override
+    public BookResponseDto createBook(BookRequestDto bookRequestDto) {
+        int shard = router.shardForIsbn(bookRequestDto.getIsbn());
+        ensureIsbnUnusedOnOtherShards(bookRequestDto.getIsbn(), shard, "Book with ISBN ");
+        return ShardContext.callOn(shard, () -> delegate.createBook(bookRequestDto));
+    }
+
+    @Override
+    public BookResponseDto updateBook(Long id, BookRequestDto bookRequestDto) {
+        int shard = shardOf(id);
+        ensureIsbnUnusedOnOtherShards(bookRequestDto.getIsbn(), shard, "Another book with ISBN ");
+        return ShardContext.callOn(shard, () -> delegate.updateBook(id, bookRequestDto));
+    }
+
+    @Override
+    public BookResponseDto getBookById(Long id) {
+        return ShardContext.callOn(shardOf(id), () -> delegate.getBookById(id));
+    }
+
+    @Override
+    public List<BookResponseDto> getBooksByIds(List<Long> ids) {
+        List<List<BookResponseDto>> found = scatter(shard -> delegate.getBooksByIds(
+                ids.stream().filter(id -> router.shardForId(id) == shard).toList()));
+        return found.stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Override
+    public void deleteBook(Long id) {
+        ShardContext.runOn(shardOf(id), () -> delegate.deleteBook(id));
+    }
+
+    @Override
+    public Page<BookResponseDto> getBooks(String title, String author, String category, String isbn, Pageable pageable) {
+        return getBooks(title, author, category, isbn, pageable, bookCounter.defaultStrategy());
+    }
+
+    @Override
+    public Page<BookResponseDto> getBooks(String title, String author, String category, String isbn,
+                                          Pageable pageable, CountStrategy countStrategy) {
+        log.info("Fetching books from {} shards with filters - Title: {}, Author: {}, Category: {}, ISBN: {}",
+                router.shardCount(), title, author, category, isbn);
+
+        lookups.categories().resolve(category);
+        Book probe = new Book();
+        probe.setTitle(title);
+        probe.setAuthor(author);
+        probe.setCategory(category);
+        probe.setIsbn(isbn);
+
+        // Category is stored as a lookup id, so it can only be matched exactly; the lookup itself ignores case.
+        ExampleMatcher matcher = ExampleMatcher.matchingAll()
+                .withIgnoreCase()
+                .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
+                .withMatcher("category", property -> property.exact().caseSensitive());
+
+        Example<Book> example = Example.of(probe, matcher);
+
+        // Every shard returns its first offset + size rows, which is all the merged page can draw from.
+        Pageable shardPageable = BookLookups.sortingByName(
+                PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), pageable.getSort()));
+        List<Book> merged = new ArrayList<>();
+        long total = 0;
+        if (countStrategy == CountStrategy.EXACT) {
+            for (Page<Book> shardPage : scatter(shard -> bookRepository.findAll(example, shardPageable))) {
+                merged.addAll(shardPage.getContent());
+                total += shardPage.getTotalElements();
+            }
+        } else {
+            scatter(shard -> bookRepository.findPageContent(example, shardPageable)).forEach(merged::addAll);
+        }
+        merged.sort(comparatorFor(pageable.getSort(), ShardedBookService::propertyOf));
+
+        int fromIndex = (int) Math.min(pageable.getOffset(), merged.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), merged.size());
+        List<Book> content = merged.subList(fromIndex, toIndex);
+        if (countStrategy == CountStrategy.EXACT) {
+            return new PageImpl<>(content, pageable, total).map(bookMapper::toDto);
+        }
+        // As on a single database, a cached or estimated total is never reported below the rows seen.
+        long seen = pageable.getOffset() + content.size();
+        return PageableExecutionUtils.getPage(content, pageable, () -> Math.max(seen, bookCounter.count(countStrategy,
+                        title, author, category, isbn,
+                        () -> scatter(shard -> bookRepository.count(example)).stream().mapToLong(Long::longValue).sum())))
+                .map(bookMapper::toDto);
+    }
+
+    @Override
+    public CountStrategy appliedCountStrategy(String title, String author, String category, String isbn,
+                                              CountStrategy countStrategy) {
+        return bookCounter.applied(countStrategy, title, author, category, isbn);
+    }
+
+    @Override
+    public Map<String, Object> getSparseBook(Long id, BookFields fields) {
+        return ShardContext.callOn(shardOf(id), () -> delegate.getSparseBook(id, fields));
+    }
+
+    @Override
+    public Page<Map<String, Object>> getSparseBooks(String title, String author, String category, String isbn,
+                                                    BookFields fields, Pageable pageable) {
+        lookups.categories().resolve(category);
+        // The sort properties and ID are selected as well so the shard pages can be merged, then dropped again.
+        List<String> mergeKeys = new ArrayList<>(pageable.getSort().stream().map(Sort.Order::getProperty).toList());
+        mergeKeys.add("id");
+        BookFields shardFields = fields.including(mergeKeys);
+        Pageable shardPageable = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), pageable.getSort());
+        List<Page<Map<String, Object>>> shardPages = scatter(shard ->
+                bookRepository.findFields(title, author, category, isbn, shardFields, shardPageable));
+
+        List<Map<String, Object>> merged = new ArrayList<>();
+        long total = 0;
+        for (Page<Map<String, Object>> shardPage : shardPages) {
+            merged.addAll(shardPage.getContent());
+            total += shardPage.getTotalElements();
+        }
+        merged.sort(comparatorFor(pageable.getSort(), Map::get));
+
+        int fromIndex = (int) Math.min(pageable.getOffset(), merged.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), merged.size());
+        List<Map<String, Object>> content = merged.subList(fromIndex, toIndex).stream()
+                .map(row -> {
+                    Map<String, Object> requested = new LinkedHashMap<>();
+                    fields.names().forEach(name -> requested.put(name, row.get(name)));
+                    return requested;
+                })
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Page<BookResponseDto> searchBooks(String title, String author, String category, String isbn, Pageable pageable) {
+        return getBooks(title, author, category, isbn, pageable);
+    }
+
+    @Override
+    public BulkUpdateResponseDto bulkUpdate(BulkUpdateRequestDto bulkUpdateRequestDto) {
+        // Each shard commits on its own; a failure on one shard does not roll back the others.
+        long affected = scatter(shard -> delegate.bulkUpdate(bulkUpdateRequestDto)).stream()
+                .mapToLong(BulkUpdateResponseDto::getAffectedCount)
+                .sum();
+        return new BulkUpdateResponseDto(affected);
+    }
+
+    @Override
+    public BulkDeleteResponseDto bulkDelete(BulkDeleteRequestDto bulkDeleteRequestDto) {
+        long deleted = scatter(shard -> delegate.bulkDelete(forShard(bulkDeleteRequestDto, shard))).stream()
+                .mapToLong(BulkDeleteResponseDto::getDeletedCount)
+                .sum();
+        return new BulkDeleteResponseDto(deleted);
+    }
+
+    @Override
+    public void destroy() {
+        scatterExecutor.shutdownNow();
+    }
+
+    private BulkDeleteRequestDto forShard(BulkDeleteRequestDto request, int shard) {
+        if (request.getIds() == null) {
+            return request;
+        }
+        BulkDeleteRequestDto shardRequest = new BulkDeleteRequestDto();
+        shardRequest.setIds(request.getIds().stream().filter(id -> router.shardForId(id) == shard).toList());
+        return shardRequest;
+    }
+
+    private int shardOf(Long id) {
+        int shard = router.shardForId(id);
+        if (!router.isKnownShard(shard)) {
+            log.warn("Book ID {} does not belong to any of the {} shards", id, router.shardCount());
+            throw new ResourceNotFoundException("Book not found with ID: " + id);
+        }
+        return shard;
+    }
+
+    private void ensureIsbnUnusedOnOtherShards(String isbn, int homeShard, String messagePrefix) {
+        List<Boolean> exists = scatter(shard -> shard != homeShard && bookRepository.existsByIsbn(isbn));
+        if (exists.contains(true)) {
+            log.warn("ISBN {} is already used on another shard", isbn);
+            throw new DuplicateResourceException(messagePrefix + isbn + " already exists");
+        }
+    }
+
+    private <T> List<T> scatter(IntFunction<T> query) {
+        List<CompletableFuture<T>> futures = IntStream.range(0, router.shardCount())
+                .mapToObj(shard -> CompletableFuture.supplyAsync(
+                        () -> ShardContext.callOn(shard, () -> query.apply(shard)), scatterExecutor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static <T> Comparator<T> comparatorFor(Sort sort, BiFunction<T, String, Object> properties) {
+        Comparator<T> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable<Object>> values = order.isAscending()
+                    ? Comparator.nullsFirst(Comparator.naturalOrder())
+                    : Comparator.nullsLast(Comparator.<Comparable<Object>>naturalOrder().reversed());
+            Comparator<T> byProperty = Comparator.comparing(
+                    item -> comparable(properties.apply(item, order.getProperty()), order), values);
+            comparator = comparator.thenComparing(byProperty);
+        }
+        return comparator.thenComparing(item -> (Long) properties.apply(item, "id"));
+    }
+
+    private static Object propertyOf(Book book, String property) {
+        return new BeanWrapperImpl(book).getPropertyValue(property);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparable(Object value, Sort.Order order) {
+        if (value instanceof String text && order.isIgnoreCase()) {
+            value = text.toLowerCase();
+        }
+        return (Comparable<Object>) value;
+    }
+}
@@ -0,0 +1,54 @@
+package com.vishnurp3.bookmanagementservice.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "books.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    @Bean
+    public ShardRoutingDataSource dataSource(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("books.sharding.enabled is set but no books.sharding.shards are configured");
+        }
+        List<DataSource> shards = properties.getShards().stream()
+                .map(ShardingConfiguration::createShardDataSource)
+                .toList();
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public IsbnShardRouter isbnShardRouter(ShardingProperties properties) {
+        return new IsbnShardRouter(properties);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         ShardRoutingDataSource dataSource,
+                                                         IsbnShardRouter router,
+                                                         Environment environment) {
+        return new ShardSchemaInitializer(entityManagerFactory, dataSource, router,
+                environment.getProperty("spring.jpa.hibernate.ddl-auto", "none"));
+    }
+
+    private static DataSource createShardDataSource(ShardingProperties.Shard shard) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(shard.getUrl())
+                .username(shard.getUsername())
+                .password(shard.getPassword())
+                .driverClassName(shard.getDriverClassName())
+                .build();
+        dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+        return dataSource;
+    }
+}
@@ -0,0 +1,39 @@
+package com.vishnurp3.bookmanagementservice.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "books.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    private Strategy strategy = Strategy.HASH;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    public enum Strategy {
+        HASH,
+        PREFIX
+    }
+
+    @Data
+    public static class Shard {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        private int maximumPoolSize = 10;
+
+        private List<String> isbnPrefixes = new ArrayList<>();
+    }
+}
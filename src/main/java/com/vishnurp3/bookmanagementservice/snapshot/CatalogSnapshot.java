@@ -0,0 +1,97 @@
+package com.vishnurp3.bookmanagementservice.snapshot;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Read-only, memory-mapped view of a catalog snapshot. The file is laid out in columns so that nothing has to be
+ * parsed up front; values are decoded on access straight from the page cache:
+ * <pre>
+ * header        magic, version, count, watermark id, taken-on epoch day, title heap size, author heap size
+ * ids           long[count], ascending
+ * title offsets int[count + 1] into the title heap
+ * author offs.  int[count + 1] into the author heap
+ * title heap    UTF-8 bytes
+ * author heap   UTF-8 bytes
+ * </pre>
+ */
+public final class CatalogSnapshot {
+
+    static final long MAGIC = 0x424B534E41503031L;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 48;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final long watermarkId;
+    private final LocalDate takenOn;
+    private final int idsStart;
+    private final int titleOffsetsStart;
+    private final int authorOffsetsStart;
+    private final int titleHeapStart;
+    private final int authorHeapStart;
+
+    private CatalogSnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getLong(0) != MAGIC || buffer.getInt(8) != VERSION) {
+            throw new IllegalStateException("Not a version " + VERSION + " catalog snapshot");
+        }
+        this.count = buffer.getInt(12);
+        this.watermarkId = buffer.getLong(16);
+        this.takenOn = LocalDate.ofEpochDay(buffer.getLong(24));
+        long titleHeapSize = buffer.getLong(32);
+        long authorHeapSize = buffer.getLong(40);
+
+        this.idsStart = HEADER_SIZE;
+        this.titleOffsetsStart = idsStart + count * Long.BYTES;
+        this.authorOffsetsStart = titleOffsetsStart + (count + 1) * Integer.BYTES;
+        this.titleHeapStart = authorOffsetsStart + (count + 1) * Integer.BYTES;
+        this.authorHeapStart = Math.toIntExact(titleHeapStart + titleHeapSize);
+        if (authorHeapStart + authorHeapSize != buffer.capacity()) {
+            throw new IllegalStateException("Truncated catalog snapshot");
+        }
+    }
+
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new CatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long watermarkId() {
+        return watermarkId;
+    }
+
+    public LocalDate takenOn() {
+        return takenOn;
+    }
+
+    public long id(int index) {
+        return buffer.getLong(idsStart + index * Long.BYTES);
+    }
+
+    public String title(int index) {
+        return string(titleOffsetsStart, titleHeapStart, index);
+    }
+
+    public String author(int index) {
+        return string(authorOffsetsStart, authorHeapStart, index);
+    }
+
+    private String string(int offsetsStart, int heapStart, int index) {
+        int from = buffer.getInt(offsetsStart + index * Integer.BYTES);
+        int to = buffer.getInt(offsetsStart + (index + 1) * Integer.BYTES);
+        byte[] bytes = new byte[to - from];
+        buffer.get(heapStart + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,22 @@
+package com.vishnurp3.bookmanagementservice.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.snapshot")
+public class CatalogSnapshotProperties {
+
+    private boolean enabled = false;
+
+    private Path path = Path.of("data", "catalog.snapshot");
+
+    private Duration initialDelay = Duration.ofMinutes(1);
+
+    private Duration writeInterval = Duration.ofMinutes(15);
+
+    private int batchSize = 10000;
+}
@@ -0,0 +1,148 @@
+package com.vishnurp3.bookmanagementservice.snapshot;
+
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.repository.BookSearchView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Persists the searchable part of the catalog to a memory-mapped snapshot and restores in-memory read models from
+ * it, replaying only what changed since the snapshot's watermark: books with a higher ID, books updated on or after
+ * the day the snapshot was taken, and books deleted since.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogSnapshotService {
+
+    private final BookRepository bookRepository;
+    private final CatalogSnapshotProperties properties;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Scheduled(initialDelayString = "${books.snapshot.initial-delay:PT1M}",
+            fixedDelayString = "${books.snapshot.write-interval:PT15M}")
+    public void writeScheduled() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            write();
+        } catch (RuntimeException e) {
+            log.error("Failed to write catalog snapshot to {}", properties.getPath(), e);
+        }
+    }
+
+    public synchronized void write() {
+        long started = System.nanoTime();
+        LocalDate takenOn = LocalDate.now();
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(properties.getPath())) {
+            Long lastId = 0L;
+            List<BookSearchView> batch;
+            do {
+                batch = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(properties.getBatchSize()));
+                for (BookSearchView book : batch) {
+                    writer.append(book.getId(), book.getTitle(), book.getAuthor());
+                    lastId = book.getId();
+                }
+            } while (batch.size() == properties.getBatchSize());
+            writer.commit(takenOn);
+            log.info("Catalog snapshot with {} books written to {} in {} ms",
+                    writer.count(), properties.getPath(), (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write catalog snapshot to " + properties.getPath(), e);
+        }
+    }
+
+    /**
+     * Feeds the snapshot and the delta since its watermark to the listener.
+     *
+     * @return {@code false} when snapshots are disabled or no usable snapshot exists, in which case the caller has
+     * to rebuild from the database
+     */
+    public boolean restore(CatalogListener listener) {
+        if (!isEnabled() || !Files.exists(properties.getPath())) {
+            return false;
+        }
+        long started = System.nanoTime();
+        CatalogSnapshot snapshot;
+        try {
+            snapshot = CatalogSnapshot.open(properties.getPath());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}", properties.getPath(), e);
+            return false;
+        }
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            listener.onBook(snapshot.id(i), snapshot.title(i), snapshot.author(i));
+        }
+        int changed = replayChanges(snapshot, listener);
+        int removed = replayRemovals(snapshot, listener);
+
+        log.info("Restored {} books from catalog snapshot taken on {} ({} changed, {} removed since) in {} ms",
+                snapshot.size(), snapshot.takenOn(), changed, removed, (System.nanoTime() - started) / 1_000_000);
+        return true;
+    }
+
+    private int replayChanges(CatalogSnapshot snapshot, CatalogListener listener) {
+        int changed = 0;
+        Long lastId = 0L;
+        List<BookSearchView> batch;
+        do {
+            batch = bookRepository.findChangedSince(lastId, snapshot.watermarkId(), snapshot.takenOn(),
+                    Limit.of(properties.getBatchSize()));
+            for (BookSearchView book : batch) {
+                listener.onBook(book.getId(), book.getTitle(), book.getAuthor());
+                lastId = book.getId();
+                changed++;
+            }
+        } while (batch.size() == properties.getBatchSize());
+        return changed;
+    }
+
+    private int replayRemovals(CatalogSnapshot snapshot, CatalogListener listener) {
+        if (bookRepository.countByIdLessThanEqual(snapshot.watermarkId()) == snapshot.size()) {
+            return 0;
+        }
+        int removed = 0;
+        int index = 0;
+        Long lastId = 0L;
+        List<Long> batch;
+        do {
+            batch = bookRepository.findIdsUpTo(lastId, snapshot.watermarkId(), Limit.of(properties.getBatchSize()));
+            for (Long id : batch) {
+                while (index < snapshot.size() && snapshot.id(index) < id) {
+                    listener.onRemoved(snapshot.id(index++));
+                    removed++;
+                }
+                if (index < snapshot.size() && snapshot.id(index) == id) {
+                    index++;
+                }
+                lastId = id;
+            }
+        } while (batch.size() == properties.getBatchSize());
+        while (index < snapshot.size()) {
+            listener.onRemoved(snapshot.id(index++));
+            removed++;
+        }
+        return removed;
+    }
+
+    public interface CatalogListener {
+
+        void onBook(long id, String title, String author);
+
+        void onRemoved(long id);
+    }
+}
@@ -0,0 +1,127 @@
+package com.vishnurp3.bookmanagementservice.snapshot;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Streams books, in ascending ID order, into the {@link CatalogSnapshot} layout. Every column is spooled to its own
+ * temporary file so memory use does not grow with the catalog; {@link #commit} assembles them and atomically
+ * replaces the target file.
+ */
+public final class CatalogSnapshotWriter implements Closeable {
+
+    private final Path target;
+    private final Path ids;
+    private final Path titleOffsets;
+    private final Path authorOffsets;
+    private final Path titles;
+    private final Path authors;
+    private final DataOutputStream idsOut;
+    private final DataOutputStream titleOffsetsOut;
+    private final DataOutputStream authorOffsetsOut;
+    private final OutputStream titlesOut;
+    private final OutputStream authorsOut;
+
+    private int count;
+    private long lastId;
+    private long titleHeapSize;
+    private long authorHeapSize;
+
+    public CatalogSnapshotWriter(Path target) throws IOException {
+        this.target = target.toAbsolutePath();
+        Files.createDirectories(this.target.getParent());
+        this.ids = Files.createTempFile(this.target.getParent(), "ids", ".tmp");
+        this.titleOffsets = Files.createTempFile(this.target.getParent(), "title-offsets", ".tmp");
+        this.authorOffsets = Files.createTempFile(this.target.getParent(), "author-offsets", ".tmp");
+        this.titles = Files.createTempFile(this.target.getParent(), "titles", ".tmp");
+        this.authors = Files.createTempFile(this.target.getParent(), "authors", ".tmp");
+        this.idsOut = dataOutput(ids);
+        this.titleOffsetsOut = dataOutput(titleOffsets);
+        this.authorOffsetsOut = dataOutput(authorOffsets);
+        this.titlesOut = new BufferedOutputStream(Files.newOutputStream(titles));
+        this.authorsOut = new BufferedOutputStream(Files.newOutputStream(authors));
+        titleOffsetsOut.writeInt(0);
+        authorOffsetsOut.writeInt(0);
+    }
+
+    public void append(long id, String title, String author) throws IOException {
+        if (count > 0 && id <= lastId) {
+            throw new IllegalArgumentException("Books must be appended in ascending ID order");
+        }
+        idsOut.writeLong(id);
+        titleHeapSize = appendString(title, titlesOut, titleOffsetsOut, titleHeapSize);
+        authorHeapSize = appendString(author, authorsOut, authorOffsetsOut, authorHeapSize);
+        lastId = id;
+        count++;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public void commit(LocalDate takenOn) throws IOException {
+        closeColumns();
+        Path assembled = Files.createTempFile(target.getParent(), "catalog", ".tmp");
+        try (FileChannel out = FileChannel.open(assembled, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(CatalogSnapshot.HEADER_SIZE)
+                    .putLong(CatalogSnapshot.MAGIC)
+                    .putInt(CatalogSnapshot.VERSION)
+                    .putInt(count)
+                    .putLong(lastId)
+                    .putLong(takenOn.toEpochDay())
+                    .putLong(titleHeapSize)
+                    .putLong(authorHeapSize)
+                    .flip();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (Path column : List.of(ids, titleOffsets, authorOffsets, titles, authors)) {
+                try (FileChannel in = FileChannel.open(column, StandardOpenOption.READ)) {
+                    long position = 0;
+                    while (position < in.size()) {
+                        position += in.transferTo(position, in.size() - position, out);
+                    }
+                }
+            }
+            out.force(true);
+        }
+        Files.move(assembled, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeColumns();
+        for (Path column : List.of(ids, titleOffsets, authorOffsets, titles, authors)) {
+            Files.deleteIfExists(column);
+        }
+    }
+
+    private static long appendString(String value, OutputStream heap, DataOutputStream offsets, long heapSize)
+            throws IOException {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        heap.write(bytes);
+        long newSize = heapSize + bytes.length;
+        offsets.writeInt(Math.toIntExact(newSize));
+        return newSize;
+    }
+
+    private void closeColumns() throws IOException {
+        idsOut.close();
+        titleOffsetsOut.close();
+        authorOffsetsOut.close();
+        titlesOut.close();
+        authorsOut.close();
+    }
+
+    private static DataOutputStream dataOutput(Path path) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+    }
+}
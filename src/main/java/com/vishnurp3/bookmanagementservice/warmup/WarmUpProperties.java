@@ -0,0 +1,19 @@
+package com.vishnurp3.bookmanagementservice.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "books.warm-up")
+public class WarmUpProperties {
+
+    private boolean enabled = false;
+
+    private int topBooks = 1000;
+
+    private int iterations = 200;
+
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
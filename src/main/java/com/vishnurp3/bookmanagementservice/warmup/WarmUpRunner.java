@@ -0,0 +1,127 @@
+package com.vishnurp3.bookmanagementservice.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnurp3.bookmanagementservice.cache.BookJsonCache;
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.exception.ResourceNotFoundException;
+import com.vishnurp3.bookmanagementservice.mapper.BookMapper;
+import com.vishnurp3.bookmanagementservice.popularity.BookPopularity;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.service.BookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Runs before the application reports itself ready: application runners complete before Spring Boot publishes
+ * {@code ReadinessState.ACCEPTING_TRAFFIC}, so the readiness probe stays down until the hottest books are cached
+ * and the JIT, Hibernate and Jackson have seen the main request paths.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final List<Sort> SORTS = List.of(
+            Sort.by("id"),
+            Sort.by(Sort.Direction.DESC, "title"),
+            Sort.by("author"),
+            Sort.by(Sort.Direction.DESC, "price"));
+
+    // As the listing endpoint filters: title by substring ignoring case, category exactly.
+    private static final ExampleMatcher FILTER = ExampleMatcher.matchingAll()
+            .withIgnoreCase()
+            .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
+            .withMatcher("category", property -> property.exact().caseSensitive());
+
+    private final WarmUpProperties properties;
+    private final BookPopularity bookPopularity;
+    private final BookService bookService;
+    private final BookJsonCache bookJsonCache;
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + properties.getMaxDuration().toNanos();
+        try {
+            int preloaded = preloadHottestBooks(deadline);
+            int iterations = exerciseRequestPaths(deadline);
+            log.info("Warm-up preloaded {} books and ran {} synthetic iterations in {} ms",
+                    preloaded, iterations, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Warm-up aborted", e);
+        }
+    }
+
+    private int preloadHottestBooks(long deadline) {
+        int preloaded = 0;
+        for (Long id : bookPopularity.mostViewed(properties.getTopBooks())) {
+            if (System.nanoTime() > deadline) {
+                break;
+            }
+            try {
+                bookJsonCache.get(id, () -> bookService.getBookById(id));
+                preloaded++;
+            } catch (ResourceNotFoundException e) {
+                log.debug("Skipping warm-up of deleted book {}", id);
+            }
+        }
+        return preloaded;
+    }
+
+    /**
+     * Queries the repository and maps directly: through the service, every round after the first few would be
+     * answered by the listing cache without touching Hibernate, JDBC or the mapper.
+     */
+    private int exerciseRequestPaths(long deadline) {
+        int iteration = 0;
+        while (iteration < properties.getIterations() && System.nanoTime() < deadline) {
+            Sort sort = SORTS.get(iteration % SORTS.size());
+            Page<BookResponseDto> page = bookRepository.findAll(PageRequest.of(0, 20, sort)).map(bookMapper::toDto);
+            for (BookResponseDto book : page) {
+                Book probe = Book.builder().title(book.getTitle()).category(book.getCategory()).build();
+                bookRepository.findAll(Example.of(probe, FILTER), PageRequest.of(0, 10, sort)).map(bookMapper::toDto);
+                bookRepository.existsByIsbn(book.getIsbn());
+                roundTrip(book);
+            }
+            serialize(page);
+            iteration++;
+        }
+        return iteration;
+    }
+
+    private void roundTrip(BookResponseDto book) {
+        try {
+            BookRequestDto request = objectMapper.readValue(objectMapper.writeValueAsBytes(book), BookRequestDto.class);
+            bookJsonCache.serialize(bookMapper.toDto(bookMapper.toEntity(request)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Warm-up round trip failed for book " + book.getId(), e);
+        }
+    }
+
+    private void serialize(Page<BookResponseDto> page) {
+        try {
+            objectMapper.writeValueAsBytes(page);
+        } catch (IOException e) {
+            throw new IllegalStateException("Warm-up serialization failed", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+-- Moves books.category and books.publisher into the categories and publishers lookup tables.
+-- Run once against an existing MySQL schema before starting a version that maps them as ids.
+
+CREATE TABLE IF NOT EXISTS categories (
+    id   INT          NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS publishers (
+    id   INT          NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_publishers_name UNIQUE (name)
+);
+
+-- The default collation ignores case, so spellings differing only in case collapse into the first one inserted.
+INSERT IGNORE INTO categories (name) SELECT DISTINCT category FROM books WHERE category IS NOT NULL;
+INSERT IGNORE INTO publishers (name) SELECT DISTINCT publisher FROM books WHERE publisher IS NOT NULL;
+
+ALTER TABLE books
+    ADD COLUMN category_id INT,
+    ADD COLUMN publisher_id INT;
+
+UPDATE books b JOIN categories c ON c.name = b.category SET b.category_id = c.id;
+UPDATE books b JOIN publishers p ON p.name = b.publisher SET b.publisher_id = p.id;
+
+ALTER TABLE books
+    ADD INDEX idx_books_category_id (category_id),
+    ADD CONSTRAINT fk_books_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    ADD CONSTRAINT fk_books_publisher FOREIGN KEY (publisher_id) REFERENCES publishers (id),
+    DROP COLUMN category,
+    DROP COLUMN publisher;
@@ -0,0 +1,32 @@
+CREATE TABLE IF NOT EXISTS categories (
+    id   INT          NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS publishers (
+    id   INT          NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_publishers_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS books (
+    id               BIGINT        NOT NULL AUTO_INCREMENT,
+    title            VARCHAR(255)  NOT NULL,
+    author           VARCHAR(255)  NOT NULL,
+    isbn             VARCHAR(13)   NOT NULL,
+    publication_date DATE,
+    category_id      INT,
+    description      VARCHAR(4000),
+    publisher_id     INT,
+    price            DECIMAL(12, 2),
+    created_at       DATE,
+    updated_at       DATE,
+    deleted          BOOLEAN       NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_books_isbn UNIQUE (isbn),
+    CONSTRAINT fk_books_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_books_publisher FOREIGN KEY (publisher_id) REFERENCES publishers (id)
+);
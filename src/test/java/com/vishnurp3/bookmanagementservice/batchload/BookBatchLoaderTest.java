@@ -0,0 +1,111 @@
+package com.vishnurp3.bookmanagementservice.batchload;
+
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BookBatchLoaderTest {
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final BatchLoadProperties properties = new BatchLoadProperties();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private BookBatchLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setMaxWait(Duration.ofMillis(300));
+        when(bookRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            // Odd IDs exist.
+            return ids.stream().filter(id -> id % 2 == 1).map(id -> Book.builder().id(id).title("Book " + id).build()).toList();
+        });
+        loader = new BookBatchLoader(properties, bookRepository, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("should read concurrent lookups with one query and give each caller its own book")
+    void shouldShareOneQuery() throws Exception {
+        List<Future<Optional<Book>>> results = loadConcurrently(1L, 3L, 4L, 5L);
+
+        assertEquals("Book 1", results.get(0).get(5, TimeUnit.SECONDS).orElseThrow().getTitle());
+        assertEquals("Book 3", results.get(1).get(5, TimeUnit.SECONDS).orElseThrow().getTitle());
+        assertTrue(results.get(2).get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals("Book 5", results.get(3).get(5, TimeUnit.SECONDS).orElseThrow().getTitle());
+        verify(bookRepository, times(1)).findAllById(any());
+        verify(bookRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("should read a full batch straight away instead of waiting out the window")
+    void shouldReadFullBatchImmediately() throws Exception {
+        properties.setMaxWait(Duration.ofSeconds(30));
+        properties.setMaxBatchSize(2);
+
+        List<Future<Optional<Book>>> results = loadConcurrently(1L, 3L);
+
+        assertTrue(results.get(0).get(5, TimeUnit.SECONDS).isPresent());
+        assertTrue(results.get(1).get(5, TimeUnit.SECONDS).isPresent());
+    }
+
+    @Test
+    @DisplayName("should fail every lookup of a batch whose query fails")
+    void shouldFailWholeBatch() throws Exception {
+        reset(bookRepository);
+        when(bookRepository.findAllById(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        List<Future<Optional<Book>>> results = loadConcurrently(1L, 3L);
+
+        for (Future<Optional<Book>> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(DataAccessResourceFailureException.class, e.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("should read a lookup inside a transaction on its own")
+    void shouldNotBatchInsideTransaction() {
+        when(bookRepository.findById(7L)).thenReturn(Optional.of(Book.builder().id(7L).build()));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertTrue(loader.load(7L).isPresent());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        verify(bookRepository, never()).findAllById(any());
+    }
+
+    private List<Future<Optional<Book>>> loadConcurrently(Long... ids) {
+        List<Future<Optional<Book>>> results = new ArrayList<>();
+        for (Long id : ids) {
+            results.add(executor.submit(() -> loader.load(id)));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,141 @@
+package com.vishnurp3.bookmanagementservice.benchmark;
+
+import com.vishnurp3.bookmanagementservice.BookManagementServiceApplication;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.service.BookService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Throughput of {@link BookService#getBookById} for random books with one query per lookup against batched lookups,
+ * at 1, 16 and 256 concurrent readers sharing a pool of 8 connections. Runs against a file-based H2 database by
+ * default; pass a JDBC URL to measure a real MySQL server, where each query also pays a network round trip.
+ * <p>
+ * Arguments: {@code [measureSeconds] [books] [jdbcUrl] [username] [password]}, e.g.
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.vishnurp3.bookmanagementservice.benchmark.BatchLoadBenchmark -Djmh.args="20"}
+ */
+public class BatchLoadBenchmark {
+
+    private static final int[] READERS = {1, 16, 256};
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+
+    public static void main(String[] args) throws Exception {
+        Duration measure = Duration.ofSeconds(args.length > 0 ? Long.parseLong(args[0]) : 20);
+        int books = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Path directory = Files.createTempDirectory("batch-load-benchmark");
+        String url = args.length > 2 ? args[2] : "jdbc:h2:" + directory.resolve("books") + ";MODE=MySQL";
+        String username = args.length > 3 ? args[3] : "sa";
+        String password = args.length > 4 ? args[4] : "";
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try {
+            for (boolean batched : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext context = start(url, username, password, batched)) {
+                    long[] ids = batched ? existingIds(context) : load(context, books);
+                    BookService bookService = context.getBean(BookService.class);
+                    drive(bookService, ids, 16, WARM_UP);
+                    for (int readers : READERS) {
+                        long[] latencies = drive(bookService, ids, readers, measure);
+                        Arrays.sort(latencies);
+                        System.out.printf("%-18s readers=%3d lookups=%8d throughput=%8.0f/s p50=%7.2f ms p99=%7.2f ms%n",
+                                batched ? "batched" : "query per lookup", readers, latencies.length,
+                                latencies.length / (double) measure.toSeconds(),
+                                percentile(latencies, 0.50), percentile(latencies, 0.99));
+                    }
+                }
+            }
+        } finally {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String url, String username, String password, boolean batched) {
+        return new SpringApplicationBuilder(BookManagementServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.datasource.driver-class-name=" + DatabaseDriver.fromJdbcUrl(url).getDriverClassName(),
+                        "--spring.datasource.hikari.maximum-pool-size=8",
+                        // The first run creates the schema and the second reuses it.
+                        "--spring.jpa.hibernate.ddl-auto=" + (batched ? "none" : "create"),
+                        "--books.batch-load.enabled=" + batched,
+                        "--books.popularity.enabled=false",
+                        "--books.purge.enabled=false",
+                        "--logging.level.root=WARN");
+    }
+
+    private static long[] load(ConfigurableApplicationContext context, int books) {
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        List<Book> batch = new ArrayList<>();
+        for (int i = 0; i < books; i++) {
+            batch.add(Book.builder()
+                    .title("Batch Load Book " + i)
+                    .author("Author " + i % 100)
+                    .isbn(Long.toString(9780000000000L + i))
+                    .publicationDate(LocalDate.of(2001, 1, 1))
+                    .price(new BigDecimal("19.99"))
+                    .build());
+            if (batch.size() == 1000) {
+                bookRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        bookRepository.saveAll(batch);
+        return existingIds(context);
+    }
+
+    private static long[] existingIds(ConfigurableApplicationContext context) {
+        return context.getBean(BookRepository.class).findAll().stream().mapToLong(Book::getId).toArray();
+    }
+
+    private static long[] drive(BookService bookService, long[] ids, int readers, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int reader = 0; reader < readers; reader++) {
+            results.add(executor.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    bookService.getBookById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        executor.shutdown();
+        List<long[]> perReader = new ArrayList<>();
+        for (Future<long[]> result : results) {
+            perReader.add(result.get());
+        }
+        return perReader.stream().flatMapToLong(Arrays::stream).toArray();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
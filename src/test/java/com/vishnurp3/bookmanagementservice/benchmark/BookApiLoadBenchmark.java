@@ -0,0 +1,166 @@
+package com.vishnurp3.bookmanagementservice.benchmark;
+
+import com.vishnurp3.bookmanagementservice.BookManagementServiceApplication;
+import com.vishnurp3.bookmanagementservice.reactive.ReactiveBookManagementServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Side-by-side load test of the servlet/JPA application and the WebFlux/R2DBC variant, both backed by an
+ * in-memory H2 database. Each run seeds the catalog, warms up, and then drives a 90/10 mix of lookups by id
+ * and paged listings from a fixed number of concurrent clients, reporting throughput and latency percentiles.
+ * <p>
+ * Arguments: {@code [concurrency] [measureSeconds] [books]}, e.g.
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.vishnurp3.bookmanagementservice.benchmark.BookApiLoadBenchmark -Djmh.args="64 30 1000"}
+ */
+public class BookApiLoadBenchmark {
+
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        Duration measure = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        int books = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        run("servlet + JDBC", BookApiLoadBenchmark::servlet, concurrency, measure, books);
+        run("webflux + R2DBC", BookApiLoadBenchmark::reactive, concurrency, measure, books);
+    }
+
+    private static ConfigurableApplicationContext servlet() {
+        return new SpringApplicationBuilder(BookManagementServiceApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:book_load_servlet;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.level.root=WARN");
+    }
+
+    private static ConfigurableApplicationContext reactive() {
+        return new SpringApplicationBuilder(ReactiveBookManagementServiceApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(
+                        "--server.port=0",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///book_load_reactive;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--logging.level.root=WARN",
+                        "--logging.level.io.r2dbc.h2=ERROR");
+    }
+
+    private static void run(String name, Supplier<ConfigurableApplicationContext> application, int concurrency, Duration measure, int books)
+            throws Exception {
+        try (ConfigurableApplicationContext context = application.get()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/books";
+            ExecutorService clientExecutor = Executors.newFixedThreadPool(concurrency);
+            long[] latencies;
+            try {
+                HttpClient client = HttpClient.newBuilder().executor(clientExecutor).build();
+                long firstId = seed(client, baseUrl, books);
+
+                drive(client, baseUrl, firstId, books, concurrency, WARM_UP);
+                latencies = drive(client, baseUrl, firstId, books, concurrency, measure);
+            } finally {
+                clientExecutor.shutdownNow();
+            }
+
+            Arrays.sort(latencies);
+            System.out.printf("%-16s concurrency=%d requests=%d throughput=%.0f req/s p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                    name, concurrency, latencies.length, latencies.length / (double) measure.toSeconds(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+        }
+    }
+
+    private static long seed(HttpClient client, String baseUrl, int books) throws Exception {
+        long firstId = -1;
+        for (int i = 0; i < books; i++) {
+            String body = """
+                    {"title":"Load Test Book %1$d","author":"Author %2$d","isbn":"%3$013d","publicationDate":"2001-01-01",\
+                    "category":"Category %4$d","description":"Seeded for the load benchmark","publisher":"Publisher %4$d","price":19.99}
+                    """.formatted(i, i % 100, 9780000000000L + i, i % 10);
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed: " + response.statusCode() + " " + response.body());
+            }
+            if (firstId < 0) {
+                String json = response.body();
+                int start = json.indexOf("\"id\":") + 5;
+                firstId = Long.parseLong(json.substring(start, json.indexOf(',', start)).trim());
+            }
+        }
+        return firstId;
+    }
+
+    private static long[] drive(HttpClient client, String baseUrl, long firstId, int books, int concurrency, Duration duration)
+            throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int worker = 0; worker < concurrency; worker++) {
+            results.add(workers.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    URI uri = random.nextInt(10) == 0
+                            ? URI.create(baseUrl + "?page=" + random.nextInt(books / 10) + "&size=10&sortBy=title")
+                            : URI.create(baseUrl + "/" + (firstId + random.nextInt(books)));
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri)
+                            .header("Accept", "application/json")
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                    long elapsed = System.nanoTime() - start;
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + uri);
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = elapsed;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        workers.shutdown();
+        return results.stream()
+                .map(BookApiLoadBenchmark::join)
+                .flatMapToLong(Arrays::stream)
+                .toArray();
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,67 @@
+package com.vishnurp3.bookmanagementservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnurp3.bookmanagementservice.cache.BookJsonCache;
+import com.vishnurp3.bookmanagementservice.cache.BookJsonCacheProperties;
+import com.vishnurp3.bookmanagementservice.cache.CatalogVersion;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.mapper.BookMapper;
+import com.vishnurp3.bookmanagementservice.mapper.BookMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of mapping and serializing a cached entity with serving pre-serialized bytes.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="BookResponseSerializationBenchmark -prof gc"}
+ * and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookResponseSerializationBenchmark {
+
+    private Book book;
+    private BookMapper bookMapper;
+    private ObjectMapper objectMapper;
+    private BookJsonCache bookJsonCache;
+
+    @Setup
+    public void setUp() {
+        book = Book.builder()
+                .id(1L)
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .isbn("9780134685991")
+                .publicationDate(LocalDate.of(2018, 1, 6))
+                .category("Programming")
+                .description("A comprehensive guide to Java best practices.")
+                .publisher("Addison-Wesley")
+                .price(new BigDecimal("45.99"))
+                .createdAt(LocalDate.of(2023, 1, 1))
+                .updatedAt(LocalDate.of(2023, 5, 10))
+                .build();
+        bookMapper = new BookMapperImpl();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        bookJsonCache = new BookJsonCache(objectMapper, new BookJsonCacheProperties(), new CatalogVersion(),
+                new SimpleMeterRegistry());
+        bookJsonCache.get(book.getId(), () -> bookMapper.toDto(book));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(bookMapper.toDto(book));
+    }
+
+    @Benchmark
+    public byte[] cachedBytes() {
+        return bookJsonCache.get(book.getId(), () -> bookMapper.toDto(book)).json();
+    }
+}
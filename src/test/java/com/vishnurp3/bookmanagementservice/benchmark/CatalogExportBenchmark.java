@@ -0,0 +1,107 @@
+package com.vishnurp3.bookmanagementservice.benchmark;
+
+import com.vishnurp3.bookmanagementservice.BookManagementServiceApplication;
+import com.vishnurp3.bookmanagementservice.export.CatalogExportProperties;
+import com.vishnurp3.bookmanagementservice.export.CatalogExporter;
+import com.vishnurp3.bookmanagementservice.export.ExportFormat;
+import com.vishnurp3.bookmanagementservice.export.ExportManifest;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catalog export throughput with 1, 2, 4 and 8 workers over the same 16 id-range partitions. Runs against a
+ * file-based H2 database seeded with {@code books} rows by default; pass a JDBC URL to export an existing MySQL
+ * catalog instead, in which case nothing is seeded.
+ * <p>
+ * Arguments: {@code [books] [format] [jdbcUrl] [username] [password]}, e.g.
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.vishnurp3.bookmanagementservice.benchmark.CatalogExportBenchmark -Djmh.args="1000000 ndjson"}
+ */
+public class CatalogExportBenchmark {
+
+    private static final int[] WORKERS = {1, 2, 4, 8};
+    private static final int PARTITIONS = 16;
+    private static final int BATCH_SIZE = 5000;
+
+    public static void main(String[] args) throws Exception {
+        int books = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        ExportFormat format = args.length > 1 ? ExportFormat.valueOf(args[1].toUpperCase()) : ExportFormat.NDJSON;
+        Path directory = Files.createTempDirectory("catalog-export-benchmark");
+        boolean seed = args.length <= 2;
+        String url = seed ? "jdbc:h2:" + directory.resolve("books") + ";MODE=MySQL" : args[2];
+        String username = args.length > 3 ? args[3] : "sa";
+        String password = args.length > 4 ? args[4] : "";
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (ConfigurableApplicationContext context = start(url, username, password, seed, directory.resolve("exports"))) {
+            if (seed) {
+                seed(context.getBean(JdbcTemplate.class), books);
+            }
+            CatalogExporter exporter = context.getBean(CatalogExporter.class);
+            CatalogExportProperties properties = context.getBean(CatalogExportProperties.class);
+            properties.setWorkers(1);
+            exporter.export(format, PARTITIONS);
+            for (int workers : WORKERS) {
+                properties.setWorkers(workers);
+                long started = System.nanoTime();
+                CatalogExporter.ExportResult result = exporter.export(format, PARTITIONS);
+                double seconds = (System.nanoTime() - started) / 1e9;
+                ExportManifest manifest = result.manifest();
+                long bytes = manifest.partitions().stream().mapToLong(ExportManifest.Partition::bytes).sum();
+                System.out.printf("%-6s workers=%d rows=%8d files=%2d time=%6.2f s throughput=%8.0f rows/s %6.1f MB/s compressed%n",
+                        format, workers, manifest.totalRows(), manifest.partitions().size(), seconds,
+                        manifest.totalRows() / seconds, bytes / seconds / (1 << 20));
+                FileSystemUtils.deleteRecursively(Path.of(result.directory()));
+            }
+        } finally {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String url, String username, String password, boolean seed,
+                                                        Path outputDirectory) {
+        return new SpringApplicationBuilder(BookManagementServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.datasource.driver-class-name=" + DatabaseDriver.fromJdbcUrl(url).getDriverClassName(),
+                        "--spring.datasource.hikari.maximum-pool-size=16",
+                        "--spring.jpa.hibernate.ddl-auto=" + (seed ? "create-drop" : "none"),
+                        "--books.export.output-directory=" + outputDirectory,
+                        "--books.popularity.enabled=false",
+                        "--books.purge.enabled=false",
+                        "--logging.level.root=WARN");
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int books) {
+        for (int i = 1; i <= 20; i++) {
+            jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (?, ?)", i, "Category " + i);
+            jdbcTemplate.update("INSERT INTO publishers (id, name) VALUES (?, ?)", i, "Publisher " + i);
+        }
+        Date date = Date.valueOf(LocalDate.of(2001, 1, 1));
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= books; i++) {
+            batch.add(new Object[]{"Exported Book " + i, "Author " + i % 1000, Long.toString(9780000000000L + i), date,
+                    i % 20 + 1, i % 20 + 1, "A description of exported book " + i + ", long enough to resemble one.",
+                    "19.99", date, date});
+            if (batch.size() == BATCH_SIZE || i == books) {
+                jdbcTemplate.batchUpdate("INSERT INTO books (title, author, isbn, publication_date, category_id, "
+                        + "publisher_id, description, price, created_at, updated_at, deleted) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
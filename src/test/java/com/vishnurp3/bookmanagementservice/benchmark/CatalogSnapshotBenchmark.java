@@ -0,0 +1,129 @@
+package com.vishnurp3.bookmanagementservice.benchmark;
+
+import com.vishnurp3.bookmanagementservice.snapshot.CatalogSnapshot;
+import com.vishnurp3.bookmanagementservice.snapshot.CatalogSnapshotWriter;
+import org.springframework.util.FileSystemUtils;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDate;
+
+/**
+ * Compares a cold rebuild of the searchable catalog (keyset scan over JDBC, as the fuzzy index does without a
+ * snapshot) with a warm start from a memory-mapped snapshot. The catalog lives in a file-based H2 database so that
+ * the database itself does not occupy the measured heap.
+ * <p>
+ * Arguments: {@code [books]}, e.g.
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.vishnurp3.bookmanagementservice.benchmark.CatalogSnapshotBenchmark -Djmh.args="5000000"}
+ */
+public class CatalogSnapshotBenchmark {
+
+    private static final int BATCH_SIZE = 10000;
+
+    public static void main(String[] args) throws Exception {
+        int books = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Path directory = Files.createTempDirectory("catalog-snapshot-benchmark");
+        Path snapshotPath = directory.resolve("catalog.snapshot");
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:" + directory.resolve("books") + ";MODE=MySQL", "sa", "")) {
+            seed(connection, books);
+
+            Measurement cold = measure(() -> scan(connection, null));
+            Measurement write = measure(() -> scan(connection, new CatalogSnapshotWriter(snapshotPath)));
+            Measurement warm = measure(() -> read(snapshotPath));
+
+            System.out.printf("books=%d snapshot=%d MB%n", books, Files.size(snapshotPath) >> 20);
+            System.out.printf("cold rebuild   %s%n", cold);
+            System.out.printf("write snapshot %s%n", write);
+            System.out.printf("warm start     %s%n", warm);
+        } finally {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    private static void seed(Connection connection, int books) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE books (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, author VARCHAR(255) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO books (id, title, author) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= books; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "The Collected Works of Volume " + i);
+                insert.setString(3, "Author Number " + (i % 50000));
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+    }
+
+    private static long scan(Connection connection, CatalogSnapshotWriter writer) throws Exception {
+        long checksum = 0;
+        long lastId = 0;
+        int rows;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, title, author FROM books WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE)) {
+            do {
+                rows = 0;
+                select.setLong(1, lastId);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastId = resultSet.getLong(1);
+                        String title = resultSet.getString(2);
+                        String author = resultSet.getString(3);
+                        if (writer != null) {
+                            writer.append(lastId, title, author);
+                        }
+                        checksum += lastId + title.length() + author.length();
+                        rows++;
+                    }
+                }
+            } while (rows == BATCH_SIZE);
+        }
+        if (writer != null) {
+            writer.commit(LocalDate.now());
+            writer.close();
+        }
+        return checksum;
+    }
+
+    private static long read(Path snapshotPath) throws Exception {
+        CatalogSnapshot snapshot = CatalogSnapshot.open(snapshotPath);
+        long checksum = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            checksum += snapshot.id(i) + snapshot.title(i).length() + snapshot.author(i).length();
+        }
+        return checksum;
+    }
+
+    private static Measurement measure(Loader loader) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        System.gc();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        long checksum = loader.load();
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement(elapsed / 1_000_000, allocated >> 20, checksum);
+    }
+
+    private interface Loader {
+        long load() throws Exception;
+    }
+
+    private record Measurement(long millis, long allocatedMegabytes, long checksum) {
+
+        @Override
+        public String toString() {
+            return "%6d ms  %6d MB allocated  (checksum %d)".formatted(millis, allocatedMegabytes, checksum);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.vishnurp3.bookmanagementservice.benchmark;
+
+import com.vishnurp3.bookmanagementservice.BookManagementServiceApplication;
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.service.BookService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.FileSystemUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write throughput of {@link BookService#createBook} with one transaction per create against group commit, at 1, 16
+ * and 256 concurrent writers. Runs against a file-based H2 database by default, so every commit is written to disk;
+ * pass a JDBC URL to measure a real MySQL server, where each commit also waits for the redo log flush.
+ * <p>
+ * H2 2.2 occasionally hands out a duplicate identity value to concurrent inserts; those creates are reported as
+ * failed and left out of the latencies rather than aborting the run.
+ * <p>
+ * Arguments: {@code [measureSeconds] [jdbcUrl] [username] [password]}, e.g.
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.vishnurp3.bookmanagementservice.benchmark.GroupCommitBenchmark -Djmh.args="20"}
+ */
+public class GroupCommitBenchmark {
+
+    private static final int[] WRITERS = {1, 16, 256};
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final AtomicLong NEXT_ISBN = new AtomicLong(9780000000000L);
+    private static final AtomicLong FAILED = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        Duration measure = Duration.ofSeconds(args.length > 0 ? Long.parseLong(args[0]) : 20);
+        Path directory = Files.createTempDirectory("group-commit-benchmark");
+        String url = args.length > 1 ? args[1] : "jdbc:h2:" + directory.resolve("books") + ";MODE=MySQL";
+        String username = args.length > 2 ? args[2] : "sa";
+        String password = args.length > 3 ? args[3] : "";
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try {
+            for (boolean groupCommit : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext context = start(url, username, password, groupCommit)) {
+                    BookService bookService = context.getBean(BookService.class);
+                    drive(bookService, 16, WARM_UP);
+                    for (int writers : WRITERS) {
+                        FAILED.set(0);
+                        long[] latencies = drive(bookService, writers, measure);
+                        Arrays.sort(latencies);
+                        System.out.printf("%-20s writers=%3d creates=%7d failed=%4d throughput=%7.0f/s p50=%7.2f ms p99=%7.2f ms%n",
+                                groupCommit ? "group commit" : "commit per create", writers, latencies.length,
+                                FAILED.get(), latencies.length / (double) measure.toSeconds(),
+                                percentile(latencies, 0.50), percentile(latencies, 0.99));
+                    }
+                }
+            }
+        } finally {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String url, String username, String password, boolean groupCommit) {
+        return new SpringApplicationBuilder(BookManagementServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.datasource.driver-class-name=" + DatabaseDriver.fromJdbcUrl(url).getDriverClassName(),
+                        "--spring.datasource.hikari.maximum-pool-size=32",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--books.group-commit.enabled=" + groupCommit,
+                        "--books.popularity.enabled=false",
+                        "--books.purge.enabled=false",
+                        "--logging.level.root=WARN");
+    }
+
+    private static long[] drive(BookService bookService, int writers, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int writer = 0; writer < writers; writer++) {
+            results.add(executor.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        bookService.createBook(request(NEXT_ISBN.getAndIncrement()));
+                    } catch (DataIntegrityViolationException e) {
+                        FAILED.incrementAndGet();
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        executor.shutdown();
+        List<long[]> perWriter = new ArrayList<>();
+        for (Future<long[]> result : results) {
+            perWriter.add(result.get());
+        }
+        return perWriter.stream().flatMapToLong(Arrays::stream).toArray();
+    }
+
+    private static BookRequestDto request(long isbn) {
+        BookRequestDto request = new BookRequestDto();
+        request.setTitle("Group Commit Book " + isbn);
+        request.setAuthor("Author " + isbn % 100);
+        request.setIsbn(Long.toString(isbn));
+        request.setPublicationDate(LocalDate.of(2001, 1, 1));
+        request.setCategory("Category " + isbn % 10);
+        request.setPublisher("Publisher " + isbn % 10);
+        request.setPrice(new BigDecimal("19.99"));
+        return request;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
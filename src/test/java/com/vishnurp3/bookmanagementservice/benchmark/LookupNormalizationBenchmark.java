@@ -0,0 +1,226 @@
+package com.vishnurp3.bookmanagementservice.benchmark;
+
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares storing category and publisher as text on every book with storing integer ids into lookup tables:
+ * on-disk size of a file-based H2 database, heap retained by the loaded category and publisher values, and the
+ * latency of filtering by category (the former case-insensitive substring match, an indexed text equality, and an
+ * indexed integer equality).
+ * <p>
+ * Arguments: {@code [books] [categories] [publishers]}, e.g.
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.vishnurp3.bookmanagementservice.benchmark.LookupNormalizationBenchmark -Djmh.args="1000000 40 2000"}
+ */
+public class LookupNormalizationBenchmark {
+
+    private static final int BATCH_SIZE = 10000;
+    private static final int QUERY_RUNS = 20;
+
+    public static void main(String[] args) throws Exception {
+        int books = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int categories = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+        int publishers = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+        Path directory = Files.createTempDirectory("lookup-normalization-benchmark");
+
+        try {
+            Path textDatabase = directory.resolve("text");
+            Path lookupDatabase = directory.resolve("lookup");
+            try (Connection connection = connect(textDatabase)) {
+                seedText(connection, books, categories, publishers);
+            }
+            try (Connection connection = connect(lookupDatabase)) {
+                seedLookup(connection, books, categories, publishers);
+            }
+            System.out.printf("books=%d categories=%d publishers=%d%n", books, categories, publishers);
+            System.out.printf("database size   text %6d MB   lookup %6d MB%n",
+                    compactedSize(textDatabase) >> 20, compactedSize(lookupDatabase) >> 20);
+
+            try (Connection text = connect(textDatabase); Connection lookup = connect(lookupDatabase)) {
+                System.out.printf("retained heap   text %6d MB   lookup %6d MB%n",
+                        retainedMegabytes(() -> loadText(text)), retainedMegabytes(() -> loadLookup(lookup)));
+
+                String category = categoryName(categories / 2);
+                System.out.printf("category filter LIKE %s   = text %s   = id %s%n",
+                        time(text, "SELECT id FROM books WHERE LOWER(category) LIKE ?", "%" + category.toLowerCase() + "%"),
+                        time(text, "SELECT id FROM books WHERE category = ?", category),
+                        time(lookup, "SELECT id FROM books WHERE category_id = ?", categories / 2 + 1));
+            }
+        } finally {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    private static Connection connect(Path database) throws SQLException {
+        return DriverManager.getConnection("jdbc:h2:" + database + ";MODE=MySQL", "sa", "");
+    }
+
+    private static void seedText(Connection connection, int books, int categories, int publishers) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE books (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+                    + "category VARCHAR(255), publisher VARCHAR(255))");
+            statement.execute("CREATE INDEX idx_books_category ON books (category)");
+        }
+        insertBooks(connection, "INSERT INTO books (id, title, category, publisher) VALUES (?, ?, ?, ?)", books,
+                (insert, i) -> {
+                    insert.setString(3, categoryName(i % categories));
+                    insert.setString(4, publisherName(i % publishers));
+                });
+    }
+
+    private static void seedLookup(Connection connection, int books, int categories, int publishers) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE categories (id INT PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE)");
+            statement.execute("CREATE TABLE publishers (id INT PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE)");
+            statement.execute("CREATE TABLE books (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+                    + "category_id INT REFERENCES categories (id), publisher_id INT REFERENCES publishers (id))");
+            statement.execute("CREATE INDEX idx_books_category_id ON books (category_id)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO categories (id, name) VALUES (?, ?)")) {
+            for (int i = 0; i < categories; i++) {
+                insert.setInt(1, i + 1);
+                insert.setString(2, categoryName(i));
+                insert.executeUpdate();
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO publishers (id, name) VALUES (?, ?)")) {
+            for (int i = 0; i < publishers; i++) {
+                insert.setInt(1, i + 1);
+                insert.setString(2, publisherName(i));
+                insert.executeUpdate();
+            }
+        }
+        insertBooks(connection, "INSERT INTO books (id, title, category_id, publisher_id) VALUES (?, ?, ?, ?)", books,
+                (insert, i) -> {
+                    insert.setInt(3, i % categories + 1);
+                    insert.setInt(4, i % publishers + 1);
+                });
+    }
+
+    private static void insertBooks(Connection connection, String sql, int books, Binder binder) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= books; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "The Collected Works of Volume " + i);
+                binder.bind(insert, i);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+    }
+
+    private static long compactedSize(Path database) throws Exception {
+        try (Connection connection = connect(database); Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN COMPACT");
+        }
+        return Files.size(Path.of(database + ".mv.db"));
+    }
+
+    // Each row reads its own String, as a text column mapped onto an entity does.
+    private static List<Row> loadText(Connection connection) throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT category, publisher FROM books")) {
+            while (resultSet.next()) {
+                rows.add(new Row(resultSet.getString(1), resultSet.getString(2)));
+            }
+        }
+        return rows;
+    }
+
+    // Rows share the canonical String of their lookup entry, as the lookup converters do.
+    private static List<Row> loadLookup(Connection connection) throws SQLException {
+        String[] categories = names(connection, "categories");
+        String[] publishers = names(connection, "publishers");
+        List<Row> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT category_id, publisher_id FROM books")) {
+            while (resultSet.next()) {
+                rows.add(new Row(categories[resultSet.getInt(1)], publishers[resultSet.getInt(2)]));
+            }
+        }
+        return rows;
+    }
+
+    private static String[] names(Connection connection, String table) throws SQLException {
+        List<String> names = new ArrayList<>(List.of(""));
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id, name FROM " + table + " ORDER BY id")) {
+            while (resultSet.next()) {
+                names.add(resultSet.getString(2));
+            }
+        }
+        return names.toArray(String[]::new);
+    }
+
+    private static long retainedMegabytes(Loader loader) throws Exception {
+        long before = usedHeap();
+        List<Row> rows = loader.load();
+        long retained = usedHeap() - before;
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("Nothing loaded");
+        }
+        return retained >> 20;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String time(Connection connection, String sql, Object parameter) throws SQLException {
+        long[] micros = new long[QUERY_RUNS];
+        long count = 0;
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            select.setObject(1, parameter);
+            for (int i = 0; i < QUERY_RUNS; i++) {
+                long started = System.nanoTime();
+                count = 0;
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        count++;
+                    }
+                }
+                micros[i] = (System.nanoTime() - started) / 1_000;
+            }
+        }
+        Arrays.sort(micros);
+        return "%8.2f ms (%d rows)".formatted(micros[QUERY_RUNS / 2] / 1_000.0, count);
+    }
+
+    private static String categoryName(int i) {
+        return "Category " + i + " Fiction and Literature";
+    }
+
+    private static String publisherName(int i) {
+        return "Publisher " + i + " Books & Media Group";
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement insert, int i) throws SQLException;
+    }
+
+    private interface Loader {
+        List<Row> load() throws Exception;
+    }
+
+    private record Row(String category, String publisher) {
+    }
+}
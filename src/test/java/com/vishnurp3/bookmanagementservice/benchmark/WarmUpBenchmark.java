@@ -0,0 +1,175 @@
+package com.vishnurp3.bookmanagementservice.benchmark;
+
+import com.vishnurp3.bookmanagementservice.BookManagementServiceApplication;
+import org.springframework.util.FileSystemUtils;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+/**
+ * Measures the latency of the first requests after a deploy with and without the warm-up stage. Every run is a
+ * fresh JVM on the same file-based H2 catalog: a seeding run creates the books and their view counts, then the
+ * application is started once with warm-up disabled and once enabled, and the first requests after the readiness
+ * probe turns UP are timed.
+ * <p>
+ * Arguments: {@code [books] [requests] [concurrency]}, e.g.
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.vishnurp3.bookmanagementservice.benchmark.WarmUpBenchmark -Djmh.args="2000 2000 8"}
+ */
+public class WarmUpBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int books = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        Path directory = Files.createTempDirectory("warm-up-benchmark");
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            Application seeding = Application.start(directory, true);
+            long firstId = seed(client, seeding.baseUrl, books);
+            drive(client, seeding.baseUrl, firstId, books, requests * 5, concurrency);
+            seeding.stop();
+
+            for (boolean warmUp : new boolean[]{false, true}) {
+                Application application = Application.start(directory, warmUp);
+                long[] latencies = drive(client, application.baseUrl, firstId, books, requests, concurrency);
+                application.stop();
+
+                Arrays.sort(latencies);
+                System.out.printf("warm-up=%-5s ready after %5d ms  first %d requests: p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                        warmUp, application.readyAfterMillis, latencies.length,
+                        percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+            }
+        } finally {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    private static long seed(HttpClient client, String baseUrl, int books) throws Exception {
+        long firstId = -1;
+        for (int i = 0; i < books; i++) {
+            String body = """
+                    {"title":"Warm-up Book %1$d","author":"Author %2$d","isbn":"%3$013d","publicationDate":"2001-01-01",\
+                    "category":"Category %4$d","description":"Seeded for the warm-up benchmark","publisher":"Publisher %4$d","price":19.99}
+                    """.formatted(i, i % 100, 9780000000000L + i, i % 10);
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (firstId < 0) {
+                String json = response.body();
+                int start = json.indexOf("\"id\":") + 5;
+                firstId = Long.parseLong(json.substring(start, json.indexOf(',', start)).trim());
+            }
+        }
+        return firstId;
+    }
+
+    private static long[] drive(HttpClient client, String baseUrl, long firstId, int books, int requests, int concurrency)
+            throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int worker = 0; worker < concurrency; worker++) {
+            int seed = worker;
+            int perWorker = requests / concurrency;
+            results.add(workers.submit(() -> {
+                Random random = new Random(seed);
+                long[] latencies = new long[perWorker];
+                for (int i = 0; i < perWorker; i++) {
+                    // Skewed towards low offsets, so a small set of books receives most lookups.
+                    int book = (int) (books * Math.pow(random.nextDouble(), 3));
+                    URI uri = random.nextInt(10) == 0
+                            ? URI.create(baseUrl + "?title=Book%20" + book + "&sortBy=title")
+                            : URI.create(baseUrl + "/" + (firstId + book));
+                    long start = System.nanoTime();
+                    client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+                    latencies[i] = System.nanoTime() - start;
+                }
+                return latencies;
+            }));
+        }
+        workers.shutdown();
+        List<long[]> all = new ArrayList<>();
+        for (Future<long[]> result : results) {
+            all.add(result.get());
+        }
+        return all.stream().flatMapToLong(Arrays::stream).toArray();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class Application {
+
+        private final Process process;
+        private final String baseUrl;
+        private final long readyAfterMillis;
+
+        private Application(Process process, String baseUrl, long readyAfterMillis) {
+            this.process = process;
+            this.baseUrl = baseUrl;
+            this.readyAfterMillis = readyAfterMillis;
+        }
+
+        static Application start(Path directory, boolean warmUp) throws Exception {
+            int port;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+            String java = ProcessHandle.current().info().command().orElse("java");
+            long started = System.nanoTime();
+            Process process = new ProcessBuilder(java,
+                    "-cp", System.getProperty("java.class.path"),
+                    BookManagementServiceApplication.class.getName(),
+                    "--server.port=" + port,
+                    "--spring.datasource.url=jdbc:h2:file:" + directory.resolve("books") + ";MODE=MySQL",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.jpa.hibernate.ddl-auto=update",
+                    "--spring.devtools.restart.enabled=false",
+                    "--logging.level.root=WARN",
+                    "--books.warm-up.enabled=" + warmUp)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+
+            HttpClient client = HttpClient.newHttpClient();
+            URI readiness = URI.create("http://localhost:" + port + "/actuator/health/readiness");
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(HttpRequest.newBuilder(readiness).build(), HttpResponse.BodyHandlers.discarding())
+                            .statusCode() == 200) {
+                        break;
+                    }
+                } catch (java.io.IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(50);
+            }
+            long readyAfter = (System.nanoTime() - started) / 1_000_000;
+            return new Application(process, "http://localhost:" + port + "/api/v1/books", readyAfter);
+        }
+
+        void stop() throws InterruptedException {
+            process.destroy();
+            if (!process.waitFor(60, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.vishnurp3.bookmanagementservice.cache;
+
+import com.vishnurp3.bookmanagementservice.count.CountStrategy;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.event.BookChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookListingCacheTest {
+
+    private final BookListingCacheProperties properties = new BookListingCacheProperties();
+    private final BookListingCache cache = new BookListingCache(properties, new CatalogVersion(), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("should load a listing once for filters differing only in case")
+    void shouldCacheByNormalizedFilter() {
+        Page<BookResponseDto> first = list("Java", "", PageRequest.of(0, 10));
+        Page<BookResponseDto> second = list("JAVA", null, PageRequest.of(0, 10));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(0.5, cache.statistics().hitRate());
+    }
+
+    @Test
+    @DisplayName("should load each page and sort order separately")
+    void shouldKeyByPageable() {
+        list("java", null, PageRequest.of(0, 10));
+        list("java", null, PageRequest.of(1, 10));
+        list("java", null, PageRequest.of(0, 10, Sort.by("title")));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("should retire every cached listing when the catalog changes")
+    void shouldRetireListingsOnCatalogChange() {
+        list("java", null, PageRequest.of(0, 10));
+
+        cache.onBookChanged(BookChangedEvent.deleted(1L));
+        list("java", null, PageRequest.of(0, 10));
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.catalogVersion());
+    }
+
+    @Test
+    @DisplayName("should keep the estimated size of cached listings within the bound")
+    void shouldBoundEstimatedSize() {
+        properties.setMaximumSize(DataSize.ofKilobytes(8));
+        BookListingCache bounded = new BookListingCache(properties, new CatalogVersion(), new SimpleMeterRegistry());
+        for (int page = 0; page < 100; page++) {
+            bounded.get("java", null, null, null, PageRequest.of(page, 10), CountStrategy.EXACT, () -> page(10));
+        }
+
+        BookListingCache.Statistics statistics = bounded.statistics();
+        assertTrue(statistics.estimatedBytes() > 0);
+        assertTrue(statistics.estimatedBytes() <= DataSize.ofKilobytes(8).toBytes());
+    }
+
+    private Page<BookResponseDto> list(String title, String author, PageRequest pageable) {
+        Supplier<Page<BookResponseDto>> loader = () -> {
+            loads.incrementAndGet();
+            return page(2);
+        };
+        return cache.get(title, author, null, null, pageable, CountStrategy.EXACT, loader);
+    }
+
+    private static Page<BookResponseDto> page(int books) {
+        List<BookResponseDto> content = IntStream.range(0, books).mapToObj(i -> {
+            BookResponseDto book = new BookResponseDto();
+            book.setId((long) i);
+            book.setTitle("Java Concurrency in Practice, volume " + i);
+            book.setAuthor("Brian Goetz");
+            return book;
+        }).toList();
+        return new PageImpl<>(content);
+    }
+}
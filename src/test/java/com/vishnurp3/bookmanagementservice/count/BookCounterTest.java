@@ -0,0 +1,84 @@
+package com.vishnurp3.bookmanagementservice.count;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookCounterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicLong exactCounts = new AtomicLong();
+    private DataSource dataSource;
+    private BookCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE books (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255))");
+        BookCountProperties properties = new BookCountProperties();
+        properties.setTtl(Duration.ofSeconds(30));
+        counter = new BookCounter(properties, dataSource, new SimpleMeterRegistry(), nanos::get);
+    }
+
+    @Test
+    @DisplayName("should count every time with the exact strategy")
+    void shouldAlwaysCountExactly() {
+        counter.count(CountStrategy.EXACT, "java", null, null, null, exact(7));
+        counter.count(CountStrategy.EXACT, "java", null, null, null, exact(7));
+
+        assertEquals(2, exactCounts.get());
+    }
+
+    @Test
+    @DisplayName("should reuse a cached count per filter, ignoring case, until the TTL passes")
+    void shouldReuseCachedCountUntilExpiry() {
+        assertEquals(7, counter.count(CountStrategy.CACHED, "Java", null, null, null, exact(7)));
+        assertEquals(7, counter.count(CountStrategy.CACHED, "JAVA", null, null, null, exact(8)));
+        assertEquals(3, counter.count(CountStrategy.CACHED, "Java", "Bloch", null, null, exact(3)));
+        assertEquals(2, exactCounts.get());
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertEquals(8, counter.count(CountStrategy.CACHED, "java", null, null, null, exact(8)));
+        assertEquals(3, exactCounts.get());
+    }
+
+    @Test
+    @DisplayName("should estimate an unfiltered total from table statistics without counting")
+    void shouldEstimateUnfilteredTotal() {
+        new JdbcTemplate(dataSource).update("INSERT INTO books (title) VALUES ('a'), ('b'), ('c')");
+
+        assertEquals(3, counter.count(CountStrategy.ESTIMATED, null, "", null, null, exact(99)));
+        assertEquals(0, exactCounts.get());
+    }
+
+    @Test
+    @DisplayName("should fall back to a cached count for a filtered estimate")
+    void shouldCacheFilteredEstimate() {
+        assertEquals(4, counter.count(CountStrategy.ESTIMATED, null, null, "Fiction", null, exact(4)));
+        assertEquals(4, counter.count(CountStrategy.ESTIMATED, null, null, "fiction", null, exact(5)));
+
+        assertEquals(1, exactCounts.get());
+        assertEquals(CountStrategy.CACHED, counter.applied(CountStrategy.ESTIMATED, null, null, "Fiction", null));
+        assertEquals(CountStrategy.ESTIMATED, counter.applied(CountStrategy.ESTIMATED, null, "", null, null));
+    }
+
+    private LongSupplier exact(long total) {
+        return () -> {
+            exactCounts.incrementAndGet();
+            return total;
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.vishnurp3.bookmanagementservice.diagnostics;
+
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookOperationEventTest {
+
+    @TempDir
+    Path directory;
+
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        recording = new Recording();
+        recording.enable(BookOperationEvent.class).withoutThreshold();
+        recording.enable(BookRequestEvent.class).withoutThreshold();
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    @DisplayName("should record database time, statement count, mapping time and result size")
+    void shouldRecordOperationFields() throws Exception {
+        String result = BookOperationEvent.record("getBookById", 42L, null, event -> {
+            BookEvent.onStatement(Duration.ofMillis(3).toNanos());
+            BookEvent.onStatement(Duration.ofMillis(2).toNanos());
+            event.setResultSize(1);
+            return event.mapping(() -> "mapped");
+        });
+
+        assertEquals("mapped", result);
+        RecordedEvent event = single(BookOperationEvent.class);
+        assertEquals("getBookById", event.getString("operation"));
+        assertEquals(42L, event.getLong("bookId"));
+        assertEquals(Duration.ofMillis(5), event.getDuration("databaseTime"));
+        assertEquals(2, event.getInt("statementCount"));
+        assertEquals(1L, event.getLong("resultSize"));
+        assertNotNull(event.getDuration("mappingTime"));
+        assertNull(event.getString("error"));
+    }
+
+    @Test
+    @DisplayName("should count a nested operation's statements towards the enclosing request")
+    void shouldAddNestedDatabaseTimeToParent() throws Exception {
+        BookRequestEvent.record("GET /api/v1/books", null, () -> "title=java", request -> {
+            BookEvent.onStatement(Duration.ofMillis(1).toNanos());
+            return BookOperationEvent.record("getBooks", null, null, operation -> {
+                BookEvent.onStatement(Duration.ofMillis(4).toNanos());
+                return null;
+            });
+        });
+        BookEvent.onStatement(Duration.ofMillis(100).toNanos());
+
+        assertEquals(Duration.ofMillis(4), single(BookOperationEvent.class).getDuration("databaseTime"));
+        RecordedEvent request = single(BookRequestEvent.class);
+        assertEquals("title=java", request.getString("filter"));
+        assertEquals(Duration.ofMillis(5), request.getDuration("databaseTime"));
+        assertEquals(2, request.getInt("statementCount"));
+    }
+
+    @Test
+    @DisplayName("should record the exception type of a failed operation and rethrow it")
+    void shouldRecordError() throws Exception {
+        assertThrows(IllegalStateException.class, () -> BookOperationEvent.record("deleteBook", 7L, null, event -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("IllegalStateException", single(BookOperationEvent.class).getString("error"));
+    }
+
+    private RecordedEvent single(Class<?> eventType) throws Exception {
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            recording.dump(directory.resolve("events.jfr"));
+        }
+        String name = eventType.getAnnotation(Name.class).value();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(directory.resolve("events.jfr")).stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, events.size());
+        return events.get(0);
+    }
+}
@@ -0,0 +1,169 @@
+package com.vishnurp3.bookmanagementservice.groupcommit;
+
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.exception.DuplicateResourceException;
+import com.vishnurp3.bookmanagementservice.exception.ServiceUnavailableException;
+import com.vishnurp3.bookmanagementservice.lookup.BookLookups;
+import com.vishnurp3.bookmanagementservice.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GroupCommitBookServiceTest {
+
+    private final BookService delegate = mock(BookService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private GroupCommitProperties properties;
+    private GroupCommitBookService service;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(delegate.createBook(any())).thenAnswer(invocation -> response(invocation.getArgument(0)));
+        properties = new GroupCommitProperties();
+        properties.setMaxWait(Duration.ZERO);
+        service = new GroupCommitBookService(delegate, properties, mock(BookLookups.class), transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        callers.shutdownNow();
+        service.destroy();
+    }
+
+    @Test
+    @DisplayName("should commit writes that queued up behind a batch in one shared transaction")
+    void shouldCommitQueuedWritesTogether() throws Exception {
+        List<BookRequestDto> requests = requests(5);
+        List<Future<BookResponseDto>> results = submitBehindFirstWrite(requests);
+
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(requests.get(i).getIsbn(), results.get(i).get(5, TimeUnit.SECONDS).getIsbn());
+        }
+        // One transaction for the first write, one for everything that queued up behind it.
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    @DisplayName("should fail only the caller whose write was rejected")
+    void shouldFailOnlyRejectedWrite() throws Exception {
+        List<BookRequestDto> requests = requests(3);
+        when(delegate.createBook(requests.get(1))).thenThrow(new DuplicateResourceException("Book with ISBN exists"));
+        List<Future<BookResponseDto>> results = submitBehindFirstWrite(requests);
+
+        assertNotNull(results.get(0).get(5, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> results.get(1).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DuplicateResourceException.class, failure.getCause());
+        assertNotNull(results.get(2).get(5, TimeUnit.SECONDS));
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    @DisplayName("should retry every write of a failed batch in a transaction of its own")
+    void shouldRetryFailedBatchOneByOne() throws Exception {
+        List<BookRequestDto> requests = requests(3);
+        when(delegate.createBook(requests.get(1)))
+                .thenThrow(new IllegalStateException("Deadlock"))
+                .thenReturn(response(requests.get(1)));
+        List<Future<BookResponseDto>> results = submitBehindFirstWrite(requests);
+
+        for (Future<BookResponseDto> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS));
+        }
+        verify(transactionManager).rollback(any());
+        verify(delegate, times(2)).createBook(requests.get(1));
+    }
+
+    @Test
+    @DisplayName("should fail the batch an error escapes from and keep writing")
+    void shouldSurviveErrorEscapingBatch() throws Exception {
+        List<BookRequestDto> requests = requests(2);
+        when(delegate.createBook(requests.get(0))).thenThrow(new StackOverflowError());
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> callers.submit(() -> service.createBook(requests.get(0))).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, failure.getCause());
+        assertNotNull(callers.submit(() -> service.createBook(requests.get(1))).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("should stop waiting for a commit after the timeout")
+    void shouldTimeOutWaitingForCommit() throws Exception {
+        properties.setCommitTimeout(Duration.ofMillis(50));
+        List<BookRequestDto> requests = requests(2);
+        when(delegate.createBook(requests.get(0))).thenAnswer(invocation -> {
+            firstWriteStarted.countDown();
+            assertTrue(releaseFirstWrite.await(5, TimeUnit.SECONDS));
+            return response(requests.get(0));
+        });
+        Future<BookResponseDto> first = callers.submit(() -> service.createBook(requests.get(0)));
+        assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServiceUnavailableException.class, () -> service.createBook(requests.get(1)));
+        releaseFirstWrite.countDown();
+        // The writer held the first write past the timeout as well.
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceUnavailableException.class, failure.getCause());
+    }
+
+    // Holds the writer inside the first write until the remaining ones are queued, so they form one batch.
+    private List<Future<BookResponseDto>> submitBehindFirstWrite(List<BookRequestDto> requests) throws Exception {
+        BookRequestDto first = requests.get(0);
+        when(delegate.createBook(first)).thenAnswer(invocation -> {
+            firstWriteStarted.countDown();
+            assertTrue(releaseFirstWrite.await(5, TimeUnit.SECONDS));
+            return response(first);
+        });
+
+        List<Future<BookResponseDto>> results = new ArrayList<>();
+        results.add(callers.submit(() -> service.createBook(first)));
+        assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+        for (BookRequestDto request : requests.subList(1, requests.size())) {
+            results.add(callers.submit(() -> service.createBook(request)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.queuedWrites() < requests.size() - 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        releaseFirstWrite.countDown();
+        return results;
+    }
+
+    private static List<BookRequestDto> requests(int count) {
+        List<BookRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BookRequestDto request = new BookRequestDto();
+            request.setTitle("Book " + i);
+            request.setIsbn("978000000000" + i);
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private static BookResponseDto response(BookRequestDto request) {
+        BookResponseDto response = new BookResponseDto();
+        response.setTitle(request.getTitle());
+        response.setIsbn(request.getIsbn());
+        return response;
+    }
+}
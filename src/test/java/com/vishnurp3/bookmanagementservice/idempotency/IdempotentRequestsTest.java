@@ -0,0 +1,88 @@
+package com.vishnurp3.bookmanagementservice.idempotency;
+
+import com.vishnurp3.bookmanagementservice.exception.IdempotencyKeyReuseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotentRequestsTest {
+
+    private final IdempotentRequests idempotentRequests =
+            new IdempotentRequests(new IdempotencyProperties(), new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("should replay the stored response without running the action again")
+    void shouldReplayStoredResponse() {
+        AtomicInteger calls = new AtomicInteger();
+
+        IdempotentRequests.Result<String> first = idempotentRequests.execute("key-1", "request", () -> "book-" + calls.incrementAndGet());
+        IdempotentRequests.Result<String> retry = idempotentRequests.execute("key-1", "request", () -> "book-" + calls.incrementAndGet());
+
+        assertEquals(new IdempotentRequests.Result<>("book-1", false), first);
+        assertEquals(new IdempotentRequests.Result<>("book-1", true), retry);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("should reject a key reused for a different request")
+    void shouldRejectKeyReuse() {
+        idempotentRequests.execute("key-1", "request", () -> "book-1");
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> idempotentRequests.execute("key-1", "other request", () -> "book-2"));
+    }
+
+    @Test
+    @DisplayName("should run the action again after a failure")
+    void shouldNotRememberFailures() {
+        assertThrows(IllegalStateException.class, () -> idempotentRequests.execute("key-1", "request", () -> {
+            throw new IllegalStateException("Database is down");
+        }));
+
+        assertEquals(new IdempotentRequests.Result<>("book-1", false),
+                idempotentRequests.execute("key-1", "request", () -> "book-1"));
+    }
+
+    @Test
+    @DisplayName("should make concurrent duplicates wait for the original")
+    void shouldMakeConcurrentDuplicatesWait() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch originalStarted = new CountDownLatch(1);
+        CountDownLatch releaseOriginal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<IdempotentRequests.Result<String>> original = executor.submit(() ->
+                    idempotentRequests.execute("key-1", "request", () -> {
+                        calls.incrementAndGet();
+                        originalStarted.countDown();
+                        await(releaseOriginal);
+                        return "book-1";
+                    }));
+            assertTrue(originalStarted.await(5, TimeUnit.SECONDS));
+
+            Future<IdempotentRequests.Result<String>> duplicate = executor.submit(() ->
+                    idempotentRequests.execute("key-1", "request", () -> "book-" + (calls.incrementAndGet() + 1)));
+            assertThrows(TimeoutException.class, () -> duplicate.get(200, TimeUnit.MILLISECONDS));
+
+            releaseOriginal.countDown();
+            assertEquals(new IdempotentRequests.Result<>("book-1", false), original.get(5, TimeUnit.SECONDS));
+            assertEquals(new IdempotentRequests.Result<>("book-1", true), duplicate.get(5, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.vishnurp3.bookmanagementservice.integration;
+
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = {
+        "books.batch-load.enabled=true",
+        "books.batch-load.max-wait=200ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BatchLoadIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void shouldGiveEachConcurrentLookupItsOwnBookFromSharedQueries() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add(bookRepository.save(Book.builder()
+                    .title("Batched Book " + i)
+                    .author("Jane Doe")
+                    .isbn(String.format("978200000%04d", i))
+                    .publicationDate(LocalDate.of(2020, 1, 1))
+                    .price(new BigDecimal("19.99"))
+                    .build()).getId());
+        }
+        long missingId = ids.get(ids.size() - 1) + 1000;
+        DistributionSummary batchSizes = meterRegistry.get("books.read.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+        double booksBefore = batchSizes.totalAmount();
+
+        ExecutorService executor = Executors.newFixedThreadPool(ids.size() + 1);
+        try {
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            for (Long id : ids) {
+                responses.add(executor.submit(() -> mockMvc.perform(get("/api/v1/books/" + id)).andReturn().getResponse()));
+            }
+            Future<MockHttpServletResponse> missing =
+                    executor.submit(() -> mockMvc.perform(get("/api/v1/books/" + missingId)).andReturn().getResponse());
+
+            for (int i = 0; i < ids.size(); i++) {
+                MockHttpServletResponse response = responses.get(i).get(10, TimeUnit.SECONDS);
+                assertEquals(200, response.getStatus());
+                assertTrue(response.getContentAsString().contains("\"Batched Book " + i + "\""),
+                        response.getContentAsString());
+            }
+            assertEquals(404, missing.get(10, TimeUnit.SECONDS).getStatus());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long batches = batchSizes.count() - batchesBefore;
+        assertEquals(ids.size() + 1, batchSizes.totalAmount() - booksBefore);
+        assertTrue(batches < ids.size() + 1, "Expected lookups to share queries, got " + batches + " batches");
+    }
+}
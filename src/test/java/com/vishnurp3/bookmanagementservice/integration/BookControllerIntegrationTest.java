@@ -1,8 +1,14 @@
 package com.vishnurp3.bookmanagementservice.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnurp3.bookmanagementservice.cache.BookListingCache;
+import com.vishnurp3.bookmanagementservice.dto.BookFilterDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteRequestDto;
 import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateOperationDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateRequestDto;
 import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.purge.TombstonePurger;
 import com.vishnurp3.bookmanagementservice.repository.BookRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -11,14 +17,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,9 +48,20 @@ class BookControllerIntegrationTest {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TombstonePurger tombstonePurger;
+
+    @Autowired
+    private BookListingCache bookListingCache;
+
     @BeforeEach
     void cleanDatabase() {
         bookRepository.deleteAll();
+        // Writes through the repository do not advance the catalog version.
+        bookListingCache.clear();
     }
 
     @Nested
@@ -85,6 +107,43 @@ class BookControllerIntegrationTest {
                     .andExpect(jsonPath("$.message", containsString("already exists")));
         }
 
+        @Test
+        void shouldReplayResponseForRetriedIdempotencyKey() throws Exception {
+            String created = mockMvc.perform(post("/api/v1/books")
+                            .header("Idempotency-Key", "feed-42")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(bookRequestDto)))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                    .andReturn().getResponse().getContentAsString();
+
+            mockMvc.perform(post("/api/v1/books")
+                            .header("Idempotency-Key", "feed-42")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(bookRequestDto)))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(content().json(created, true));
+
+            assertEquals(1, bookRepository.count());
+        }
+
+        @Test
+        void shouldRejectIdempotencyKeyReusedForAnotherBook() throws Exception {
+            mockMvc.perform(post("/api/v1/books")
+                            .header("Idempotency-Key", "feed-43")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(bookRequestDto)))
+                    .andExpect(status().isCreated());
+
+            bookRequestDto.setIsbn("9780000000011");
+            mockMvc.perform(post("/api/v1/books")
+                            .header("Idempotency-Key", "feed-43")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(bookRequestDto)))
+                    .andExpect(status().isUnprocessableEntity());
+        }
+
         @Test
         void shouldReturnBadRequestWhenRequiredFieldsAreMissing() throws Exception {
             bookRequestDto.setTitle(null);
@@ -187,6 +246,29 @@ class BookControllerIntegrationTest {
                     .andExpect(status().isNotFound())
                     .andExpect(jsonPath("$.message", is("Book not found with ID: " + nonExistentId)));
         }
+
+        @Test
+        void shouldReturnOnlyRequestedFields() throws Exception {
+            mockMvc.perform(get("/api/v1/books/" + savedBook.getId())
+                            .param("fields", "id,title,price,category")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.*", hasSize(4)))
+                    .andExpect(jsonPath("$.id", is(savedBook.getId().intValue())))
+                    .andExpect(jsonPath("$.title", is("To Kill a Mockingbird")))
+                    .andExpect(jsonPath("$.price", is(7.99)))
+                    .andExpect(jsonPath("$.category", is("Fiction")))
+                    .andExpect(jsonPath("$.description").doesNotExist());
+        }
+
+        @Test
+        void shouldRejectUnknownField() throws Exception {
+            mockMvc.perform(get("/api/v1/books/" + savedBook.getId())
+                            .param("fields", "id,secret")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message", startsWith("Unknown field 'secret'")));
+        }
     }
 
     @Nested
@@ -242,6 +324,25 @@ class BookControllerIntegrationTest {
                     .andExpect(jsonPath("$.price", is(8.99)));
         }
 
+        @Test
+        void shouldServeUpdatedBookAfterItWasCached() throws Exception {
+            mockMvc.perform(get("/api/v1/books/" + existingBook.getId())
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title", is("The Catcher in the Rye")));
+
+            mockMvc.perform(put("/api/v1/books/" + existingBook.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateRequestDto)))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/v1/books/" + existingBook.getId())
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title", is("The Catcher in the Rye - Updated")))
+                    .andExpect(jsonPath("$.price", is(8.99)));
+        }
+
         @Test
         void shouldReturnNotFoundForNonExistentBookId() throws Exception {
             long nonExistentId = existingBook.getId() + 100;
@@ -328,6 +429,38 @@ class BookControllerIntegrationTest {
                     .andExpect(jsonPath("$.message", containsString("Book not found with ID: " + existingBook.getId())));
         }
 
+        @Test
+        void shouldKeepTombstoneHiddenFromListingsUntilPurged() throws Exception {
+            mockMvc.perform(delete("/api/v1/books/" + existingBook.getId()))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/api/v1/books").param("author", "Austen"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(0)));
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM books WHERE id = ? AND deleted = TRUE", Integer.class, existingBook.getId()));
+
+            assertEquals(1, tombstonePurger.purge());
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Integer.class));
+        }
+
+        @Test
+        void shouldReuseIsbnOfDeletedBook() throws Exception {
+            mockMvc.perform(delete("/api/v1/books/" + existingBook.getId()))
+                    .andExpect(status().isNoContent());
+
+            BookRequestDto bookRequestDto = new BookRequestDto();
+            bookRequestDto.setTitle("Pride and Prejudice");
+            bookRequestDto.setAuthor("Jane Austen");
+            bookRequestDto.setIsbn("9780141439518");
+
+            mockMvc.perform(post("/api/v1/books")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(bookRequestDto)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id", not(existingBook.getId().intValue())));
+        }
+
         @Test
         void shouldReturnNotFoundForNonExistentBookId() throws Exception {
             long nonExistentId = existingBook.getId() + 100;
@@ -412,11 +545,47 @@ class BookControllerIntegrationTest {
 
         @Test
         void shouldRetrieveBooksByCategory() throws Exception {
+            mockMvc.perform(get("/api/v1/books")
+                            .param("category", "fiction")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.content[*].category", everyItem(is("Fiction"))));
+        }
+
+        @Test
+        void shouldReturnOnlyRequestedFieldsOfFilteredPage() throws Exception {
             mockMvc.perform(get("/api/v1/books")
                             .param("category", "Fiction")
+                            .param("fields", "title,publicationDate")
+                            .param("sortBy", "title")
                             .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.content", hasSize(3)));
+                    .andExpect(jsonPath("$.totalElements", is(2)))
+                    .andExpect(jsonPath("$.content[0].*", hasSize(2)))
+                    .andExpect(jsonPath("$.content[0].title", is("The Catcher in the Rye")))
+                    .andExpect(jsonPath("$.content[0].publicationDate", is("1951-07-16")))
+                    .andExpect(jsonPath("$.content[0].id").doesNotExist());
+        }
+
+        @Test
+        void shouldReturnNoBooksForUnknownCategory() throws Exception {
+            mockMvc.perform(get("/api/v1/books")
+                            .param("category", "Fict")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(0)));
+        }
+
+        @Test
+        void shouldSortByCategoryName() throws Exception {
+            mockMvc.perform(get("/api/v1/books")
+                            .param("sortBy", "category")
+                            .param("sortDir", "desc")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].category", is("Fiction")))
+                    .andExpect(jsonPath("$.content[2].category", is("Dystopian Fiction")));
         }
 
         @Test
@@ -457,5 +626,257 @@ class BookControllerIntegrationTest {
                     .andExpect(jsonPath("$.totalElements", is(3)))
                     .andExpect(jsonPath("$.totalPages", is(2)));
         }
+
+        @Test
+        void shouldRetrieveBooksByMisspelledAuthorInFuzzyMode() throws Exception {
+            BookRequestDto bookRequestDto = new BookRequestDto();
+            bookRequestDto.setTitle("Effective Java");
+            bookRequestDto.setAuthor("Joshua Bloch");
+            bookRequestDto.setIsbn("9780134685991");
+            bookRequestDto.setPrice(new BigDecimal("45.99"));
+
+            mockMvc.perform(post("/api/v1/books")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(bookRequestDto)))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/api/v1/books")
+                            .param("author", "Block")
+                            .param("fuzzy", "true")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].author", is("Joshua Bloch")));
+        }
+    }
+
+    @Nested
+    class BulkUpdateTests {
+
+        private Book cleanCode;
+        private Book refactoring;
+        private Book dune;
+
+        @BeforeEach
+        void setUp() {
+            cleanCode = bookRepository.save(Book.builder()
+                    .title("Clean Code")
+                    .author("Robert C. Martin")
+                    .isbn("9780132350884")
+                    .publicationDate(LocalDate.of(2008, 8, 1))
+                    .category("Programming")
+                    .publisher("Prentice Hall")
+                    .price(new BigDecimal("40.00"))
+                    .build());
+
+            refactoring = bookRepository.save(Book.builder()
+                    .title("Refactoring")
+                    .author("Martin Fowler")
+                    .isbn("9780134757599")
+                    .publicationDate(LocalDate.of(2018, 11, 20))
+                    .category("Programming")
+                    .publisher("Addison-Wesley")
+                    .price(new BigDecimal("49.99"))
+                    .build());
+
+            dune = bookRepository.save(Book.builder()
+                    .title("Dune")
+                    .author("Frank Herbert")
+                    .isbn("9780441172719")
+                    .publicationDate(LocalDate.of(1965, 8, 1))
+                    .category("Science Fiction")
+                    .publisher("Chilton Books")
+                    .price(new BigDecimal("9.99"))
+                    .build());
+        }
+
+        private BulkUpdateRequestDto request(BookFilterDto filter, BulkUpdateOperationDto.Type type,
+                                             String value, String amount) {
+            BulkUpdateOperationDto operation = new BulkUpdateOperationDto();
+            operation.setType(type);
+            operation.setValue(value);
+            operation.setAmount(amount == null ? null : new BigDecimal(amount));
+            BulkUpdateRequestDto request = new BulkUpdateRequestDto();
+            request.setFilter(filter);
+            request.setOperation(operation);
+            return request;
+        }
+
+        @Test
+        void shouldRepriceWholeCategory() throws Exception {
+            BookFilterDto filter = new BookFilterDto();
+            filter.setCategory("programming");
+
+            mockMvc.perform(post("/api/v1/books/bulk-update")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    request(filter, BulkUpdateOperationDto.Type.MULTIPLY_PRICE, null, "0.9"))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.affectedCount", is(2)));
+
+            assertEquals(new BigDecimal("36.00"), bookRepository.findById(cleanCode.getId()).orElseThrow().getPrice());
+            assertEquals(new BigDecimal("44.99"), bookRepository.findById(refactoring.getId()).orElseThrow().getPrice());
+            assertEquals(new BigDecimal("9.99"), bookRepository.findById(dune.getId()).orElseThrow().getPrice());
+        }
+
+        @Test
+        void shouldApplyRangesAndSetPublisher() throws Exception {
+            BookFilterDto filter = new BookFilterDto();
+            filter.setMinPrice(new BigDecimal("45.00"));
+            filter.setPublishedFrom(LocalDate.of(2010, 1, 1));
+
+            mockMvc.perform(post("/api/v1/books/bulk-update")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    request(filter, BulkUpdateOperationDto.Type.SET_PUBLISHER, "Pearson", null))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.affectedCount", is(1)));
+
+            assertEquals("Pearson", bookRepository.findById(refactoring.getId()).orElseThrow().getPublisher());
+            assertEquals("Prentice Hall", bookRepository.findById(cleanCode.getId()).orElseThrow().getPublisher());
+        }
+
+        @Test
+        void shouldLeaveBooksWhosePriceWouldNotBePositive() throws Exception {
+            BookFilterDto filter = new BookFilterDto();
+            filter.setMaxPrice(new BigDecimal("100.00"));
+
+            mockMvc.perform(post("/api/v1/books/bulk-update")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    request(filter, BulkUpdateOperationDto.Type.ADD_PRICE, null, "-10.00"))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.affectedCount", is(2)));
+
+            assertEquals(new BigDecimal("30.00"), bookRepository.findById(cleanCode.getId()).orElseThrow().getPrice());
+            assertEquals(new BigDecimal("9.99"), bookRepository.findById(dune.getId()).orElseThrow().getPrice());
+        }
+
+        @Test
+        void shouldServeUpdatedBookAfterItWasCached() throws Exception {
+            mockMvc.perform(get("/api/v1/books/" + dune.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.category", is("Science Fiction")));
+
+            BookFilterDto filter = new BookFilterDto();
+            filter.setAuthor("herbert");
+            mockMvc.perform(post("/api/v1/books/bulk-update")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    request(filter, BulkUpdateOperationDto.Type.SET_CATEGORY, "Classics", null))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.affectedCount", is(1)));
+
+            mockMvc.perform(get("/api/v1/books/" + dune.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.category", is("Classics")));
+        }
+
+        @Test
+        void shouldRejectEmptyFilter() throws Exception {
+            mockMvc.perform(post("/api/v1/books/bulk-update")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    request(new BookFilterDto(), BulkUpdateOperationDto.Type.SET_CATEGORY, "Classics", null))))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors['filter.restrictive']", is("At least one filter criterion is required")));
+        }
+
+        @Test
+        void shouldRejectNonPositiveFactor() throws Exception {
+            BookFilterDto filter = new BookFilterDto();
+            filter.setCategory("Programming");
+
+            mockMvc.perform(post("/api/v1/books/bulk-update")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    request(filter, BulkUpdateOperationDto.Type.MULTIPLY_PRICE, null, "0"))))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors", hasKey("operation.argumentValid")));
+        }
+    }
+
+    @Nested
+    class BulkDeleteTests {
+
+        private Book first;
+        private Book second;
+        private Book kept;
+
+        @BeforeEach
+        void setUp() {
+            first = bookRepository.save(Book.builder()
+                    .title("Old Atlas")
+                    .author("A. Cartographer")
+                    .isbn("9780000000011")
+                    .publisher("Discontinued Press")
+                    .price(new BigDecimal("20.00"))
+                    .build());
+
+            second = bookRepository.save(Book.builder()
+                    .title("Old Almanac")
+                    .author("B. Chronicler")
+                    .isbn("9780000000028")
+                    .publisher("Discontinued Press")
+                    .price(new BigDecimal("15.00"))
+                    .build());
+
+            kept = bookRepository.save(Book.builder()
+                    .title("Dune")
+                    .author("Frank Herbert")
+                    .isbn("9780441172719")
+                    .publisher("Chilton Books")
+                    .price(new BigDecimal("9.99"))
+                    .build());
+        }
+
+        @Test
+        void shouldDeleteBooksMatchingFilter() throws Exception {
+            BookFilterDto filter = new BookFilterDto();
+            filter.setPublisher("discontinued press");
+            BulkDeleteRequestDto request = new BulkDeleteRequestDto();
+            request.setFilter(filter);
+
+            mockMvc.perform(post("/api/v1/books/bulk-delete")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deletedCount", is(2)));
+
+            assertEquals(List.of(kept.getId()), bookRepository.findAll().stream().map(Book::getId).toList());
+        }
+
+        @Test
+        void shouldDeleteListedIdsAndIgnoreMissingOnes() throws Exception {
+            mockMvc.perform(get("/api/v1/books/" + first.getId()))
+                    .andExpect(status().isOk());
+
+            BulkDeleteRequestDto request = new BulkDeleteRequestDto();
+            request.setIds(List.of(first.getId(), second.getId(), kept.getId() + 100));
+
+            mockMvc.perform(post("/api/v1/books/bulk-delete")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deletedCount", is(2)));
+
+            mockMvc.perform(get("/api/v1/books/" + first.getId()))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void shouldRejectRequestWithBothIdsAndFilter() throws Exception {
+            BookFilterDto filter = new BookFilterDto();
+            filter.setPublisher("Discontinued Press");
+            BulkDeleteRequestDto request = new BulkDeleteRequestDto();
+            request.setIds(List.of(first.getId()));
+            request.setFilter(filter);
+
+            mockMvc.perform(post("/api/v1/books/bulk-delete")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors.selectionValid", is("Either ids or filter is required, but not both")));
+        }
     }
 }
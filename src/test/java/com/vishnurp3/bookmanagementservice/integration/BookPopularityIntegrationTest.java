@@ -0,0 +1,157 @@
+package com.vishnurp3.bookmanagementservice.integration;
+
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.popularity.BookPopularity;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.repository.BookViewCountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookPopularityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookViewCountRepository bookViewCountRepository;
+
+    @Autowired
+    private BookPopularity bookPopularity;
+
+    private Book effectiveJava;
+    private Book cleanCode;
+
+    @BeforeEach
+    void setUp() {
+        // Books ranked by earlier tests drop out of the trending list once they are gone.
+        bookRepository.deleteAll();
+        bookPopularity.flush();
+        bookViewCountRepository.deleteAll();
+        effectiveJava = bookRepository.save(book("Effective Java", "Joshua Bloch", "9780134685991"));
+        cleanCode = bookRepository.save(book("Clean Code", "Robert C. Martin", "9780132350884"));
+    }
+
+    @Test
+    void shouldRankBooksByViewsAfterFlush() throws Exception {
+        view(effectiveJava, 3);
+        view(cleanCode, 1);
+
+        mockMvc.perform(get("/api/v1/books/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", empty()));
+
+        bookPopularity.flush();
+
+        mockMvc.perform(get("/api/v1/books/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(effectiveJava.getId().intValue())))
+                .andExpect(jsonPath("$[0].title", is("Effective Java")))
+                .andExpect(jsonPath("$[0].totalViews", is(3)))
+                .andExpect(jsonPath("$[1].id", is(cleanCode.getId().intValue())));
+        mockMvc.perform(get("/api/v1/books/trending").param("limit", "1"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void shouldAddFlushedViewsToStoredTotals() throws Exception {
+        view(cleanCode, 2);
+        bookPopularity.flush();
+        view(cleanCode, 3);
+        bookPopularity.flush();
+
+        assertEquals(5, bookViewCountRepository.findById(cleanCode.getId()).orElseThrow().getViewCount());
+        mockMvc.perform(get("/api/v1/books/trending"))
+                .andExpect(jsonPath("$[0].totalViews", is(5)));
+    }
+
+    @Test
+    void shouldListMostViewedBooksFromStoredTotals() throws Exception {
+        view(cleanCode, 3);
+        view(effectiveJava, 1);
+        bookPopularity.flush();
+
+        assertEquals(List.of(cleanCode.getId(), effectiveJava.getId()), bookPopularity.mostViewed(10));
+        assertEquals(List.of(cleanCode.getId()), bookPopularity.mostViewed(1));
+    }
+
+    @Test
+    void shouldNotCountMissingBooks() throws Exception {
+        mockMvc.perform(get("/api/v1/books/999999"))
+                .andExpect(status().isNotFound());
+        bookPopularity.flush();
+
+        assertTrue(bookViewCountRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void shouldCountConcurrentViewsExactly() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    bookPopularity.record(effectiveJava.getId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        bookPopularity.flush();
+
+        assertEquals(8000, bookViewCountRepository.findById(effectiveJava.getId()).orElseThrow().getViewCount());
+    }
+
+    @Test
+    void shouldDropDeletedBooksFromTrending() throws Exception {
+        view(effectiveJava, 2);
+        view(cleanCode, 1);
+        bookRepository.deleteById(effectiveJava.getId());
+        bookPopularity.flush();
+
+        mockMvc.perform(get("/api/v1/books/trending"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(cleanCode.getId().intValue())));
+    }
+
+    private void view(Book book, int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            mockMvc.perform(get("/api/v1/books/" + book.getId()))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private static Book book(String title, String author, String isbn) {
+        return Book.builder()
+                .title(title)
+                .author(author)
+                .isbn(isbn)
+                .publicationDate(LocalDate.of(2018, 1, 6))
+                .price(new BigDecimal("45.99"))
+                .build();
+    }
+}
@@ -0,0 +1,440 @@
+package com.vishnurp3.bookmanagementservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnurp3.bookmanagementservice.cache.BookListingCache;
+import com.vishnurp3.bookmanagementservice.dto.BookFilterDto;
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateOperationDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateRequestDto;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.popularity.BookPopularity;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static com.vishnurp3.bookmanagementservice.support.SqlStatementCounter.StatementType.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each endpoint issues, so N+1 patterns and extra round trips fail the build.
+ * When a change legitimately alters a budget, update the number here together with the change.
+ */
+@SpringBootTest(properties = "books.bulk.delete-chunk-size=10")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlStatementCounter.class)
+class BookQueryBudgetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    @Autowired
+    private BookListingCache bookListingCache;
+
+    @Autowired
+    private BookPopularity bookPopularity;
+
+    private Book savedBook;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        savedBook = bookRepository.save(Book.builder()
+                .title("To Kill a Mockingbird")
+                .author("Harper Lee")
+                .isbn("9780061120084")
+                .publicationDate(LocalDate.of(1960, 7, 11))
+                .category("Fiction")
+                .publisher("J.B. Lippincott & Co.")
+                .price(new BigDecimal("7.99"))
+                .build());
+        // Saving through the repository does not advance the catalog version.
+        bookListingCache.clear();
+    }
+
+    private void saveBooks(String title, int count) {
+        for (int i = 0; i < count; i++) {
+            bookRepository.save(Book.builder()
+                    .title(title + " " + i)
+                    .author("Author " + i)
+                    .isbn(String.format("978100000%04d", i))
+                    .publicationDate(LocalDate.of(2000, 1, 1))
+                    .price(BigDecimal.TEN)
+                    .build());
+        }
+    }
+
+    private BookRequestDto request(String isbn) {
+        BookRequestDto dto = new BookRequestDto();
+        dto.setTitle("The Great Gatsby");
+        dto.setAuthor("F. Scott Fitzgerald");
+        dto.setIsbn(isbn);
+        dto.setPublicationDate(LocalDate.of(1925, 4, 10));
+        dto.setCategory("Fiction");
+        dto.setPrice(new BigDecimal("10.99"));
+        return dto;
+    }
+
+    @Nested
+    class GetBookById {
+
+        @Test
+        @DisplayName("should load a book with a single select")
+        void shouldUseOneSelect() throws Exception {
+            statementCounter.reset();
+
+            mockMvc.perform(get("/api/v1/books/" + savedBook.getId()))
+                    .andExpect(status().isOk());
+
+            statementCounter.assertTotal(1);
+            statementCounter.assertCount(SELECT, 1);
+        }
+
+        @Test
+        @DisplayName("should serve a repeated lookup without touching the database")
+        void shouldServeRepeatedLookupFromCache() throws Exception {
+            mockMvc.perform(get("/api/v1/books/" + savedBook.getId()))
+                    .andExpect(status().isOk());
+            statementCounter.reset();
+
+            mockMvc.perform(get("/api/v1/books/" + savedBook.getId()))
+                    .andExpect(status().isOk());
+
+            statementCounter.assertTotal(0);
+        }
+
+        @Test
+        @DisplayName("should select only the requested columns")
+        void shouldSelectOnlyRequestedColumns() throws Exception {
+            statementCounter.reset();
+
+            mockMvc.perform(get("/api/v1/books/" + savedBook.getId()).param("fields", "id,price"))
+                    .andExpect(status().isOk());
+
+            statementCounter.assertTotal(1);
+            String sql = statementCounter.statements().get(0).sql();
+            assertTrue(sql.contains("price") && !sql.contains("title") && !sql.contains("description"), sql);
+        }
+    }
+
+    @Nested
+    class CreateBook {
+
+        @Test
+        @DisplayName("should check the ISBN and insert, nothing more")
+        void shouldStayWithinBudget() throws Exception {
+            statementCounter.reset();
+
+            mockMvc.perform(post("/api/v1/books")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request("9780743273565"))))
+                    .andExpect(status().isCreated());
+
+            statementCounter.assertTotalAtMost(2);
+            statementCounter.assertCount(INSERT, 1);
+        }
+
+        @Test
+        @DisplayName("should answer a retried idempotency key without touching the database")
+        void shouldReplayRetryFromMemory() throws Exception {
+            String body = objectMapper.writeValueAsString(request("9780743273565"));
+            mockMvc.perform(post("/api/v1/books")
+                            .header("Idempotency-Key", "budget-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated());
+            statementCounter.reset();
+
+            mockMvc.perform(post("/api/v1/books")
+                            .header("Idempotency-Key", "budget-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated());
+
+            statementCounter.assertTotal(0);
+        }
+
+        @Test
+        @DisplayName("should reject a duplicate ISBN with a single select")
+        void shouldRejectDuplicateWithOneSelect() throws Exception {
+            statementCounter.reset();
+
+            mockMvc.perform(post("/api/v1/books")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request(savedBook.getIsbn()))))
+                    .andExpect(status().isConflict());
+
+            statementCounter.assertTotal(1);
+        }
+    }
+
+    @Nested
+    class UpdateBook {
+
+        @Test
+        @DisplayName("should load and update without an ISBN check when the ISBN is unchanged")
+        void shouldSkipIsbnCheckForUnchangedIsbn() throws Exception {
+            statementCounter.reset();
+
+            mockMvc.perform(put("/api/v1/books/" + savedBook.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request(savedBook.getIsbn()))))
+                    .andExpect(status().isOk());
+
+            statementCounter.assertTotalAtMost(2);
+            statementCounter.assertCount(UPDATE, 1);
+        }
+
+        @Test
+        @DisplayName("should add one ISBN check when the ISBN changes")
+        void shouldCheckChangedIsbn() throws Exception {
+            statementCounter.reset();
+
+            mockMvc.perform(put("/api/v1/books/" + savedBook.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request("9780743273565"))))
+                    .andExpect(status().isOk());
+
+            statementCounter.assertTotalAtMost(3);
+            statementCounter.assertCount(UPDATE, 1);
+        }
+    }
+
+    @Nested
+    class DeleteBook {
+
+        @Test
+        @DisplayName("should flag a book deleted within three statements")
+        void shouldStayWithinBudget() throws Exception {
+            statementCounter.reset();
+
+            mockMvc.perform(delete("/api/v1/books/" + savedBook.getId()))
+                    .andExpect(status().isNoContent());
+
+            statementCounter.assertTotalAtMost(3);
+            statementCounter.assertCount(UPDATE, 1);
+            statementCounter.assertCount(DELETE, 0);
+        }
+    }
+
+    @Nested
+    class GetBooks {
+
+        @Test
+        @DisplayName("should skip the count query when the first page is not full")
+        void shouldUseOneSelectForPartialFirstPage() throws Exception {
+            statementCounter.reset();
+
+            mockMvc.perform(get("/api/v1/books").param("author", "lee"))
+                    .andExpect(status().isOk());
+
+            statementCounter.assertTotal(1);
+        }
+
+        @Test
+        @DisplayName("should page with one select and one count regardless of page size")
+        void shouldUseSelectAndCountForFullPage() throws Exception {
+            for (int i = 0; i < 30; i++) {
+                bookRepository.save(Book.builder()
+                        .title("Book " + i)
+                        .author("Author " + i)
+                        .isbn(String.format("978000000%04d", i))
+                        .publicationDate(LocalDate.of(2000, 1, 1))
+                        .price(BigDecimal.TEN)
+                        .build());
+            }
+            statementCounter.reset();
+
+            mockMvc.perform(get("/api/v1/books").param("size", "20"))
+                    .andExpect(status().isOk());
+
+            statementCounter.assertTotal(2);
+            statementCounter.assertCount(SELECT, 2);
+        }
+
+        @Test
+        @DisplayName("should count a filtered listing once and reuse the total for its other pages")
+        void shouldReuseCachedCount() throws Exception {
+            saveBooks("Counted Book", 30);
+            statementCounter.reset();
+
+            mockMvc.perform(get("/api/v1/books").param("title", "counted").param("size", "20").param("count", "cached"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Total-Count-Strategy", "cached"))
+                    .andExpect(jsonPath("$.totalElements").value(30));
+            statementCounter.assertTotal(2);
+            statementCounter.reset();
+
+            mockMvc.perform(get("/api/v1/books").param("title", "COUNTED").param("size", "5").param("page", "2")
+                            .param("count", "cached"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(30));
+            statementCounter.assertTotal(1);
+        }
+
+        @Test
+        @DisplayName("should estimate the total of an unfiltered listing from table statistics instead of counting")
+        void shouldEstimateUnfilteredTotal() throws Exception {
+            saveBooks("Estimated Book", 30);
+            statementCounter.reset();
+
+            mockMvc.perform(get("/api/v1/books").param("size", "20").param("count", "estimated"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Total-Count-Strategy", "estimated"))
+                    .andExpect(jsonPath("$.totalElements").value(31));
+
+            // The page select alone; the statistics are read over plain JDBC.
+            statementCounter.assertTotal(1);
+            statementCounter.assertCount(SELECT, 1);
+        }
+
+        @Test
+        @DisplayName("should report a filtered estimate as the cached count it falls back to")
+        void shouldReportFilteredEstimateAsCached() throws Exception {
+            saveBooks("Filtered Book", 3);
+
+            mockMvc.perform(get("/api/v1/books").param("title", "filtered").param("count", "estimated"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Total-Count-Strategy", "cached"))
+                    .andExpect(jsonPath("$.totalElements").value(3));
+        }
+
+        @Test
+        @DisplayName("should reject an unknown count strategy")
+        void shouldRejectUnknownCountStrategy() throws Exception {
+            mockMvc.perform(get("/api/v1/books").param("count", "roughly"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("should select only the requested columns of a page")
+        void shouldSelectOnlyRequestedColumnsOfPage() throws Exception {
+            statementCounter.reset();
+
+            mockMvc.perform(get("/api/v1/books").param("author", "lee").param("fields", "title"))
+                    .andExpect(status().isOk());
+
+            statementCounter.assertTotal(1);
+            String sql = statementCounter.statements().get(0).sql();
+            assertTrue(sql.contains("title") && !sql.contains("isbn") && !sql.contains("description"), sql);
+        }
+
+        @Test
+        @DisplayName("should answer a repeated listing from the listing cache until the catalog changes")
+        void shouldServeRepeatedListingFromCache() throws Exception {
+            mockMvc.perform(get("/api/v1/books").param("author", "lee"))
+                    .andExpect(status().isOk());
+            statementCounter.reset();
+
+            mockMvc.perform(get("/api/v1/books").param("author", "LEE"))
+                    .andExpect(status().isOk());
+            statementCounter.assertTotal(0);
+
+            mockMvc.perform(delete("/api/v1/books/" + savedBook.getId()))
+                    .andExpect(status().isNoContent());
+            statementCounter.reset();
+
+            mockMvc.perform(get("/api/v1/books").param("author", "lee"))
+                    .andExpect(status().isOk());
+            statementCounter.assertTotal(1);
+        }
+    }
+
+    @Nested
+    class BulkUpdate {
+
+        @Test
+        @DisplayName("should change every matching book with a single statement")
+        void shouldUseOneUpdate() throws Exception {
+            BookFilterDto filter = new BookFilterDto();
+            filter.setCategory("Fiction");
+            BulkUpdateOperationDto operation = new BulkUpdateOperationDto();
+            operation.setType(BulkUpdateOperationDto.Type.ADD_PRICE);
+            operation.setAmount(BigDecimal.ONE);
+            BulkUpdateRequestDto request = new BulkUpdateRequestDto();
+            request.setFilter(filter);
+            request.setOperation(operation);
+            statementCounter.reset();
+
+            mockMvc.perform(post("/api/v1/books/bulk-update")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+
+            statementCounter.assertTotal(1);
+            statementCounter.assertCount(UPDATE, 1);
+        }
+    }
+
+    @Nested
+    class BulkDelete {
+
+        @Test
+        @DisplayName("should flag listed books deleted with one select and one update per chunk")
+        void shouldUseTwoStatementsPerChunk() throws Exception {
+            List<Long> ids = LongStream.range(0, 25).mapToObj(i -> bookRepository.save(Book.builder()
+                    .title("Book " + i)
+                    .author("Author " + i)
+                    .isbn(String.format("978100000%04d", i))
+                    .build()).getId()).toList();
+            BulkDeleteRequestDto request = new BulkDeleteRequestDto();
+            request.setIds(ids);
+            statementCounter.reset();
+
+            mockMvc.perform(post("/api/v1/books/bulk-delete")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+
+            statementCounter.assertCount(SELECT, 3);
+            statementCounter.assertCount(UPDATE, 3);
+            statementCounter.assertTotal(6);
+        }
+    }
+
+    @Nested
+    class TrendingBooks {
+
+        @Test
+        @DisplayName("should read the titles of all trending books with one select")
+        void shouldReadTrendingTitlesTogether() {
+            saveBooks("Trending", 5);
+            bookRepository.findAll().forEach(book -> bookPopularity.record(book.getId()));
+            statementCounter.reset();
+
+            bookPopularity.flush();
+
+            statementCounter.assertCount(SELECT, 2);
+            statementCounter.assertTotal(2);
+        }
+    }
+}
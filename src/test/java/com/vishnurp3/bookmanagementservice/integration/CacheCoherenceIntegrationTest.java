@@ -0,0 +1,162 @@
+package com.vishnurp3.bookmanagementservice.integration;
+
+import com.vishnurp3.bookmanagementservice.BookManagementServiceApplication;
+import com.vishnurp3.bookmanagementservice.cache.BookJsonCache;
+import com.vishnurp3.bookmanagementservice.coherence.BookChangeLog;
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.service.BookService;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two instances sharing one H2 server database, each with its own in-process caches.
+ */
+class CacheCoherenceIntegrationTest {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(200);
+    // The staleness bound is one poll interval; the rest is headroom for a slow build machine.
+    private static final Duration STALENESS_BOUND = POLL_INTERVAL.multipliedBy(10);
+    private static final AtomicInteger NEXT_ISBN = new AtomicInteger();
+
+    private static Server server;
+    private static ConfigurableApplicationContext writer;
+    private static ConfigurableApplicationContext reader;
+
+    @BeforeAll
+    static void start() throws Exception {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:coherence;DB_CLOSE_DELAY=-1;MODE=MySQL";
+        writer = start(url, "create-drop");
+        reader = start(url, "none");
+    }
+
+    @AfterAll
+    static void stop() {
+        if (reader != null) {
+            reader.close();
+        }
+        if (writer != null) {
+            writer.close();
+        }
+        server.stop();
+    }
+
+    @Test
+    void shouldEvictBookUpdatedByAnotherInstance() {
+        BookResponseDto book = bookService(writer).createBook(request("Original Title"));
+        assertTrue(cachedJson(reader, book.getId()).contains("Original Title"));
+
+        bookService(writer).updateBook(book.getId(), request("Revised Title", book.getIsbn()));
+
+        awaitWithinStalenessBound(() -> cachedJson(reader, book.getId()).contains("Revised Title"));
+    }
+
+    @Test
+    void shouldDropBookDeletedByAnotherInstanceFromSearchIndex() {
+        BookResponseDto book = bookService(writer).createBook(request("Quixotic Zebra Handbook"));
+        awaitWithinStalenessBound(() -> fuzzyMatches(reader, "Quixotic Zebra") == 1);
+
+        bookService(writer).deleteBook(book.getId());
+
+        awaitWithinStalenessBound(() -> fuzzyMatches(reader, "Quixotic Zebra") == 0);
+    }
+
+    @Test
+    void shouldPickUpEntryCommittedAfterHigherIds() {
+        BookResponseDto book = bookService(writer).createBook(request("Late Commit"));
+        cachedJson(reader, book.getId());
+        BookChangeLog changeLog = reader.getBean(BookChangeLog.class);
+        JdbcTemplate jdbcTemplate = reader.getBean(JdbcTemplate.class);
+        changeLog.poll();
+        long last = jdbcTemplate.queryForObject("SELECT MAX(id) FROM book_invalidations", Long.class);
+
+        // Entry last + 1 belongs to a transaction still open while last + 2 is read.
+        insertEntry(jdbcTemplate, last + 2, -1L);
+        changeLog.poll();
+        insertEntry(jdbcTemplate, last + 1, book.getId());
+        jdbcTemplate.execute("ALTER TABLE book_invalidations ALTER COLUMN id RESTART WITH " + (last + 3));
+
+        assertEquals(1, changeLog.poll());
+        AtomicInteger loads = new AtomicInteger();
+        reader.getBean(BookJsonCache.class).get(book.getId(), () -> {
+            loads.incrementAndGet();
+            return bookService(reader).getBookById(book.getId());
+        });
+        assertEquals(1, loads.get());
+    }
+
+    private static ConfigurableApplicationContext start(String url, String ddlAuto) {
+        return new SpringApplicationBuilder(BookManagementServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(
+                        "--spring.datasource.url=" + url,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--spring.jmx.enabled=false",
+                        "--books.coherence.enabled=true",
+                        "--books.coherence.poll-interval=" + POLL_INTERVAL);
+    }
+
+    private static void awaitWithinStalenessBound(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + STALENESS_BOUND.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Change not seen within " + STALENESS_BOUND);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private static String cachedJson(ConfigurableApplicationContext context, Long id) {
+        byte[] json = context.getBean(BookJsonCache.class).get(id, () -> bookService(context).getBookById(id)).json();
+        return new String(json, StandardCharsets.UTF_8);
+    }
+
+    private static long fuzzyMatches(ConfigurableApplicationContext context, String title) {
+        return bookService(context).searchBooks(title, null, null, null, PageRequest.of(0, 10)).getTotalElements();
+    }
+
+    private static void insertEntry(JdbcTemplate jdbcTemplate, long id, Long bookId) {
+        jdbcTemplate.update("INSERT INTO book_invalidations (id, book_id, node_id, created_at) VALUES (?, ?, ?, ?)",
+                id, bookId, "elsewhere", LocalDateTime.now());
+    }
+
+    private static BookService bookService(ConfigurableApplicationContext context) {
+        return context.getBean(BookService.class);
+    }
+
+    private static BookRequestDto request(String title) {
+        return request(title, Long.toString(9780000000000L + NEXT_ISBN.incrementAndGet()));
+    }
+
+    private static BookRequestDto request(String title, String isbn) {
+        BookRequestDto request = new BookRequestDto();
+        request.setTitle(title);
+        request.setAuthor("Miguel de Cervantes");
+        request.setIsbn(isbn);
+        request.setPublicationDate(LocalDate.of(1605, 1, 16));
+        request.setPrice(new BigDecimal("12.50"));
+        return request;
+    }
+}
@@ -0,0 +1,164 @@
+package com.vishnurp3.bookmanagementservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.export.CatalogExportProperties;
+import com.vishnurp3.bookmanagementservice.export.CatalogExporter;
+import com.vishnurp3.bookmanagementservice.export.ExportFormat;
+import com.vishnurp3.bookmanagementservice.export.ExportManifest;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogExportIntegrationTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CatalogExporter catalogExporter;
+
+    @Autowired
+    private CatalogExportProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Path defaultOutputDirectory;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        defaultOutputDirectory = properties.getOutputDirectory();
+        properties.setOutputDirectory(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        properties.setOutputDirectory(defaultOutputDirectory);
+    }
+
+    @Test
+    void shouldExportEveryBookOnceAcrossPartitions() throws Exception {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            books.add(bookRepository.save(book("Book " + i, "97801346859%02d".formatted(i), "Export Reference")));
+        }
+        bookRepository.deleteById(books.get(3).getId());
+
+        CatalogExporter.ExportResult result = catalogExporter.export(ExportFormat.NDJSON, 4);
+
+        ExportManifest manifest = result.manifest();
+        assertEquals(4, manifest.partitions().size());
+        assertEquals(24, manifest.totalRows());
+        List<Long> ids = new ArrayList<>();
+        for (ExportManifest.Partition partition : manifest.partitions()) {
+            Path file = Path.of(result.directory()).resolve(partition.file());
+            assertTrue(partition.file().endsWith(".ndjson.gz"));
+            assertEquals(Files.size(file), partition.bytes());
+            assertEquals(sha256(file), partition.sha256());
+            List<String> lines = gunzip(file).lines().toList();
+            assertEquals(partition.rows(), lines.size());
+            for (String line : lines) {
+                JsonNode row = objectMapper.readTree(line);
+                long id = row.get("id").asLong();
+                assertTrue(id >= partition.fromId() && id <= partition.toId());
+                assertEquals("Export Reference", row.get("category").asText());
+                assertEquals(new BigDecimal("45.99"), row.get("price").decimalValue());
+                ids.add(id);
+            }
+        }
+        assertEquals(books.stream().map(Book::getId).filter(id -> !id.equals(books.get(3).getId())).toList(), ids);
+        ExportManifest written = objectMapper.readValue(
+                Path.of(result.directory()).resolve("manifest.json").toFile(), ExportManifest.class);
+        assertEquals(manifest, written);
+    }
+
+    @Test
+    void shouldExportCsvThroughActuator() throws Exception {
+        bookRepository.save(book("Java, \"The Good Parts\"", "9780134685991", null));
+
+        String response = mockMvc.perform(post("/actuator/catalogexport")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"format\":\"csv\",\"partitions\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.manifest.format", is("CSV")))
+                .andExpect(jsonPath("$.manifest.totalRows", is(1)))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode result = objectMapper.readTree(response);
+        Path file = Path.of(result.get("directory").asText())
+                .resolve(result.get("manifest").get("partitions").get(0).get("file").asText());
+        List<String> lines = gunzip(file).lines().toList();
+        assertEquals("id,title,author,isbn,publicationDate,category,publisher,description,price,createdAt,updatedAt",
+                lines.get(0));
+        assertTrue(lines.get(1).contains(",\"Java, \"\"The Good Parts\"\"\",Joshua Bloch,9780134685991,2018-01-06,,"));
+    }
+
+    @Test
+    void shouldWriteEmptyManifestForEmptyCatalog() throws Exception {
+        CatalogExporter.ExportResult result = catalogExporter.export(ExportFormat.NDJSON, 8);
+
+        assertEquals(0, result.manifest().totalRows());
+        assertTrue(result.manifest().partitions().isEmpty());
+        assertTrue(Files.exists(Path.of(result.directory()).resolve("manifest.json")));
+    }
+
+    private static String gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String sha256(Path file) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)));
+    }
+
+    private static Book book(String title, String isbn, String category) {
+        return Book.builder()
+                .title(title)
+                .author("Joshua Bloch")
+                .isbn(isbn)
+                .category(category)
+                .publicationDate(LocalDate.of(2018, 1, 6))
+                .price(new BigDecimal("45.99"))
+                .build();
+    }
+}
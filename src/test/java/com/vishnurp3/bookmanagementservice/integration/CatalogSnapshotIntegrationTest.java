@@ -0,0 +1,81 @@
+package com.vishnurp3.bookmanagementservice.integration;
+
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.search.FuzzyBookSearch;
+import com.vishnurp3.bookmanagementservice.snapshot.CatalogSnapshot;
+import com.vishnurp3.bookmanagementservice.snapshot.CatalogSnapshotProperties;
+import com.vishnurp3.bookmanagementservice.snapshot.CatalogSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "books.snapshot.enabled=true",
+        "books.snapshot.path=${java.io.tmpdir}/book-management-service-test/catalog.snapshot",
+        "books.snapshot.initial-delay=PT1H"
+})
+@ActiveProfiles("test")
+class CatalogSnapshotIntegrationTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+
+    @Autowired
+    private CatalogSnapshotProperties snapshotProperties;
+
+    @Autowired
+    private FuzzyBookSearch fuzzyBookSearch;
+
+    @BeforeEach
+    void cleanDatabase() throws Exception {
+        bookRepository.deleteAll();
+        Files.deleteIfExists(snapshotProperties.getPath());
+    }
+
+    private Book save(String title, String author, String isbn) {
+        return bookRepository.save(Book.builder()
+                .title(title)
+                .author(author)
+                .isbn(isbn)
+                .publicationDate(LocalDate.of(2001, 1, 1))
+                .price(new BigDecimal("9.99"))
+                .build());
+    }
+
+    @Test
+    void shouldRebuildSearchIndexFromSnapshotAndDelta() throws Exception {
+        Book effectiveJava = save("Effective Java", "Joshua Bloch", "9780134685991");
+        Book refactoring = save("Refactoring", "Martin Fowler", "9780134757599");
+        Book cleanCode = save("Clean Code", "Robert C. Martin", "9780132350884");
+        snapshotService.write();
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(snapshotProperties.getPath());
+        assertEquals(3, snapshot.size());
+        assertEquals(cleanCode.getId(), snapshot.watermarkId());
+
+        refactoring.setTitle("Refactoring, Second Edition");
+        bookRepository.save(refactoring);
+        bookRepository.delete(cleanCode);
+        Book concurrency = save("Java Concurrency in Practice", "Brian Goetz", "9780321349606");
+
+        fuzzyBookSearch.rebuild();
+
+        assertEquals(List.of(effectiveJava.getId()), fuzzyBookSearch.search("Efective Jav", null));
+        assertEquals(List.of(refactoring.getId()), fuzzyBookSearch.search("Second Edition", null));
+        assertEquals(List.of(concurrency.getId()), fuzzyBookSearch.search("Concurency", null));
+        assertTrue(fuzzyBookSearch.search("Clean Code", null).isEmpty());
+    }
+}
@@ -0,0 +1,130 @@
+package com.vishnurp3.bookmanagementservice.integration;
+
+import com.vishnurp3.bookmanagementservice.cache.BookListingCache;
+import com.vishnurp3.bookmanagementservice.diagnostics.FlightRecordings;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FlightRecordingEndpointIntegrationTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookListingCache bookListingCache;
+
+    @Autowired
+    private FlightRecordings flightRecordings;
+
+    private Book savedBook;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        savedBook = bookRepository.save(Book.builder()
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .isbn("9780134685991")
+                .publicationDate(LocalDate.of(2018, 1, 6))
+                .price(new BigDecimal("45.99"))
+                .build());
+        bookListingCache.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecordings.stop();
+    }
+
+    @Test
+    void shouldNotFindDumpWhileNothingIsRecording() throws Exception {
+        mockMvc.perform(get("/actuator/flightrecording"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldDumpBookEventsOfRunningRecording() throws Exception {
+        mockMvc.perform(post("/actuator/flightrecording"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("book-management-service")));
+
+        mockMvc.perform(get("/api/v1/books").param("title", "effective"))
+                .andExpect(status().isOk());
+
+        byte[] dump = mockMvc.perform(get("/actuator/flightrecording"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        Path file = Files.write(directory.resolve("dump.jfr"), dump);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.vishnurp3.bookmanagementservice."))
+                .toList();
+
+        RecordedEvent operation = events.stream()
+                .filter(event -> "getBooks".equals(event.getString("operation")))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1L, operation.getLong("resultSize"));
+        assertTrue(operation.getInt("statementCount") > 0);
+        assertTrue(operation.getString("filter").contains("effective"));
+        assertTrue(events.stream().anyMatch(event -> event.hasField("endpoint")
+                && "GET /api/v1/books".equals(event.getString("endpoint"))));
+
+        mockMvc.perform(delete("/actuator/flightrecording"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void shouldCountStatementsFlushedAtCommit() throws Exception {
+        mockMvc.perform(post("/actuator/flightrecording"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/v1/books/{id}", savedBook.getId()))
+                .andExpect(status().isNoContent());
+
+        byte[] dump = mockMvc.perform(get("/actuator/flightrecording"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        Path file = Files.write(directory.resolve("dump.jfr"), dump);
+        RecordedEvent operation = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.hasField("operation") && "deleteBook".equals(event.getString("operation")))
+                .findFirst()
+                .orElseThrow();
+        // The existence check, the load, and the soft-delete UPDATE flushed when the transaction commits.
+        assertEquals(3, operation.getInt("statementCount"));
+
+        mockMvc.perform(delete("/actuator/flightrecording"))
+                .andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,109 @@
+package com.vishnurp3.bookmanagementservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.groupcommit.GroupCommitBookService;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+@SpringBootTest(properties = {
+        "books.group-commit.enabled=true",
+        "books.group-commit.max-wait=20ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GroupCommitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void shouldGiveEachConcurrentWriterItsOwnResult() throws Exception {
+        assertInstanceOf(GroupCommitBookService.class, bookService);
+        List<String> isbns = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            isbns.add("97800000000" + (10 + i));
+        }
+        // The last writer reuses an ISBN, so it alone must be rejected.
+        isbns.add(isbns.get(0));
+
+        ExecutorService executor = Executors.newFixedThreadPool(isbns.size());
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try {
+            for (String isbn : isbns) {
+                statuses.add(executor.submit(() -> mockMvc.perform(post("/api/v1/books")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request("Book " + isbn, isbn))))
+                        .andReturn().getResponse().getStatus()));
+            }
+            int created = 0;
+            int conflicts = 0;
+            for (Future<Integer> status : statuses) {
+                int code = status.get(10, TimeUnit.SECONDS);
+                created += code == 201 ? 1 : 0;
+                conflicts += code == 409 ? 1 : 0;
+            }
+            assertEquals(16, created);
+            assertEquals(1, conflicts);
+            assertEquals(16, bookRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReportMissingBookOnUpdate() throws Exception {
+        int status = mockMvc.perform(put("/api/v1/books/999999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("Missing", "9780000000999"))))
+                .andReturn().getResponse().getStatus();
+
+        assertEquals(404, status);
+    }
+
+    private static BookRequestDto request(String title, String isbn) {
+        BookRequestDto request = new BookRequestDto();
+        request.setTitle(title);
+        request.setAuthor("Jane Doe");
+        request.setIsbn(isbn);
+        request.setPublicationDate(LocalDate.of(2020, 1, 1));
+        request.setPrice(new BigDecimal("19.99"));
+        return request;
+    }
+}
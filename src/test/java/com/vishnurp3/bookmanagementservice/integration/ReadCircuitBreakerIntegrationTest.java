@@ -0,0 +1,83 @@
+package com.vishnurp3.bookmanagementservice.integration;
+
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.resilience.ReadCircuitBreaker;
+import com.vishnurp3.bookmanagementservice.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "books.read-circuit-breaker.failure-threshold=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadCircuitBreakerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReadCircuitBreaker readCircuitBreaker;
+
+    @MockBean
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        // Closes the circuit left open by another test and ends any streak of failures.
+        readCircuitBreaker.probe();
+        readCircuitBreaker.read(new Object(), () -> "reachable");
+    }
+
+    @Test
+    void shouldServeLastGoodPageWhileDatabaseIsUnreachable() throws Exception {
+        BookResponseDto book = new BookResponseDto();
+        book.setId(1L);
+        book.setTitle("Effective Java");
+        when(bookService.getBooks(any(), any(), any(), any(), any(Pageable.class), any()))
+                .thenReturn(new PageImpl<>(List.of(book)))
+                .thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        mockMvc.perform(get("/api/v1/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Served-Stale"));
+        mockMvc.perform(get("/api/v1/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Served-Stale", "true"))
+                .andExpect(header().exists("Age"))
+                .andExpect(jsonPath("$.content[0].title", is("Effective Java")));
+    }
+
+    @Test
+    void shouldFailFastOnceOpen() throws Exception {
+        when(bookService.getBooks(any(), any(), any(), any(), any(Pageable.class), any()))
+                .thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        mockMvc.perform(get("/api/v1/books").param("title", "java"))
+                .andExpect(status().isInternalServerError());
+        mockMvc.perform(get("/api/v1/books").param("title", "java"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+        assertTrue(readCircuitBreaker.isOpen());
+
+        mockMvc.perform(get("/api/v1/books").param("title", "java"))
+                .andExpect(status().isServiceUnavailable());
+        verify(bookService, times(2)).getBooks(any(), any(), any(), any(), any(Pageable.class), any());
+    }
+}
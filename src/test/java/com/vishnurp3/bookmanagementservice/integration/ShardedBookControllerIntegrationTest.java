@@ -0,0 +1,209 @@
+package com.vishnurp3.bookmanagementservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnurp3.bookmanagementservice.cache.BookListingCache;
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.sharding.ShardRoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SuppressWarnings("SqlResolve")
+@SpringBootTest(properties = {
+        "books.sharding.enabled=true",
+        "books.sharding.strategy=prefix",
+        "books.sharding.shards[0].url=jdbc:h2:mem:book_shard_0_test_db;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "books.sharding.shards[0].username=sa",
+        "books.sharding.shards[0].isbn-prefixes=9780",
+        "books.sharding.shards[1].url=jdbc:h2:mem:book_shard_1_test_db;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "books.sharding.shards[1].username=sa",
+        "books.sharding.shards[1].isbn-prefixes=9781",
+        "books.sharding.shards[2].url=jdbc:h2:mem:book_shard_2_test_db;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "books.sharding.shards[2].username=sa",
+        "books.sharding.shards[2].isbn-prefixes=979"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardedBookControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @Autowired
+    private BookListingCache bookListingCache;
+
+    @BeforeEach
+    void cleanDatabase() {
+        dataSource.getShards().forEach(shard -> new JdbcTemplate(shard).update("DELETE FROM books"));
+        bookListingCache.clear();
+    }
+
+    private long createBook(String title, String isbn) throws Exception {
+        BookRequestDto bookRequestDto = new BookRequestDto();
+        bookRequestDto.setTitle(title);
+        bookRequestDto.setAuthor("Some Author");
+        bookRequestDto.setIsbn(isbn);
+        bookRequestDto.setPublicationDate(LocalDate.of(2001, 1, 1));
+        bookRequestDto.setCategory("Fiction");
+        bookRequestDto.setPrice(new BigDecimal("9.99"));
+
+        String response = mockMvc.perform(post("/api/v1/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookRequestDto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private long countOnShard(int shard) {
+        return new JdbcTemplate(dataSource.getShards().get(shard)).queryForObject("SELECT COUNT(*) FROM books WHERE deleted = FALSE", Long.class);
+    }
+
+    @Test
+    void shouldStoreBooksOnTheShardOwningTheirIsbnPrefix() throws Exception {
+        long first = createBook("Dune", "9780441172719");
+        long second = createBook("Neuromancer", "9781473217379");
+        long third = createBook("Hyperion", "9791234567896");
+
+        assertEquals(1, countOnShard(0));
+        assertEquals(1, countOnShard(1));
+        assertEquals(1, countOnShard(2));
+        assertEquals(0, first >>> 40);
+        assertEquals(1, second >>> 40);
+        assertEquals(2, third >>> 40);
+
+        mockMvc.perform(get("/api/v1/books/" + second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Neuromancer")));
+    }
+
+    @Test
+    void shouldMergeListingsFromAllShardsInSortOrder() throws Exception {
+        createBook("Dune", "9780441172719");
+        createBook("Neuromancer", "9781473217379");
+        createBook("Hyperion", "9791234567896");
+        createBook("Accelerando", "9780441014156");
+        createBook("Solaris", "9781783783335");
+
+        mockMvc.perform(get("/api/v1/books")
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("sortBy", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Hyperion", "Neuromancer")))
+                .andExpect(jsonPath("$.totalElements", is(5)));
+
+        mockMvc.perform(get("/api/v1/books")
+                        .param("sortBy", "title")
+                        .param("sortDir", "desc")
+                        .param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Solaris", "Neuromancer", "Hyperion")));
+    }
+
+    @Test
+    void shouldCountTotalsAcrossShardsByRequestedStrategy() throws Exception {
+        createBook("Dune", "9780441172719");
+        createBook("Neuromancer", "9781473217379");
+        createBook("Hyperion", "9791234567896");
+
+        mockMvc.perform(get("/api/v1/books").param("size", "1").param("count", "cached"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Total-Count-Strategy", "cached"))
+                .andExpect(jsonPath("$.totalElements", is(3)));
+        createBook("Solaris", "9781783783335");
+        mockMvc.perform(get("/api/v1/books").param("size", "1").param("count", "cached"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(3)));
+        mockMvc.perform(get("/api/v1/books").param("size", "1").param("count", "estimated"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Total-Count-Strategy", "estimated"))
+                .andExpect(jsonPath("$.totalElements", greaterThanOrEqualTo(1)));
+        mockMvc.perform(get("/api/v1/books").param("title", "o").param("size", "1").param("count", "estimated"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Total-Count-Strategy", "cached"));
+        mockMvc.perform(get("/api/v1/books").param("size", "1").param("count", "exact"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Total-Count-Strategy"))
+                .andExpect(jsonPath("$.totalElements", is(4)));
+    }
+
+    @Test
+    void shouldMergeSparseListingsWithoutReturningTheSortProperty() throws Exception {
+        createBook("Dune", "9780441172719");
+        long neuromancer = createBook("Neuromancer", "9781473217379");
+        createBook("Hyperion", "9791234567896");
+
+        mockMvc.perform(get("/api/v1/books")
+                        .param("sortBy", "title")
+                        .param("fields", "isbn"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].isbn", contains("9780441172719", "9791234567896", "9781473217379")))
+                .andExpect(jsonPath("$.content[0].title").doesNotExist())
+                .andExpect(jsonPath("$.content[0].id").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/books/" + neuromancer).param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Neuromancer")));
+    }
+
+    @Test
+    void shouldRouteUpdatesAndDeletesToTheOwningShard() throws Exception {
+        long id = createBook("Neuromancer", "9781473217379");
+        createBook("Dune", "9780441172719");
+
+        BookRequestDto update = new BookRequestDto();
+        update.setTitle("Neuromancer (Anniversary Edition)");
+        update.setAuthor("William Gibson");
+        update.setIsbn("9781473217379");
+        update.setPublicationDate(LocalDate.of(2016, 7, 14));
+        update.setPrice(new BigDecimal("12.99"));
+
+        mockMvc.perform(put("/api/v1/books/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Neuromancer (Anniversary Edition)")));
+
+        update.setIsbn("9780441172719");
+        mockMvc.perform(put("/api/v1/books/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(delete("/api/v1/books/" + id))
+                .andExpect(status().isNoContent());
+        assertEquals(0, countOnShard(1));
+        assertEquals(1, countOnShard(0));
+    }
+
+    @Test
+    void shouldReturnNotFoundForIdOutsideEveryShard() throws Exception {
+        long id = 7L << 40;
+        mockMvc.perform(get("/api/v1/books/" + id))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Book not found with ID: " + id)));
+    }
+}
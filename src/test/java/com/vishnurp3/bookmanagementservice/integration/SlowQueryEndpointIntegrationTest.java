@@ -0,0 +1,116 @@
+package com.vishnurp3.bookmanagementservice.integration;
+
+import com.vishnurp3.bookmanagementservice.cache.BookListingCache;
+import com.vishnurp3.bookmanagementservice.diagnostics.SlowQueryLog;
+import com.vishnurp3.bookmanagementservice.diagnostics.StatementObservingDataSource;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "books.slow-queries.threshold=0ms",
+        "books.json-cache.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SlowQueryEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookListingCache bookListingCache;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Book savedBook;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        savedBook = bookRepository.save(Book.builder()
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .isbn("9780134685991")
+                .publicationDate(LocalDate.of(2018, 1, 6))
+                .price(new BigDecimal("45.99"))
+                .build());
+        bookListingCache.clear();
+        slowQueryLog.clear();
+    }
+
+    @Test
+    void shouldCaptureStatementsWithBindParametersRowCountAndCaller() throws Exception {
+        mockMvc.perform(get("/api/v1/books/" + savedBook.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].sql", containsStringIgnoringCase("from books")))
+                .andExpect(jsonPath("$[0].parameters", contains(savedBook.getId().toString())))
+                .andExpect(jsonPath("$[0].rowCount", is(1)))
+                .andExpect(jsonPath("$[0].caller", is("BookServiceImpl.getBookById")));
+    }
+
+    @Test
+    void shouldLogBatchOnceWithItsSize() throws Exception {
+        DataSource observed = new StatementObservingDataSource(dataSource, List.of(slowQueryLog));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(observed);
+        jdbcTemplate.batchUpdate("UPDATE books SET price = ? WHERE id = ?", List.of(
+                new Object[]{new BigDecimal("40.00"), savedBook.getId()},
+                new Object[]{new BigDecimal("41.00"), savedBook.getId()},
+                new Object[]{new BigDecimal("42.00"), savedBook.getId()}));
+
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].batchSize", is(3)))
+                .andExpect(jsonPath("$[0].parameters", contains("40.00", savedBook.getId().toString())))
+                .andExpect(jsonPath("$[0].rowCount", is(3)));
+    }
+
+    @Test
+    void shouldExplainCapturedQuery() throws Exception {
+        mockMvc.perform(get("/api/v1/books").param("title", "effective"))
+                .andExpect(status().isOk());
+        long id = slowQueryLog.slowestFirst().stream()
+                .filter(entry -> entry.execution().sql().toLowerCase().startsWith("select"))
+                .findFirst()
+                .orElseThrow()
+                .id();
+
+        mockMvc.perform(post("/actuator/slowqueries/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", not(empty())));
+
+        mockMvc.perform(delete("/actuator/slowqueries"))
+                .andExpect(status().isNoContent());
+        assertTrue(slowQueryLog.slowestFirst().isEmpty());
+    }
+}
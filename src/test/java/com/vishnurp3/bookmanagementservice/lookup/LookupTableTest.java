@@ -0,0 +1,139 @@
+package com.vishnurp3.bookmanagementservice.lookup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupTableTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private LookupTable categories;
+
+    @BeforeEach
+    void setUp() {
+        primary = createDatabase();
+        replica = createDatabase();
+        categories = new LookupTable("categories", List.of(primary, replica), Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("should register a name once and resolve it regardless of case")
+    void shouldRegisterNameOnce() {
+        assertEquals("Fiction", categories.register("Fiction"));
+        assertEquals("Fiction", categories.register("FICTION"));
+
+        Integer id = categories.idOf("fiction");
+        assertNotEquals(LookupTable.UNKNOWN_ID, id);
+        assertSame(categories.nameOf(id), categories.register("fiction"));
+        assertEquals(1, new JdbcTemplate(primary).queryForObject("SELECT COUNT(*) FROM categories", Integer.class));
+    }
+
+    @Test
+    @DisplayName("should resolve an unregistered name to the unknown id without inserting it")
+    void shouldNotInsertUnknownNameOnLookup() {
+        assertEquals(LookupTable.UNKNOWN_ID, categories.idOf("Poetry"));
+        assertEquals(0, new JdbcTemplate(primary).queryForObject("SELECT COUNT(*) FROM categories", Integer.class));
+    }
+
+    @Test
+    @DisplayName("should copy registered rows to replicas under the same id")
+    void shouldReplicateRows() {
+        categories.register("Fiction");
+        Integer id = categories.idOf("Fiction");
+
+        assertEquals("Fiction", new JdbcTemplate(replica)
+                .queryForObject("SELECT name FROM categories WHERE id = ?", String.class, id));
+    }
+
+    @Test
+    @DisplayName("should see names registered by another instance once resolved")
+    void shouldSeeNamesRegisteredElsewhere() {
+        categories.idOf("Fiction");
+        new JdbcTemplate(primary).update("INSERT INTO categories (name) VALUES ('Essays')");
+
+        assertEquals(LookupTable.UNKNOWN_ID, categories.idOf("essays"));
+        assertEquals("Essays", categories.resolve("essays"));
+
+        Integer id = categories.idOf("essays");
+        assertNotEquals(LookupTable.UNKNOWN_ID, id);
+        assertEquals("Essays", categories.nameOf(id));
+        assertEquals(List.of("Essays"), categories.namesContaining("SSAY"));
+    }
+
+    @Test
+    @DisplayName("should remember an unknown name instead of querying for it again")
+    void shouldRememberMisses() {
+        AtomicInteger queries = new AtomicInteger();
+        DataSource counting = new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                queries.incrementAndGet();
+                return super.getConnection();
+            }
+        };
+        LookupTable table = new LookupTable("categories", List.of(counting), Duration.ofMinutes(1));
+        table.idOf("Fiction");
+        int afterLoad = queries.get();
+
+        assertNull(table.resolve("Poetry"));
+        assertNull(table.resolve("POETRY"));
+        assertEquals(afterLoad + 1, queries.get());
+
+        assertEquals("Poetry", table.register("Poetry"));
+        assertEquals("Poetry", table.resolve("poetry"));
+    }
+
+    @Test
+    @DisplayName("should return its connections before the caller's transaction ends")
+    void shouldNotHoldConnectionsForCallerTransaction() {
+        AtomicInteger open = new AtomicInteger();
+        DataSource counting = new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                open.incrementAndGet();
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                        (proxy, method, args) -> {
+                            if (method.getName().equals("close")) {
+                                open.decrementAndGet();
+                            }
+                            return method.invoke(connection, args);
+                        });
+            }
+        };
+        LookupTable table = new LookupTable("categories", List.of(counting), Duration.ofMinutes(1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            table.register("Fiction");
+            table.resolve("Essays");
+            assertEquals(0, open.get());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static DataSource createDatabase() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE categories (id INT AUTO_INCREMENT PRIMARY KEY, "
+                + "name VARCHAR(255) NOT NULL UNIQUE)");
+        return dataSource;
+    }
+}
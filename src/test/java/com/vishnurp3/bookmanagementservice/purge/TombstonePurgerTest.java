@@ -0,0 +1,114 @@
+package com.vishnurp3.bookmanagementservice.purge;
+
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.sharding.IsbnShardRouter;
+import com.vishnurp3.bookmanagementservice.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TombstonePurgerTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private ObjectProvider<IsbnShardRouter> shardRouter;
+
+    private TombstonePurgeProperties properties;
+
+    @BeforeEach
+    void init() {
+        properties = new TombstonePurgeProperties();
+        properties.setBatchSize(2);
+        properties.setPauseBetweenBatches(Duration.ZERO);
+    }
+
+    private TombstonePurger purger() {
+        return new TombstonePurger(bookRepository, properties, dataSource, shardRouter);
+    }
+
+    @Test
+    @DisplayName("should purge in batches until a batch comes back short")
+    void shouldPurgeInBatches() throws Exception {
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(false);
+        when(bookRepository.findDeletedIds(2)).thenReturn(List.of(1L, 2L)).thenReturn(List.of(3L));
+        when(bookRepository.purgeDeleted(List.of(1L, 2L))).thenReturn(2);
+        when(bookRepository.purgeDeleted(List.of(3L))).thenReturn(1);
+
+        assertEquals(3, purger().purge());
+        verify(bookRepository, times(2)).findDeletedIds(2);
+    }
+
+    @Test
+    @DisplayName("should stop after the configured number of batches")
+    void shouldRespectMaxBatchesPerRun() throws Exception {
+        properties.setMaxBatchesPerRun(2);
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(false);
+        when(bookRepository.findDeletedIds(2)).thenReturn(List.of(1L, 2L)).thenReturn(List.of(3L, 4L));
+        when(bookRepository.purgeDeleted(anyList())).thenReturn(2);
+
+        assertEquals(4, purger().purge());
+        verify(bookRepository, times(2)).purgeDeleted(anyList());
+    }
+
+    @Test
+    @DisplayName("should defer while the connection pool is busy")
+    void shouldDeferWhilePoolIsBusy() throws Exception {
+        HikariDataSource hikari = mock(HikariDataSource.class);
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikari);
+        when(hikari.getHikariPoolMXBean()).thenReturn(pool);
+        when(pool.getActiveConnections()).thenReturn(properties.getMaxActiveConnections() + 1);
+
+        assertEquals(0, purger().purge());
+        verify(bookRepository, never()).findDeletedIds(anyInt());
+    }
+
+    @Test
+    @DisplayName("should check the pool of the shard being purged")
+    void shouldDeferShardWhosePoolIsBusy() throws Exception {
+        HikariDataSource idle = mock(HikariDataSource.class);
+        HikariDataSource busy = mock(HikariDataSource.class);
+        HikariPoolMXBean idlePool = mock(HikariPoolMXBean.class);
+        HikariPoolMXBean busyPool = mock(HikariPoolMXBean.class);
+        for (HikariDataSource shard : List.of(idle, busy)) {
+            when(shard.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+            when(shard.unwrap(HikariDataSource.class)).thenReturn(shard);
+        }
+        when(idle.getHikariPoolMXBean()).thenReturn(idlePool);
+        when(busy.getHikariPoolMXBean()).thenReturn(busyPool);
+        when(idlePool.getActiveConnections()).thenReturn(0);
+        when(busyPool.getActiveConnections()).thenReturn(properties.getMaxActiveConnections() + 1);
+        IsbnShardRouter router = mock(IsbnShardRouter.class);
+        when(router.shardCount()).thenReturn(2);
+        when(shardRouter.getIfAvailable()).thenReturn(router);
+        when(bookRepository.findDeletedIds(2)).thenReturn(List.of(1L));
+        when(bookRepository.purgeDeleted(List.of(1L))).thenReturn(1);
+
+        TombstonePurger purger = new TombstonePurger(bookRepository, properties,
+                new ShardRoutingDataSource(List.of(idle, busy)), shardRouter);
+
+        assertEquals(1, purger.purge());
+        verify(bookRepository, times(1)).findDeletedIds(2);
+    }
+}
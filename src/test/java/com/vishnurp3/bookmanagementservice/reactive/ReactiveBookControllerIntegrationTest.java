@@ -0,0 +1,210 @@
+package com.vishnurp3.bookmanagementservice.reactive;
+
+import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("SqlResolve")
+@SpringBootTest(
+        classes = ReactiveBookManagementServiceApplication.class,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///book_management_reactive_test_db;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password="
+        })
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+class ReactiveBookControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void cleanDatabase() {
+        databaseClient.sql("DELETE FROM books").then().block();
+    }
+
+    private BookRequestDto bookRequest(String title, String isbn, String category) {
+        BookRequestDto bookRequestDto = new BookRequestDto();
+        bookRequestDto.setTitle(title);
+        bookRequestDto.setAuthor("F. Scott Fitzgerald");
+        bookRequestDto.setIsbn(isbn);
+        bookRequestDto.setPublicationDate(LocalDate.of(1925, 4, 10));
+        bookRequestDto.setCategory(category);
+        bookRequestDto.setDescription("A novel about the American dream and the roaring twenties.");
+        bookRequestDto.setPublisher("Scribner");
+        bookRequestDto.setPrice(new BigDecimal("10.99"));
+        return bookRequestDto;
+    }
+
+    private BookResponseDto create(BookRequestDto bookRequestDto) {
+        return webTestClient.post().uri("/api/v1/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookRequestDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BookResponseDto.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Nested
+    class CreateBookTests {
+
+        @Test
+        void shouldCreateBookSuccessfully() {
+            webTestClient.post().uri("/api/v1/books")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(bookRequest("The Great Gatsby", "9780743273565", "Fiction"))
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody()
+                    .jsonPath("$.id").isNotEmpty()
+                    .jsonPath("$.title").isEqualTo("The Great Gatsby")
+                    .jsonPath("$.isbn").isEqualTo("9780743273565");
+        }
+
+        @Test
+        void shouldReturnConflictForDuplicateIsbn() {
+            create(bookRequest("The Great Gatsby", "9780743273565", "Fiction"));
+
+            webTestClient.post().uri("/api/v1/books")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(bookRequest("The Great Gatsby", "9780743273565", "Fiction"))
+                    .exchange()
+                    .expectStatus().isEqualTo(409)
+                    .expectBody()
+                    .jsonPath("$.message").isEqualTo("Book with ISBN 9780743273565 already exists");
+        }
+
+        @Test
+        void shouldReturnValidationErrorsForInvalidRequest() {
+            BookRequestDto invalid = bookRequest("", "123", "Fiction");
+
+            webTestClient.post().uri("/api/v1/books")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(invalid)
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.message").isEqualTo("Validation Failed")
+                    .jsonPath("$.errors.title").isNotEmpty()
+                    .jsonPath("$.errors.isbn").isNotEmpty();
+        }
+    }
+
+    @Nested
+    class ReadUpdateDeleteTests {
+
+        @Test
+        void shouldUpdateAndDeleteBook() {
+            BookResponseDto created = create(bookRequest("The Great Gatsby", "9780743273565", "Fiction"));
+
+            webTestClient.put().uri("/api/v1/books/{id}", created.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(bookRequest("The Great Gatsby (Revised)", "9780743273565", "Classic"))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.title").isEqualTo("The Great Gatsby (Revised)")
+                    .jsonPath("$.category").isEqualTo("Classic");
+
+            webTestClient.delete().uri("/api/v1/books/{id}", created.getId())
+                    .exchange()
+                    .expectStatus().isNoContent();
+
+            webTestClient.get().uri("/api/v1/books/{id}", created.getId())
+                    .exchange()
+                    .expectStatus().isNotFound()
+                    .expectBody()
+                    .jsonPath("$.message").isEqualTo("Book not found with ID: " + created.getId());
+        }
+
+        @Test
+        void shouldReturnNotFoundWhenDeletingMissingBook() {
+            webTestClient.delete().uri("/api/v1/books/{id}", 999)
+                    .exchange()
+                    .expectStatus().isNotFound();
+        }
+    }
+
+    @Nested
+    class ListingTests {
+
+        @BeforeEach
+        void setUp() {
+            create(bookRequest("The Great Gatsby", "9780743273565", "Fiction"));
+            create(bookRequest("Tender Is the Night", "9780684801544", "Fiction"));
+            create(bookRequest("The Crack-Up", "9780811216289", "Essays"));
+        }
+
+        @Test
+        void shouldReturnFilteredSortedPage() {
+            webTestClient.get().uri("/api/v1/books?category=FICTION&sortBy=title&sortDir=desc&size=1")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.content.length()").isEqualTo(1)
+                    .jsonPath("$.content[0].title").isEqualTo("The Great Gatsby")
+                    .jsonPath("$.totalElements").isEqualTo(2);
+        }
+
+        @Test
+        void shouldStreamPageAsNdjson() {
+            List<BookResponseDto> books = webTestClient.get().uri("/api/v1/books?sortBy=title")
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(BookResponseDto.class)
+                    .getResponseBody()
+                    .collectList()
+                    .block();
+
+            assertThat(books).extracting(BookResponseDto::getTitle)
+                    .containsExactly("Tender Is the Night", "The Crack-Up", "The Great Gatsby");
+        }
+
+        @Test
+        void shouldExportAllMatchingBooks() {
+            List<BookResponseDto> books = webTestClient.get().uri("/api/v1/books/export?category=fiction")
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(BookResponseDto.class)
+                    .getResponseBody()
+                    .collectList()
+                    .block();
+
+            assertThat(books).extracting(BookResponseDto::getIsbn)
+                    .containsExactly("9780743273565", "9780684801544");
+        }
+
+        @Test
+        void shouldRejectUnknownSortProperty() {
+            webTestClient.get().uri("/api/v1/books?sortBy=unknown")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().is5xxServerError();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.vishnurp3.bookmanagementservice.resilience;
+
+import com.vishnurp3.bookmanagementservice.event.BookChangedEvent;
+import com.vishnurp3.bookmanagementservice.exception.ResourceNotFoundException;
+import com.vishnurp3.bookmanagementservice.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadCircuitBreakerTest {
+
+    private static final Supplier<String> UNREACHABLE = () -> {
+        throw new CannotCreateTransactionException("Connection is not available, request timed out after 20000ms");
+    };
+
+    private final AtomicInteger clockSeconds = new AtomicInteger();
+    private final ReadCircuitBreakerProperties properties = new ReadCircuitBreakerProperties();
+    private boolean databaseDown;
+    private ReadCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        properties.setFailureThreshold(3);
+        DelegatingDataSource dataSource = new DelegatingDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "")) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (databaseDown) {
+                    throw new SQLTransientConnectionException("Connection refused");
+                }
+                return super.getConnection();
+            }
+        };
+        Clock clock = new Clock() {
+            @Override
+            public Instant instant() {
+                return Instant.EPOCH.plusSeconds(clockSeconds.get());
+            }
+
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+        };
+        circuitBreaker = new ReadCircuitBreaker(properties, dataSource, new SimpleMeterRegistry(), clock);
+    }
+
+    @Test
+    @DisplayName("should serve the last good result with its age when the database cannot be reached")
+    void shouldServeLastGoodResultOnFailure() {
+        assertEquals(new ReadCircuitBreaker.Read<>("book-1", null), circuitBreaker.read("key", () -> "book-1"));
+        clockSeconds.set(30);
+
+        ReadCircuitBreaker.Read<String> read = circuitBreaker.read("key", UNREACHABLE);
+
+        assertEquals("book-1", read.value());
+        assertEquals(Duration.ofSeconds(30), read.staleness());
+        assertFalse(circuitBreaker.isOpen());
+    }
+
+    @Test
+    @DisplayName("should rethrow the failure while closed when nothing was read before")
+    void shouldRethrowFailureWithoutLastGoodResult() {
+        assertThrows(CannotCreateTransactionException.class, () -> circuitBreaker.read("key", UNREACHABLE));
+    }
+
+    @Test
+    @DisplayName("should stop reading from the database once the threshold is reached")
+    void shouldOpenAfterConsecutiveFailures() {
+        circuitBreaker.read("cached", () -> "book-1");
+        for (int i = 0; i < 2; i++) {
+            assertThrows(CannotCreateTransactionException.class, () -> circuitBreaker.read("key", UNREACHABLE));
+        }
+        assertThrows(ServiceUnavailableException.class, () -> circuitBreaker.read("key", UNREACHABLE));
+        assertTrue(circuitBreaker.isOpen());
+
+        AtomicInteger reads = new AtomicInteger();
+        assertThrows(ServiceUnavailableException.class, () -> circuitBreaker.read("key", () -> "book-" + reads.incrementAndGet()));
+        assertTrue(circuitBreaker.read("cached", () -> "book-" + reads.incrementAndGet()).isStale());
+        assertEquals(0, reads.get());
+    }
+
+    @Test
+    @DisplayName("should fail fast instead of serving stale results when configured to")
+    void shouldFailFastWithoutServeStale() {
+        properties.setServeStale(false);
+        circuitBreaker.read("key", () -> "book-1");
+
+        assertThrows(CannotCreateTransactionException.class, () -> circuitBreaker.read("key", UNREACHABLE));
+    }
+
+    @Test
+    @DisplayName("should close once a probe reaches the database")
+    void shouldCloseAfterSuccessfulProbe() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RuntimeException.class, () -> circuitBreaker.read("key", UNREACHABLE));
+        }
+        databaseDown = true;
+        circuitBreaker.probe();
+        assertTrue(circuitBreaker.isOpen());
+
+        databaseDown = false;
+        circuitBreaker.probe();
+
+        assertFalse(circuitBreaker.isOpen());
+        assertEquals("book-2", circuitBreaker.read("key", () -> "book-2").value());
+    }
+
+    @Test
+    @DisplayName("should neither count nor mask errors that are not about reaching the database")
+    void shouldPassThroughOtherErrors() {
+        circuitBreaker.read(new ReadCircuitBreaker.BookKey(1L, null), () -> "book-1");
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResourceNotFoundException.class, () -> circuitBreaker.read(new ReadCircuitBreaker.BookKey(1L, null),
+                    () -> {
+                        throw new ResourceNotFoundException("Book not found with ID: 1");
+                    }));
+        }
+
+        assertFalse(circuitBreaker.isOpen());
+        assertThrows(CannotCreateTransactionException.class,
+                () -> circuitBreaker.read(new ReadCircuitBreaker.BookKey(1L, null), UNREACHABLE));
+    }
+
+    @Test
+    @DisplayName("should forget a changed book but keep stale listings")
+    void shouldForgetChangedBook() {
+        circuitBreaker.read(new ReadCircuitBreaker.BookKey(1L, null), () -> "book-1");
+        circuitBreaker.read(new ReadCircuitBreaker.BookKey(1L, "id,title"), () -> "book-1 title");
+        circuitBreaker.read("listing", () -> "page");
+
+        circuitBreaker.onBookChanged(BookChangedEvent.deleted(1L));
+
+        assertThrows(CannotCreateTransactionException.class,
+                () -> circuitBreaker.read(new ReadCircuitBreaker.BookKey(1L, null), UNREACHABLE));
+        assertThrows(CannotCreateTransactionException.class,
+                () -> circuitBreaker.read(new ReadCircuitBreaker.BookKey(1L, "id,title"), UNREACHABLE));
+        assertEquals("page", circuitBreaker.read("listing", UNREACHABLE).value());
+    }
+
+    @Test
+    @DisplayName("should keep other books when one changes, and forget them all on a bulk change")
+    void shouldForgetOnlyChangedBook() {
+        circuitBreaker.read(new ReadCircuitBreaker.BookKey(1L, null), () -> "book-1");
+        circuitBreaker.read(new ReadCircuitBreaker.BookKey(2L, null), () -> "book-2");
+
+        circuitBreaker.onBookChanged(BookChangedEvent.deleted(1L));
+
+        assertEquals("book-2", circuitBreaker.read(new ReadCircuitBreaker.BookKey(2L, null), UNREACHABLE).value());
+
+        circuitBreaker.onBookChanged(BookChangedEvent.bulkUpdated());
+
+        assertThrows(CannotCreateTransactionException.class,
+                () -> circuitBreaker.read(new ReadCircuitBreaker.BookKey(2L, null), UNREACHABLE));
+    }
+}
@@ -0,0 +1,86 @@
+package com.vishnurp3.bookmanagementservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void init() {
+        index = new TrigramIndex();
+        index.put(1L, "Joshua Bloch");
+        index.put(2L, "Brian Goetz");
+        index.put(3L, "Robert C. Martin");
+        index.put(4L, "Martin Fowler");
+    }
+
+    @Test
+    @DisplayName("should match a misspelled author")
+    void shouldMatchMisspelledAuthor() {
+        List<TrigramIndex.Match> matches = index.search("Block", 0.4, 10);
+
+        assertEquals(1, matches.size());
+        assertEquals(1L, matches.get(0).bookId());
+    }
+
+    @Test
+    @DisplayName("should rank closer matches first")
+    void shouldRankCloserMatchesFirst() {
+        List<TrigramIndex.Match> matches = index.search("Martin Fowler", 0.3, 10);
+
+        assertEquals(List.of(4L, 3L), matches.stream().map(TrigramIndex.Match::bookId).toList());
+        assertTrue(matches.get(0).similarity() > matches.get(1).similarity());
+    }
+
+    @Test
+    @DisplayName("should return nothing below the similarity threshold")
+    void shouldReturnNothingBelowThreshold() {
+        assertTrue(index.search("Tolkien", 0.4, 10).isEmpty());
+        assertTrue(index.search("   ", 0.4, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("should reflect updates and removals incrementally")
+    void shouldReflectUpdatesAndRemovals() {
+        index.put(2L, "Joshua Blochman");
+        index.remove(1L);
+
+        List<TrigramIndex.Match> matches = index.search("Bloch", 0.4, 10);
+
+        assertEquals(List.of(2L), matches.stream().map(TrigramIndex.Match::bookId).toList());
+        assertTrue(index.search("Goetz", 0.4, 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("should reuse freed ordinals and drop emptied postings under churn")
+    void shouldNotGrowUnderChurn() {
+        int postings = index.postingCount();
+        int ordinals = index.ordinalCapacityInUse();
+
+        for (long id = 100; id < 1100; id++) {
+            index.put(id, "Churned Author " + id);
+            index.remove(id);
+        }
+
+        assertEquals(postings, index.postingCount());
+        assertEquals(ordinals + 1, index.ordinalCapacityInUse());
+        assertEquals(List.of(1L), index.search("Bloch", 0.4, 10).stream().map(TrigramIndex.Match::bookId).toList());
+
+        index.put(7L, "Ursula Le Guin");
+        assertEquals(List.of(7L), index.search("Le Guin", 0.4, 10).stream().map(TrigramIndex.Match::bookId).toList());
+    }
+
+    @Test
+    @DisplayName("should honour the result limit")
+    void shouldHonourResultLimit() {
+        assertEquals(1, index.search("Martin", 0.4, 1).size());
+    }
+}
@@ -1,26 +1,57 @@
 package com.vishnurp3.bookmanagementservice.service.impl;
 
+import com.vishnurp3.bookmanagementservice.batchload.BookBatchLoader;
+import com.vishnurp3.bookmanagementservice.cache.BookListingCache;
+import com.vishnurp3.bookmanagementservice.cache.BookListingCacheProperties;
+import com.vishnurp3.bookmanagementservice.cache.CatalogVersion;
+import com.vishnurp3.bookmanagementservice.coherence.BookChangeLog;
+import com.vishnurp3.bookmanagementservice.count.BookCountProperties;
+import com.vishnurp3.bookmanagementservice.count.BookCounter;
+import com.vishnurp3.bookmanagementservice.count.CountStrategy;
+import com.vishnurp3.bookmanagementservice.dto.BookFields;
+import com.vishnurp3.bookmanagementservice.dto.BookFilterDto;
 import com.vishnurp3.bookmanagementservice.dto.BookRequestDto;
 import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkDeleteRequestDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateOperationDto;
+import com.vishnurp3.bookmanagementservice.dto.BulkUpdateRequestDto;
 import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.event.BookChangedEvent;
 import com.vishnurp3.bookmanagementservice.exception.DuplicateResourceException;
 import com.vishnurp3.bookmanagementservice.exception.ResourceNotFoundException;
+import com.vishnurp3.bookmanagementservice.lookup.BookLookups;
 import com.vishnurp3.bookmanagementservice.mapper.BookMapper;
 import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.search.FuzzyBookSearch;
+import com.vishnurp3.bookmanagementservice.service.BulkOperationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.sql.DataSource;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,6 +66,38 @@ class BookServiceImplTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FuzzyBookSearch fuzzyBookSearch;
+
+    @Mock
+    private BookChangeLog bookChangeLog;
+
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion();
+
+    @Spy
+    private BookListingCache bookListingCache =
+            new BookListingCache(new BookListingCacheProperties(), catalogVersion, new SimpleMeterRegistry());
+
+    @Mock
+    private BookBatchLoader bookBatchLoader;
+
+    @Spy
+    private BookCounter bookCounter =
+            new BookCounter(new BookCountProperties(), mock(DataSource.class), new SimpleMeterRegistry());
+
+    @Spy
+    private BulkOperationProperties bulkOperationProperties = new BulkOperationProperties();
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private BookLookups lookups;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -86,7 +149,7 @@ class BookServiceImplTest {
         @Test
         @DisplayName("should successfully create a book when ISBN is unique")
         void shouldCreateBookWhenIsbnIsUnique() {
-            when(bookRepository.existsByIsbn(bookRequestDto.getIsbn())).thenReturn(false);
+            when(bookRepository.findDeletedFlagByIsbn(bookRequestDto.getIsbn())).thenReturn(Optional.empty());
             when(bookMapper.toEntity(bookRequestDto)).thenReturn(bookEntity);
             when(bookRepository.save(bookEntity)).thenReturn(bookEntity);
             when(bookMapper.toDto(bookEntity)).thenReturn(bookResponseDto);
@@ -97,14 +160,32 @@ class BookServiceImplTest {
             assertEquals("Effective Java", result.getTitle());
             assertEquals("Joshua Bloch", result.getAuthor());
             assertEquals("9780134685991", result.getIsbn());
-            verify(bookRepository, times(1)).existsByIsbn("9780134685991");
+            verify(bookRepository, times(1)).findDeletedFlagByIsbn("9780134685991");
             verify(bookRepository, times(1)).save(bookEntity);
+            verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.created(bookEntity));
+        }
+
+        @Test
+        @DisplayName("should register category and publisher before opening the transaction")
+        void shouldRegisterLookupsBeforeTransaction() {
+            when(bookRepository.findDeletedFlagByIsbn(bookRequestDto.getIsbn())).thenReturn(Optional.empty());
+            when(bookMapper.toEntity(bookRequestDto)).thenReturn(bookEntity);
+            when(bookRepository.save(bookEntity)).thenReturn(bookEntity);
+            when(bookMapper.toDto(bookEntity)).thenReturn(bookResponseDto);
+
+            bookService.createBook(bookRequestDto);
+
+            InOrder inOrder = inOrder(lookups, transactionManager, bookRepository);
+            inOrder.verify(lookups).register("Programming", "Addison-Wesley");
+            inOrder.verify(transactionManager).getTransaction(any());
+            inOrder.verify(bookRepository).save(bookEntity);
+            inOrder.verify(transactionManager).commit(any());
         }
 
         @Test
         @DisplayName("should throw DuplicateResourceException when ISBN already exists")
         void shouldThrowExceptionWhenIsbnExists() {
-            when(bookRepository.existsByIsbn(bookRequestDto.getIsbn())).thenReturn(true);
+            when(bookRepository.findDeletedFlagByIsbn(bookRequestDto.getIsbn())).thenReturn(Optional.of(false));
 
             DuplicateResourceException exception = assertThrows(
                     DuplicateResourceException.class,
@@ -112,14 +193,29 @@ class BookServiceImplTest {
             );
 
             assertEquals("Book with ISBN 9780134685991 already exists", exception.getMessage());
-            verify(bookRepository, times(1)).existsByIsbn("9780134685991");
+            verify(bookRepository, times(1)).findDeletedFlagByIsbn("9780134685991");
             verify(bookRepository, never()).save(any(Book.class));
         }
 
+        @Test
+        @DisplayName("should purge a deleted book still holding the ISBN before creating")
+        void shouldPurgeTombstoneHoldingIsbn() {
+            when(bookRepository.findDeletedFlagByIsbn(bookRequestDto.getIsbn())).thenReturn(Optional.of(true));
+            when(bookMapper.toEntity(bookRequestDto)).thenReturn(bookEntity);
+            when(bookRepository.save(bookEntity)).thenReturn(bookEntity);
+            when(bookMapper.toDto(bookEntity)).thenReturn(bookResponseDto);
+
+            assertNotNull(bookService.createBook(bookRequestDto));
+
+            InOrder inOrder = inOrder(bookRepository);
+            inOrder.verify(bookRepository).purgeDeletedByIsbn("9780134685991");
+            inOrder.verify(bookRepository).save(bookEntity);
+        }
+
         @Test
         @DisplayName("should throw RuntimeException when database save fails")
         void shouldThrowRuntimeExceptionWhenDatabaseSaveFails() {
-            when(bookRepository.existsByIsbn(bookRequestDto.getIsbn())).thenReturn(false);
+            when(bookRepository.findDeletedFlagByIsbn(bookRequestDto.getIsbn())).thenReturn(Optional.empty());
             when(bookMapper.toEntity(bookRequestDto)).thenReturn(bookEntity);
             when(bookRepository.save(bookEntity)).thenThrow(new RuntimeException("Database is down"));
 
@@ -129,7 +225,7 @@ class BookServiceImplTest {
             );
 
             assertEquals("Database is down", exception.getMessage());
-            verify(bookRepository, times(1)).existsByIsbn("9780134685991");
+            verify(bookRepository, times(1)).findDeletedFlagByIsbn("9780134685991");
             verify(bookRepository, times(1)).save(bookEntity);
         }
     }
@@ -195,7 +291,7 @@ class BookServiceImplTest {
         @DisplayName("should update book successfully when no ISBN conflict")
         void shouldUpdateBookSuccessfully() {
             when(bookRepository.findById(1L)).thenReturn(Optional.of(existingBook));
-            when(bookRepository.existsByIsbn(bookRequestDto.getIsbn())).thenReturn(false);
+            when(bookRepository.findDeletedFlagByIsbn(bookRequestDto.getIsbn())).thenReturn(Optional.empty());
             doNothing().when(bookMapper).updateEntityFromDto(bookRequestDto, existingBook);
             when(bookRepository.save(existingBook)).thenReturn(updatedBook);
             when(bookMapper.toDto(updatedBook)).thenReturn(bookResponseDto);
@@ -228,7 +324,7 @@ class BookServiceImplTest {
         @DisplayName("should throw DuplicateResourceException when new ISBN already exists")
         void shouldThrowExceptionWhenIsbnConflict() {
             when(bookRepository.findById(1L)).thenReturn(Optional.of(existingBook));
-            when(bookRepository.existsByIsbn(bookRequestDto.getIsbn())).thenReturn(true);
+            when(bookRepository.findDeletedFlagByIsbn(bookRequestDto.getIsbn())).thenReturn(Optional.of(false));
 
             DuplicateResourceException exception = assertThrows(
                     DuplicateResourceException.class,
@@ -237,7 +333,7 @@ class BookServiceImplTest {
 
             assertEquals("Another book with ISBN 9780132350884 already exists", exception.getMessage());
             verify(bookRepository, times(1)).findById(1L);
-            verify(bookRepository, times(1)).existsByIsbn("9780132350884");
+            verify(bookRepository, times(1)).findDeletedFlagByIsbn("9780132350884");
             verify(bookRepository, never()).save(any(Book.class));
         }
 
@@ -245,7 +341,7 @@ class BookServiceImplTest {
         @DisplayName("should throw RuntimeException when database save fails")
         void shouldThrowRuntimeExceptionWhenDatabaseSaveFails() {
             when(bookRepository.findById(1L)).thenReturn(Optional.of(existingBook));
-            when(bookRepository.existsByIsbn(bookRequestDto.getIsbn())).thenReturn(false);
+            when(bookRepository.findDeletedFlagByIsbn(bookRequestDto.getIsbn())).thenReturn(Optional.empty());
             doNothing().when(bookMapper).updateEntityFromDto(bookRequestDto, existingBook);
             when(bookRepository.save(existingBook)).thenThrow(new RuntimeException("Database is down"));
 
@@ -309,6 +405,50 @@ class BookServiceImplTest {
             verify(bookMapper, times(1)).toDto(book);
         }
 
+        @Test
+        @DisplayName("should not join a lookup that started before a committed write")
+        void shouldNotJoinLookupStartedBeforeWrite() throws Exception {
+            CountDownLatch firstLoadStarted = new CountDownLatch(1);
+            CountDownLatch releaseFirstLoad = new CountDownLatch(1);
+            when(bookRepository.findById(1L)).thenAnswer(invocation -> {
+                if (firstLoadStarted.getCount() > 0) {
+                    firstLoadStarted.countDown();
+                    assertTrue(releaseFirstLoad.await(5, TimeUnit.SECONDS));
+                }
+                return Optional.of(book);
+            });
+            when(bookMapper.toDto(book)).thenReturn(bookResponseDto);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<BookResponseDto> before = executor.submit(() -> bookService.getBookById(1L));
+                assertTrue(firstLoadStarted.await(5, TimeUnit.SECONDS));
+
+                catalogVersion.advance();
+                BookResponseDto after = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> bookService.getBookById(1L));
+
+                assertSame(bookResponseDto, after);
+                releaseFirstLoad.countDown();
+                before.get(5, TimeUnit.SECONDS);
+                verify(bookRepository, times(2)).findById(1L);
+            } finally {
+                releaseFirstLoad.countDown();
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("should load through the batch loader when batching is enabled")
+        void shouldLoadThroughBatchLoader() {
+            when(bookBatchLoader.isEnabled()).thenReturn(true);
+            when(bookBatchLoader.load(1L)).thenReturn(Optional.of(book));
+            when(bookMapper.toDto(book)).thenReturn(bookResponseDto);
+
+            BookResponseDto result = bookService.getBookById(1L);
+
+            assertEquals("Refactoring", result.getTitle());
+            verify(bookRepository, never()).findById(anyLong());
+        }
+
         @Test
         @DisplayName("should throw ResourceNotFoundException when book is not found")
         void shouldThrowExceptionWhenBookNotFound() {
@@ -323,6 +463,29 @@ class BookServiceImplTest {
             verify(bookRepository, times(1)).findById(1L);
             verify(bookMapper, never()).toDto(any(Book.class));
         }
+
+        @Test
+        @DisplayName("should return only the requested fields without loading the entity")
+        void shouldReturnRequestedFields() {
+            BookFields fields = BookFields.parse("id,price");
+            when(bookRepository.findFieldsById(1L, fields))
+                    .thenReturn(Optional.of(Map.of("id", 1L, "price", new BigDecimal("47.99"))));
+
+            Map<String, Object> result = bookService.getSparseBook(1L, fields);
+
+            assertEquals(Map.of("id", 1L, "price", new BigDecimal("47.99")), result);
+            verify(bookRepository, never()).findById(anyLong());
+            verifyNoInteractions(bookMapper);
+        }
+
+        @Test
+        @DisplayName("should throw ResourceNotFoundException when requesting fields of a missing book")
+        void shouldThrowExceptionWhenSparseBookNotFound() {
+            BookFields fields = BookFields.parse("title");
+            when(bookRepository.findFieldsById(1L, fields)).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class, () -> bookService.getSparseBook(1L, fields));
+        }
     }
 
     @Nested
@@ -339,6 +502,7 @@ class BookServiceImplTest {
 
             verify(bookRepository, times(1)).existsById(validBookId);
             verify(bookRepository, times(1)).deleteById(validBookId);
+            verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.deleted(validBookId));
         }
 
         @Test
@@ -450,5 +614,233 @@ class BookServiceImplTest {
             assertEquals(0, result.getTotalElements());
             verify(bookRepository, times(1)).findAll(any(), eq(pageable));
         }
+
+        @Test
+        @DisplayName("should not join or cache a listing query that started before a committed write")
+        void shouldNotJoinListingStartedBeforeWrite() throws Exception {
+            Page<Book> stalePage = new PageImpl<>(List.of(), pageable, 0);
+            CountDownLatch firstLoadStarted = new CountDownLatch(1);
+            CountDownLatch releaseFirstLoad = new CountDownLatch(1);
+            when(bookRepository.findAll(any(), eq(pageable))).thenAnswer(invocation -> {
+                if (firstLoadStarted.getCount() > 0) {
+                    firstLoadStarted.countDown();
+                    assertTrue(releaseFirstLoad.await(5, TimeUnit.SECONDS));
+                    return stalePage;
+                }
+                return booksPage;
+            });
+            when(bookMapper.toDto(book)).thenReturn(bookResponseDto);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<Page<BookResponseDto>> before = executor.submit(() -> bookService.getBooks("Clean", null, null, null, pageable));
+                assertTrue(firstLoadStarted.await(5, TimeUnit.SECONDS));
+
+                bookListingCache.onBookChanged(BookChangedEvent.deleted(2L));
+                Page<BookResponseDto> after = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                        () -> bookService.getBooks("Clean", null, null, null, pageable));
+                releaseFirstLoad.countDown();
+                before.get(5, TimeUnit.SECONDS);
+
+                assertEquals(1, after.getTotalElements());
+                assertEquals(1, bookService.getBooks("Clean", null, null, null, pageable).getTotalElements());
+                verify(bookRepository, times(2)).findAll(any(), eq(pageable));
+            } finally {
+                releaseFirstLoad.countDown();
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("should count a filter once and reuse the cached total for its other pages")
+        void shouldReuseCachedTotal() {
+            Pageable first = PageRequest.of(0, 1, Sort.by("title"));
+            when(bookRepository.findPageContent(any(), any())).thenReturn(List.of(book));
+            when(bookRepository.count(any())).thenReturn(25L);
+            when(bookMapper.toDto(book)).thenReturn(bookResponseDto);
+
+            Page<BookResponseDto> firstPage = bookService.getBooks("Clean", null, null, null, first, CountStrategy.CACHED);
+            Page<BookResponseDto> secondPage = bookService.getBooks("CLEAN", null, null, null, first.next(), CountStrategy.CACHED);
+
+            assertEquals(25, firstPage.getTotalElements());
+            assertEquals(25, secondPage.getTotalElements());
+            verify(bookRepository, times(1)).count(any());
+            verify(bookRepository, never()).findAll(any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("should not report a cached total below the rows already read")
+        void shouldNotReportTotalBelowRowsRead() {
+            when(bookRepository.findPageContent(any(), any())).thenReturn(List.of(book));
+            when(bookRepository.count(any())).thenReturn(1L);
+            when(bookMapper.toDto(book)).thenReturn(bookResponseDto);
+
+            bookService.getBooks("Clean", null, null, null, PageRequest.of(0, 1), CountStrategy.CACHED);
+            Page<BookResponseDto> later = bookService.getBooks("Clean", null, null, null, PageRequest.of(3, 1), CountStrategy.CACHED);
+
+            assertEquals(4, later.getTotalElements());
+        }
+    }
+
+    @Nested
+    @DisplayName("When searching books in fuzzy mode")
+    class SearchBooksTests {
+
+        private Pageable pageable;
+        private Book bloch;
+        private Book goetz;
+        private BookResponseDto blochDto;
+        private BookResponseDto goetzDto;
+
+        @BeforeEach
+        void init() {
+            pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
+
+            bloch = Book.builder()
+                    .id(1L)
+                    .title("Effective Java")
+                    .author("Joshua Bloch")
+                    .isbn("9780134685991")
+                    .category("Programming")
+                    .build();
+
+            goetz = Book.builder()
+                    .id(2L)
+                    .title("Java Concurrency in Practice")
+                    .author("Brian Goetz")
+                    .isbn("9780321349606")
+                    .category("Concurrency")
+                    .build();
+
+            blochDto = new BookResponseDto();
+            blochDto.setId(1L);
+            blochDto.setAuthor("Joshua Bloch");
+
+            goetzDto = new BookResponseDto();
+            goetzDto.setId(2L);
+            goetzDto.setAuthor("Brian Goetz");
+        }
+
+        @Test
+        @DisplayName("should return books in the order ranked by the index")
+        void shouldReturnBooksInRankedOrder() {
+            when(fuzzyBookSearch.isEnabled()).thenReturn(true);
+            when(fuzzyBookSearch.search(null, "Block")).thenReturn(List.of(2L, 1L));
+            when(bookRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(bloch, goetz));
+            when(bookMapper.toDto(bloch)).thenReturn(blochDto);
+            when(bookMapper.toDto(goetz)).thenReturn(goetzDto);
+
+            Page<BookResponseDto> result = bookService.searchBooks(null, "Block", null, null, pageable);
+
+            assertEquals(2, result.getTotalElements());
+            assertEquals(List.of(2L, 1L), result.getContent().stream().map(BookResponseDto::getId).toList());
+            verify(bookRepository, never()).findAll(any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("should apply category filter to ranked candidates")
+        void shouldApplyCategoryFilterToCandidates() {
+            when(fuzzyBookSearch.isEnabled()).thenReturn(true);
+            when(fuzzyBookSearch.search("Jav", null)).thenReturn(List.of(1L, 2L));
+            when(bookRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(bloch, goetz));
+            when(bookMapper.toDto(goetz)).thenReturn(goetzDto);
+
+            Page<BookResponseDto> result = bookService.searchBooks("Jav", null, "concurrency", null, pageable);
+
+            assertEquals(1, result.getTotalElements());
+            assertEquals("Brian Goetz", result.getContent().get(0).getAuthor());
+        }
+
+        @Test
+        @DisplayName("should fall back to containing match when the index is disabled")
+        void shouldFallBackWhenIndexDisabled() {
+            when(fuzzyBookSearch.isEnabled()).thenReturn(false);
+            when(bookRepository.findAll(any(), eq(pageable))).thenReturn(new PageImpl<>(List.of(bloch), pageable, 1));
+            when(bookMapper.toDto(bloch)).thenReturn(blochDto);
+
+            Page<BookResponseDto> result = bookService.searchBooks(null, "Bloch", null, null, pageable);
+
+            assertEquals(1, result.getTotalElements());
+            verify(fuzzyBookSearch, never()).search(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("When bulk updating books")
+    class BulkUpdateTests {
+
+        private BulkUpdateRequestDto request;
+
+        @BeforeEach
+        void init() {
+            BookFilterDto filter = new BookFilterDto();
+            filter.setCategory("Programming");
+            BulkUpdateOperationDto operation = new BulkUpdateOperationDto();
+            operation.setType(BulkUpdateOperationDto.Type.MULTIPLY_PRICE);
+            operation.setAmount(new BigDecimal("0.9"));
+            request = new BulkUpdateRequestDto();
+            request.setFilter(filter);
+            request.setOperation(operation);
+        }
+
+        @Test
+        @DisplayName("should return the affected count and announce the change")
+        void shouldReturnAffectedCountAndPublishEvent() {
+            when(bookRepository.bulkUpdate(request.getFilter(), request.getOperation())).thenReturn(3);
+
+            assertEquals(3, bookService.bulkUpdate(request).getAffectedCount());
+            verify(eventPublisher).publishEvent(BookChangedEvent.bulkUpdated());
+        }
+
+        @Test
+        @DisplayName("should not announce a change when no book matched")
+        void shouldNotPublishEventWhenNothingChanged() {
+            when(bookRepository.bulkUpdate(request.getFilter(), request.getOperation())).thenReturn(0);
+
+            assertEquals(0, bookService.bulkUpdate(request).getAffectedCount());
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
+    @Nested
+    @DisplayName("When bulk deleting books")
+    class BulkDeleteTests {
+
+        @BeforeEach
+        void init() {
+            bulkOperationProperties.setDeleteChunkSize(2);
+        }
+
+        @Test
+        @DisplayName("should delete listed IDs in chunks, skipping duplicates and missing books")
+        void shouldDeleteIdsInChunks() {
+            BulkDeleteRequestDto request = new BulkDeleteRequestDto();
+            request.setIds(List.of(1L, 2L, 2L, 3L, 4L));
+            when(bookRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+            when(bookRepository.findExistingIds(List.of(3L, 4L))).thenReturn(List.of(3L));
+            when(bookRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+            when(bookRepository.deleteAllByIdIn(List.of(3L))).thenReturn(1);
+
+            assertEquals(3, bookService.bulkDelete(request).getDeletedCount());
+            verify(eventPublisher).publishEvent(BookChangedEvent.deleted(1L));
+            verify(eventPublisher).publishEvent(BookChangedEvent.deleted(2L));
+            verify(eventPublisher).publishEvent(BookChangedEvent.deleted(3L));
+            verify(eventPublisher, never()).publishEvent(BookChangedEvent.deleted(4L));
+        }
+
+        @Test
+        @DisplayName("should page through filter matches by ID until a short chunk")
+        void shouldDeleteFilterMatchesInChunks() {
+            BookFilterDto filter = new BookFilterDto();
+            filter.setPublisher("Discontinued Press");
+            BulkDeleteRequestDto request = new BulkDeleteRequestDto();
+            request.setFilter(filter);
+            when(bookRepository.findIdsMatching(filter, 0L, 2)).thenReturn(List.of(5L, 7L));
+            when(bookRepository.findIdsMatching(filter, 7L, 2)).thenReturn(List.of(9L));
+            when(bookRepository.deleteAllByIdIn(List.of(5L, 7L))).thenReturn(2);
+            when(bookRepository.deleteAllByIdIn(List.of(9L))).thenReturn(1);
+
+            assertEquals(3, bookService.bulkDelete(request).getDeletedCount());
+            verify(bookRepository, times(2)).findIdsMatching(eq(filter), anyLong(), eq(2));
+        }
     }
 }
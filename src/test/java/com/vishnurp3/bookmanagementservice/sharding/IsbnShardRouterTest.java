@@ -0,0 +1,63 @@
+package com.vishnurp3.bookmanagementservice.sharding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsbnShardRouterTest {
+
+    private ShardingProperties properties;
+
+    @BeforeEach
+    void init() {
+        properties = new ShardingProperties();
+        properties.setShards(List.of(shard("978"), shard("9781", "979"), shard()));
+    }
+
+    @Test
+    @DisplayName("should route by the longest matching ISBN prefix")
+    void shouldRouteByLongestPrefix() {
+        properties.setStrategy(ShardingProperties.Strategy.PREFIX);
+        IsbnShardRouter router = new IsbnShardRouter(properties);
+
+        assertEquals(0, router.shardForIsbn("9780743273565"));
+        assertEquals(1, router.shardForIsbn("9781234567897"));
+        assertEquals(1, router.shardForIsbn("9791234567896"));
+    }
+
+    @Test
+    @DisplayName("should spread ISBNs over every shard when hashing")
+    void shouldSpreadIsbnsWhenHashing() {
+        IsbnShardRouter router = new IsbnShardRouter(properties);
+
+        int[] counts = new int[router.shardCount()];
+        for (long isbn = 9780000000000L; isbn < 9780000003000L; isbn++) {
+            counts[router.shardForIsbn(Long.toString(isbn))]++;
+        }
+
+        for (int count : counts) {
+            assertTrue(count > 800, "uneven distribution: " + count);
+        }
+        assertEquals(router.shardForIsbn("9780743273565"), router.shardForIsbn("9780743273565"));
+    }
+
+    @Test
+    @DisplayName("should derive the owning shard from a book ID")
+    void shouldDeriveShardFromId() {
+        IsbnShardRouter router = new IsbnShardRouter(properties);
+
+        assertEquals(0, router.shardForId(42L));
+        assertEquals(2, router.shardForId(router.firstIdOf(2) + 1000));
+        assertFalse(router.isKnownShard(router.shardForId(router.firstIdOf(3))));
+    }
+
+    private static ShardingProperties.Shard shard(String... isbnPrefixes) {
+        ShardingProperties.Shard shard = new ShardingProperties.Shard();
+        shard.setIsbnPrefixes(List.of(isbnPrefixes));
+        return shard;
+    }
+}
@@ -0,0 +1,131 @@
+package com.vishnurp3.bookmanagementservice.snapshot;
+
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.repository.BookSearchView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @TempDir
+    private Path directory;
+
+    private CatalogSnapshotService snapshotService;
+
+    @BeforeEach
+    void init() {
+        CatalogSnapshotProperties properties = new CatalogSnapshotProperties();
+        properties.setEnabled(true);
+        properties.setPath(directory.resolve("catalog.snapshot"));
+        properties.setBatchSize(2);
+        snapshotService = new CatalogSnapshotService(bookRepository, properties);
+    }
+
+    @Test
+    @DisplayName("should restore every book written to the snapshot")
+    void shouldRestoreWrittenBooks() {
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(view(1, "Dune", "Frank Herbert"), view(2, "Emma", "Jane Austen")));
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Limit.class)))
+                .thenReturn(List.of(view(5, "Ulysses", "James Joyce")));
+        snapshotService.write();
+
+        when(bookRepository.findChangedSince(eq(0L), eq(5L), eq(LocalDate.now()), any(Limit.class))).thenReturn(List.of());
+        when(bookRepository.countByIdLessThanEqual(5L)).thenReturn(3L);
+        RecordingListener listener = new RecordingListener();
+
+        assertTrue(snapshotService.restore(listener));
+        assertEquals(Map.of(1L, "Dune/Frank Herbert", 2L, "Emma/Jane Austen", 5L, "Ulysses/James Joyce"), listener.books);
+        assertTrue(listener.removed.isEmpty());
+        verify(bookRepository, never()).findIdsUpTo(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("should replay books changed and removed since the watermark")
+    void shouldReplayDelta() throws Exception {
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(directory.resolve("catalog.snapshot"))) {
+            writer.append(1, "Dune", "Frank Herbert");
+            writer.append(2, "Emma", "Jane Austen");
+            writer.append(3, "Beloved", "Toni Morrison");
+            writer.commit(LocalDate.of(2024, 1, 1));
+        }
+        when(bookRepository.findChangedSince(eq(0L), eq(3L), eq(LocalDate.of(2024, 1, 1)), any(Limit.class)))
+                .thenReturn(List.of(view(2, "Emma (Annotated)", "Jane Austen"), view(4, "Middlemarch", "George Eliot")));
+        when(bookRepository.countByIdLessThanEqual(3L)).thenReturn(1L);
+        when(bookRepository.findIdsUpTo(eq(0L), eq(3L), any(Limit.class))).thenReturn(List.of(2L));
+        RecordingListener listener = new RecordingListener();
+
+        assertTrue(snapshotService.restore(listener));
+        assertEquals("Emma (Annotated)/Jane Austen", listener.books.get(2L));
+        assertEquals("Middlemarch/George Eliot", listener.books.get(4L));
+        assertEquals(List.of(1L, 3L), listener.removed);
+    }
+
+    @Test
+    @DisplayName("should fall back when the snapshot is missing or unreadable")
+    void shouldRejectUnusableSnapshot() throws Exception {
+        assertFalse(snapshotService.restore(new RecordingListener()));
+
+        Files.write(directory.resolve("catalog.snapshot"), new byte[]{1, 2, 3});
+        assertFalse(snapshotService.restore(new RecordingListener()));
+        verifyNoInteractions(bookRepository);
+    }
+
+    private static BookSearchView view(long id, String title, String author) {
+        return new BookSearchView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getAuthor() {
+                return author;
+            }
+        };
+    }
+
+    private static class RecordingListener implements CatalogSnapshotService.CatalogListener {
+
+        private final Map<Long, String> books = new LinkedHashMap<>();
+        private final List<Long> removed = new ArrayList<>();
+
+        @Override
+        public void onBook(long id, String title, String author) {
+            books.put(id, title + "/" + author);
+        }
+
+        @Override
+        public void onRemoved(long id) {
+            books.remove(id);
+            removed.add(id);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.vishnurp3.bookmanagementservice.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("should run the loader once for concurrent calls with the same key")
+    void shouldShareOneCallBetweenConcurrentCallers() throws Exception {
+        int callers = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return "book-1";
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            List<Thread> followerThreads = new CopyOnWriteArrayList<>();
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 1; i < callers; i++) {
+                followers.add(executor.submit(() -> {
+                    followerThreads.add(Thread.currentThread());
+                    return singleFlight.execute(1L, () -> {
+                        loads.incrementAndGet();
+                        return "unexpected";
+                    });
+                }));
+            }
+            awaitParked(followerThreads, callers - 1);
+            releaseLoader.countDown();
+
+            assertEquals("book-1", leader.get(5, TimeUnit.SECONDS));
+            for (Future<String> follower : followers) {
+                assertEquals("book-1", follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should propagate the loader exception and not retain the failed call")
+    void shouldPropagateFailureAndForgetCall() {
+        IllegalStateException failure = new IllegalStateException("Database is down");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute(1L, () -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, thrown);
+        assertEquals("book-1", singleFlight.execute(1L, () -> "book-1"));
+    }
+
+    @Test
+    @DisplayName("should not coalesce calls for different keys")
+    void shouldNotCoalesceDifferentKeys() {
+        assertEquals("book-1", singleFlight.execute(1L, () -> "book-1"));
+        assertEquals("book-2", singleFlight.execute(2L, () -> "book-2"));
+    }
+
+    private static void awaitParked(List<Thread> threads, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (threads.size() == expected && threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Followers did not join the in-flight call");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.vishnurp3.bookmanagementservice.support;
+
+import com.vishnurp3.bookmanagementservice.diagnostics.SqlStatementListener;
+import com.vishnurp3.bookmanagementservice.diagnostics.StatementExecution;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements issued through JPA so tests can pin the statement budget of an operation. Register it
+ * with {@code @Import(SqlStatementCounter.class)} and call {@link #reset()} right before the operation; only
+ * statements run on the thread that called {@code reset()} are counted, so scheduled jobs don't skew the numbers.
+ */
+public class SqlStatementCounter implements SqlStatementListener {
+
+    private final List<StatementExecution> statements = new CopyOnWriteArrayList<>();
+    private volatile Thread observedThread;
+
+    @Override
+    public void onStatement(StatementExecution execution) {
+        if (Thread.currentThread() == observedThread) {
+            statements.add(execution);
+        }
+    }
+
+    public void reset() {
+        observedThread = Thread.currentThread();
+        statements.clear();
+    }
+
+    public List<StatementExecution> statements() {
+        return List.copyOf(statements);
+    }
+
+    public long count(StatementType type) {
+        return statements.stream().filter(type::matches).count();
+    }
+
+    public void assertCount(StatementType type, int expected) {
+        assertEquals(expected, count(type), () -> "Unexpected number of " + type + " statements:\n" + describe());
+    }
+
+    public void assertTotal(int expected) {
+        assertEquals(expected, statements.size(), () -> "Unexpected number of statements:\n" + describe());
+    }
+
+    public void assertTotalAtMost(int budget) {
+        assertTrue(statements.size() <= budget,
+                () -> "Statement budget of " + budget + " exceeded:\n" + describe());
+    }
+
+    private String describe() {
+        return statements.stream()
+                .map(statement -> "  " + statement.caller() + ": " + statement.sql())
+                .collect(Collectors.joining("\n"));
+    }
+
+    public enum StatementType {
+        SELECT, INSERT, UPDATE, DELETE;
+
+        private boolean matches(StatementExecution execution) {
+            return execution.sql().stripLeading().toUpperCase(Locale.ROOT).startsWith(name());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.vishnurp3.bookmanagementservice.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnurp3.bookmanagementservice.cache.BookJsonCache;
+import com.vishnurp3.bookmanagementservice.dto.BookResponseDto;
+import com.vishnurp3.bookmanagementservice.entity.Book;
+import com.vishnurp3.bookmanagementservice.exception.ResourceNotFoundException;
+import com.vishnurp3.bookmanagementservice.mapper.BookMapper;
+import com.vishnurp3.bookmanagementservice.popularity.BookPopularity;
+import com.vishnurp3.bookmanagementservice.repository.BookRepository;
+import com.vishnurp3.bookmanagementservice.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WarmUpRunnerTest {
+
+    @Mock
+    private BookPopularity bookPopularity;
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private BookJsonCache bookJsonCache;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookMapper bookMapper;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private WarmUpProperties properties;
+    private WarmUpRunner runner;
+
+    @BeforeEach
+    void init() {
+        properties = new WarmUpProperties();
+        properties.setEnabled(true);
+        properties.setIterations(3);
+        runner = new WarmUpRunner(properties, bookPopularity, bookService, bookJsonCache, bookRepository, bookMapper, objectMapper);
+    }
+
+    @Test
+    @DisplayName("should preload the hottest books and exercise listings")
+    @SuppressWarnings("unchecked")
+    void shouldPreloadHottestBooks() {
+        BookResponseDto book = new BookResponseDto();
+        book.setId(1L);
+        book.setTitle("Effective Java");
+        book.setIsbn("9780134685991");
+        when(bookPopularity.mostViewed(properties.getTopBooks())).thenReturn(List.of(1L, 2L));
+        when(bookJsonCache.get(eq(1L), any())).thenAnswer(invocation -> {
+            ((Supplier<BookResponseDto>) invocation.getArgument(1)).get();
+            return null;
+        });
+        when(bookJsonCache.get(eq(2L), any())).thenThrow(new ResourceNotFoundException("Book not found with ID: 2"));
+        Book entity = Book.builder().id(1L).title("Effective Java").isbn("9780134685991").build();
+        when(bookRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(entity), PageRequest.of(0, 20), 1));
+        when(bookRepository.findAll(any(Example.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(entity), PageRequest.of(0, 10), 1));
+        when(bookMapper.toDto(entity)).thenReturn(book);
+        when(bookMapper.toEntity(any())).thenReturn(new Book());
+
+        runner.run(new DefaultApplicationArguments());
+
+        verify(bookService).getBookById(1L);
+        // Straight to the repository, so each round reaches the database instead of the listing cache.
+        verify(bookRepository, times(3)).findAll(any(Pageable.class));
+        verify(bookRepository, times(3)).findAll(any(Example.class), any(Pageable.class));
+        verify(bookService, never()).getBooks(any(), any(), any(), any(), any(Pageable.class));
+        verify(bookRepository, times(3)).existsByIsbn("9780134685991");
+    }
+
+    @Test
+    @DisplayName("should do nothing when disabled")
+    void shouldSkipWhenDisabled() {
+        properties.setEnabled(false);
+
+        runner.run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(bookPopularity, bookService, bookJsonCache, bookRepository);
+    }
+}